@@ -0,0 +1,62 @@
+package com.github.mahdim1000.exceptionhandling.benchmark;
+
+import com.github.mahdim1000.exceptionhandling.exception.BusinessException;
+import com.github.mahdim1000.exceptionhandling.exception.ResourceNotFoundException;
+import com.github.mahdim1000.exceptionhandling.exception.TechnicalException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Endpoints that fail the same way application controllers do, used by
+ * {@link MockMvcRoundTripBenchmark}.
+ */
+@RestController
+@RequestMapping("/bench")
+public class BenchmarkController {
+
+    @GetMapping("/business")
+    public String business() {
+        throw new BusinessException("USER_NOT_FOUND", "error.business.user.notfound", new Object[]{42});
+    }
+
+    @GetMapping("/technical")
+    public String technical() {
+        throw new TechnicalException("DATABASE_CONNECTION_FAILED", "error.technical.database.connection",
+                new RuntimeException("Connection timeout"));
+    }
+
+    @GetMapping("/not-found")
+    public String notFound() {
+        throw new ResourceNotFoundException("USER_NOT_FOUND", "error.business.user.notfound", new Object[]{42});
+    }
+
+    @GetMapping("/unexpected")
+    public String unexpected() {
+        throw new RuntimeException("Something unexpected happened!");
+    }
+
+    @GetMapping("/users/{id}")
+    public String user(@PathVariable Long id, @RequestParam String email) {
+        return id + email;
+    }
+
+    @PostMapping("/bulk")
+    public String bulk(@Valid @RequestBody BulkRequest request) {
+        return "ok";
+    }
+
+    public record BulkRequest(@Valid List<Item> items) {
+    }
+
+    public record Item(@Size(min = 2, max = 50, message = "error.validation.between") String name) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.mahdim1000.exceptionhandling.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar.
+ *
+ * Accepts the regular JMH command line and always attaches the GC profiler,
+ * so every run reports bytes allocated per error ({@code gc.alloc.rate.norm}):
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar                       # all benchmarks
+ * java -jar target/benchmarks.jar GlobalExceptionHandler # handler methods only
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
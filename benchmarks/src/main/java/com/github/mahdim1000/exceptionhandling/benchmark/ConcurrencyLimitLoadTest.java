@@ -0,0 +1,156 @@
+package com.github.mahdim1000.exceptionhandling.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.mahdim1000.exceptionhandling.codec.ErrorResponseCodec;
+import com.github.mahdim1000.exceptionhandling.handler.ErrorResponseFactory;
+import com.github.mahdim1000.exceptionhandling.limit.AdaptiveConcurrencyLimiter;
+import com.github.mahdim1000.exceptionhandling.limit.ConcurrencyLimitFilter;
+import com.github.mahdim1000.exceptionhandling.limit.ConcurrencyLimits;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import jakarta.servlet.FilterChain;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Latency of requests to a dependency that slows down, with and without the
+ * {@link ConcurrencyLimitFilter}.
+ *
+ * Requests arrive at a fixed rate regardless of how fast earlier ones complete (open
+ * loop), each on a virtual thread, and pass through a real filter with mock requests.
+ * The simulated dependency serves 16 requests at a time, in 5 ms for the first 2 seconds
+ * and in 50 ms for the next 4, so at the default rate of 1000 requests per second it is
+ * over capacity once slow. Latency is measured from the scheduled arrival, and reported
+ * separately for accepted and rejected requests:
+ *
+ * <ul>
+ *   <li>{@code unlimited}: every request queues for the dependency</li>
+ *   <li>{@code adaptive}: requests over the adaptive limit get {@code 503 SERVICE_OVERLOADED}</li>
+ * </ul>
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.github.mahdim1000.exceptionhandling.benchmark.ConcurrencyLimitLoadTest [requests/s]
+ * </pre>
+ */
+public final class ConcurrencyLimitLoadTest {
+
+    private static final int DEFAULT_RATE = 1_000;
+    private static final int DEPENDENCY_PERMITS = 16;
+    private static final Duration HEALTHY = Duration.ofSeconds(2);
+    private static final Duration DEGRADED = Duration.ofSeconds(4);
+    private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private ConcurrencyLimitLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rate = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RATE;
+        LocaleContextHolder.setDefaultLocale(Locale.ENGLISH);
+        ErrorResponseFactory factory = ErrorResponseFactory.builder(
+                new MessageResolver(ErrorFixtures.messageSource()), new TraceIdGenerator())
+                .errorEvents(event -> { })
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ErrorResponseCodec codec = ErrorResponseCodec.allAvailable(objectMapper);
+
+        System.out.printf("%d requests/s, dependency of %d permits slowing from %d to %d ms%n", rate,
+                DEPENDENCY_PERMITS, TimeUnit.NANOSECONDS.toMillis(FAST_NANOS), TimeUnit.NANOSECONDS.toMillis(SLOW_NANOS));
+        System.out.printf("%-10s %-9s %9s %9s %9s %10s %9s%n", "mode", "outcome", "requests", "p50 (ms)",
+                "p99 (ms)", "p99.9 (ms)", "max (ms)");
+        for (String mode : List.of("unlimited", "adaptive")) {
+            ConcurrencyLimitFilter filter = mode.equals("adaptive")
+                    ? new ConcurrencyLimitFilter(new ConcurrencyLimits(AdaptiveConcurrencyLimiter.Settings.DEFAULT),
+                    factory, codec, Duration.ofSeconds(1))
+                    : null;
+            run(mode, filter, rate);
+        }
+    }
+
+    private static void run(String mode, ConcurrencyLimitFilter filter, int rate) throws InterruptedException {
+        int requests = (int) (rate * (HEALTHY.toMillis() + DEGRADED.toMillis()) / 1_000);
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long[] latencies = new long[requests];
+        int[] statuses = new int[requests];
+        Semaphore dependency = new Semaphore(DEPENDENCY_PERMITS, true);
+        long begin = System.nanoTime();
+        long slowFrom = begin + HEALTHY.toNanos();
+
+        List<Thread> threads = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            long arrival = begin + i * interval;
+            long wait = arrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int request = i;
+            threads.add(Thread.ofVirtual().start(() -> {
+                FilterChain chain = (req, res) -> {
+                    dependency.acquireUninterruptibly();
+                    try {
+                        LockSupport.parkNanos(System.nanoTime() < slowFrom ? FAST_NANOS : SLOW_NANOS);
+                    } finally {
+                        dependency.release();
+                    }
+                };
+                MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/demo/slow");
+                req.addHeader("Accept", "application/json");
+                MockHttpServletResponse res = new MockHttpServletResponse();
+                try {
+                    if (filter != null) {
+                        filter.doFilter(req, res, chain);
+                    } else {
+                        chain.doFilter(req, res);
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                latencies[request] = System.nanoTime() - arrival;
+                statuses[request] = res.getStatus();
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        report(mode, "accepted", latencies, statuses, 200);
+        report(mode, "rejected", latencies, statuses, 503);
+    }
+
+    private static void report(String mode, String outcome, long[] latencies, int[] statuses, int status) {
+        long[] selected = new long[latencies.length];
+        int count = 0;
+        for (int i = 0; i < latencies.length; i++) {
+            if (statuses[i] == status) {
+                selected[count++] = latencies[i];
+            }
+        }
+        if (count == 0) {
+            System.out.printf("%-10s %-9s %9d%n", mode, outcome, 0);
+            return;
+        }
+        long[] sorted = Arrays.copyOf(selected, count);
+        Arrays.sort(sorted);
+        System.out.printf("%-10s %-9s %9d %9.1f %9.1f %10.1f %9.1f%n", mode, outcome, count,
+                millis(sorted, 0.5), millis(sorted, 0.99), millis(sorted, 0.999), sorted[count - 1] / 1e6);
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
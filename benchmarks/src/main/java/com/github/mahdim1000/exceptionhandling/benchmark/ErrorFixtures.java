@@ -0,0 +1,73 @@
+package com.github.mahdim1000.exceptionhandling.benchmark;
+
+import com.github.mahdim1000.exceptionhandling.handler.GlobalExceptionHandler;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+
+import java.util.Locale;
+
+/**
+ * Shared fixtures for the benchmarks: a handler wired the same way the
+ * auto-configuration wires it, and binding results shaped like the ones
+ * Bean Validation produces.
+ */
+final class ErrorFixtures {
+
+    static final String OBJECT_NAME = "userRequest";
+
+    private ErrorFixtures() {
+    }
+
+    static ResourceBundleMessageSource messageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        return messageSource;
+    }
+
+    static GlobalExceptionHandler handler() {
+        LocaleContextHolder.setDefaultLocale(Locale.ENGLISH);
+        return new GlobalExceptionHandler(new MessageResolver(messageSource()), new TraceIdGenerator());
+    }
+
+    /**
+     * Build a binding result with the given number of {@code @Size} violations,
+     * carrying the same codes and arguments Hibernate Validator would.
+     */
+    static BindingResult bindingResult(int fieldErrors) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(new Object(), OBJECT_NAME);
+        for (int i = 0; i < fieldErrors; i++) {
+            String field = "items[" + i + "].name";
+            Object[] arguments = {
+                    new DefaultMessageSourceResolvable(new String[]{OBJECT_NAME + "." + field, field}, field),
+                    50,
+                    2
+            };
+            bindingResult.addError(new FieldError(
+                    OBJECT_NAME, field, "x", false,
+                    new String[]{"Size." + OBJECT_NAME + "." + field, "Size." + field, "Size"},
+                    arguments, "error.validation.between"));
+        }
+        return bindingResult;
+    }
+
+    static MethodParameter methodParameter() {
+        try {
+            return new MethodParameter(ErrorFixtures.class.getDeclaredMethod("target", Object.class), 0);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static void target(Object body) {
+    }
+}
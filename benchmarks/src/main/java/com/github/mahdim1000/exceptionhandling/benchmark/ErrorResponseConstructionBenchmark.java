@@ -0,0 +1,86 @@
+package com.github.mahdim1000.exceptionhandling.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponseModule;
+import com.github.mahdim1000.exceptionhandling.dto.RejectedValueSerializer;
+import com.github.mahdim1000.exceptionhandling.dto.TimestampSerializer;
+import com.github.mahdim1000.exceptionhandling.util.CoarseClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation of building and serializing one {@link ErrorResponse}: the builder with
+ * {@code LocalDateTime.now()} the handler used before, against the direct factory with
+ * the coarse clock, and ISO against epoch millis timestamps.
+ *
+ * Compare {@code gc.alloc.rate.norm} (bytes per operation), reported because the
+ * {@link BenchmarkRunner} always attaches the GC profiler:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ErrorResponseConstruction
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorResponseConstructionBenchmark {
+
+    @Param({"ISO", "EPOCH_MILLIS"})
+    public TimestampSerializer.Format timestampFormat;
+
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new ErrorResponseModule(timestampFormat, RejectedValueSerializer.Limits.DEFAULT))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> builder() {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .errorCode("USER_NOT_FOUND")
+                .message("User not found")
+                .status(404)
+                .path("/api/users/42")
+                .timestamp(LocalDateTime.now())
+                .traceId("BIZ-0123456789abcdef")
+                .build();
+        return ResponseEntity.status(errorResponse.status()).body(errorResponse);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> directFactory() {
+        ErrorResponse errorResponse = ErrorResponse.of("USER_NOT_FOUND", "User not found", "/api/users/42", 404,
+                CoarseClock.now(), "BIZ-0123456789abcdef");
+        return ResponseEntity.status(errorResponse.status()).body(errorResponse);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(ErrorResponse.of("USER_NOT_FOUND", "User not found", "/api/users/42",
+                404, "BIZ-0123456789abcdef"));
+    }
+}
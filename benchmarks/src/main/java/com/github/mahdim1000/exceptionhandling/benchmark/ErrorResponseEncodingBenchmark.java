@@ -0,0 +1,121 @@
+package com.github.mahdim1000.exceptionhandling.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.mahdim1000.exceptionhandling.codec.ErrorResponseCodec;
+import com.github.mahdim1000.exceptionhandling.codec.ErrorResponseFormat;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponseModule;
+import com.github.mahdim1000.exceptionhandling.dto.FieldError;
+import com.github.mahdim1000.exceptionhandling.dto.RejectedValueSerializer;
+import com.github.mahdim1000.exceptionhandling.dto.TimestampSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a typical mix of error responses as JSON, CBOR and Smile, with
+ * ISO and epoch millis timestamps. One operation handles the whole mix: four not found,
+ * two business, one internal and three validation errors, one of them truncated.
+ *
+ * The encoded size of the mix is printed once per trial, before the measurements:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ErrorResponseEncoding
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorResponseEncodingBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public ErrorResponseFormat format;
+
+    @Param({"ISO", "EPOCH_MILLIS"})
+    public TimestampSerializer.Format timestampFormat;
+
+    private ErrorResponseCodec codec;
+    private List<ErrorResponse> mix;
+    private List<byte[]> encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new ErrorResponseModule(timestampFormat, RejectedValueSerializer.Limits.DEFAULT))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        codec = new ErrorResponseCodec(objectMapper, List.of(format));
+        mix = mix();
+        encoded = new ArrayList<>(mix.size());
+        int bytes = 0;
+        for (ErrorResponse errorResponse : mix) {
+            byte[] body = codec.encode(errorResponse, format);
+            encoded.add(body);
+            bytes += body.length;
+        }
+        System.out.printf("%n%s/%s: %d bytes for %d responses, %.1f per response%n", format, timestampFormat, bytes,
+                mix.size(), bytes / (double) mix.size());
+    }
+
+    @Benchmark
+    public void encode(Blackhole blackhole) throws Exception {
+        for (ErrorResponse errorResponse : mix) {
+            blackhole.consume(codec.encode(errorResponse, format));
+        }
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) throws Exception {
+        for (byte[] body : encoded) {
+            blackhole.consume(codec.decode(body, format));
+        }
+    }
+
+    private static List<ErrorResponse> mix() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 6, 7, 8, 9, 123_000_000);
+        List<ErrorResponse> mix = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            mix.add(new ErrorResponse("USER_NOT_FOUND", "User with ID " + (1000 + i) + " not found",
+                    "/api/users/" + (1000 + i), 404, now, null, "NF-0123456789abcde" + i));
+        }
+        for (int i = 0; i < 2; i++) {
+            mix.add(new ErrorResponse("INSUFFICIENT_STOCK", "Insufficient stock for product " + i,
+                    "/api/orders", 422, now, null, "BIZ-0123456789abcde" + i));
+        }
+        mix.add(new ErrorResponse("INTERNAL_SERVER_ERROR", "An internal server error occurred",
+                "/api/reports/monthly", 500, now, null, "ERR-0123456789abcdef"));
+        mix.add(validation(now, 1, null));
+        mix.add(validation(now, 3, null));
+        mix.add(validation(now, 20, 57));
+        return mix;
+    }
+
+    private static ErrorResponse validation(LocalDateTime now, int fieldErrors, Integer totalErrors) {
+        List<FieldError> errors = new ArrayList<>(fieldErrors);
+        for (int i = 0; i < fieldErrors; i++) {
+            errors.add(new FieldError("items[" + i + "].name", "x", "Size must be between 2 and 50"));
+        }
+        return new ErrorResponse("VALIDATION_FAILED", "Validation failed", "/api/users", 400, now, errors,
+                totalErrors != null ? Boolean.TRUE : null, totalErrors, "VAL-0123456789abcdef");
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.mahdim1000.exceptionhandling.benchmark;
+
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.exception.BusinessException;
+import com.github.mahdim1000.exceptionhandling.exception.ResourceNotFoundException;
+import com.github.mahdim1000.exceptionhandling.exception.TechnicalException;
+import com.github.mahdim1000.exceptionhandling.exception.ValidationException;
+import com.github.mahdim1000.exceptionhandling.handler.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BindException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.NoHandlerFoundException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of handling each supported exception type in {@link GlobalExceptionHandler},
+ * called directly: message resolution, trace ID generation, logging and
+ * building the {@link ErrorResponse}. Serialization is covered by
+ * {@link MockMvcRoundTripBenchmark}.
+ *
+ * Exceptions are created once per trial so the numbers exclude the cost of
+ * throwing them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+
+    private BusinessException businessException;
+    private TechnicalException technicalException;
+    private ValidationException validationException;
+    private ResourceNotFoundException resourceNotFoundException;
+    private HttpRequestMethodNotSupportedException methodNotSupportedException;
+    private MissingServletRequestParameterException missingParameterException;
+    private MethodArgumentTypeMismatchException typeMismatchException;
+    private HttpMessageNotReadableException messageNotReadableException;
+    private NoHandlerFoundException noHandlerFoundException;
+    private RuntimeException genericException;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        handler = ErrorFixtures.handler();
+        request = new MockHttpServletRequest("GET", "/api/users/42");
+
+        MethodParameter parameter = ErrorFixtures.methodParameter();
+        businessException = new BusinessException("USER_NOT_FOUND", "error.business.user.notfound", new Object[]{42});
+        technicalException = new TechnicalException("DATABASE_CONNECTION_FAILED", "error.technical.database.connection",
+                new RuntimeException("Connection timeout"));
+        validationException = new ValidationException("INVALID_EMAIL_FORMAT", "error.validation.invalid");
+        resourceNotFoundException = new ResourceNotFoundException("USER_NOT_FOUND", "error.business.user.notfound",
+                new Object[]{42});
+        methodNotSupportedException = new HttpRequestMethodNotSupportedException("DELETE");
+        missingParameterException = new MissingServletRequestParameterException("email", "String");
+        typeMismatchException = new MethodArgumentTypeMismatchException("abc", Long.class, "id", parameter,
+                new NumberFormatException("For input string: \"abc\""));
+        messageNotReadableException = new HttpMessageNotReadableException("JSON parse error: Unexpected character",
+                new MockHttpInputMessage(new byte[0]));
+        noHandlerFoundException = new NoHandlerFoundException("GET", "/api/missing", new HttpHeaders());
+        genericException = new RuntimeException("Something unexpected happened!");
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> businessException() {
+        return handler.handleException(businessException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> technicalException() {
+        return handler.handleException(technicalException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validationException() {
+        return handler.handleException(validationException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> resourceNotFoundException() {
+        return handler.handleException(resourceNotFoundException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> methodArgumentNotValidException(FieldErrorsState state) {
+        return handler.handleException(state.methodArgumentNotValidException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> bindException(FieldErrorsState state) {
+        return handler.handleException(state.bindException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> methodNotSupportedException() {
+        return handler.handleException(methodNotSupportedException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> missingParameterException() {
+        return handler.handleException(missingParameterException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> typeMismatchException() {
+        return handler.handleException(typeMismatchException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> messageNotReadableException() {
+        return handler.handleException(messageNotReadableException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> noHandlerFoundException() {
+        return handler.handleException(noHandlerFoundException, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> genericException() {
+        return handler.handleException(genericException, request);
+    }
+
+    /**
+     * Bean validation failures with a growing number of field errors.
+     */
+    @State(Scope.Benchmark)
+    public static class FieldErrorsState {
+
+        @Param({"1", "10", "100"})
+        public int fieldErrors;
+
+        MethodArgumentNotValidException methodArgumentNotValidException;
+        BindException bindException;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            methodArgumentNotValidException = new MethodArgumentNotValidException(ErrorFixtures.methodParameter(),
+                    ErrorFixtures.bindingResult(fieldErrors));
+            bindException = new BindException(ErrorFixtures.bindingResult(fieldErrors));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.mahdim1000.exceptionhandling.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Full round trip of a failing request through {@code DispatcherServlet}:
+ * throwing, handler resolution, {@code GlobalExceptionHandler} and Jackson
+ * serialization of the {@code ErrorResponse} into the response body.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MockMvcRoundTripBenchmark {
+
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new BenchmarkController())
+                .setControllerAdvice(ErrorFixtures.handler())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] businessException() throws Exception {
+        return perform(get("/bench/business"));
+    }
+
+    @Benchmark
+    public byte[] technicalException() throws Exception {
+        return perform(get("/bench/technical"));
+    }
+
+    @Benchmark
+    public byte[] resourceNotFoundException() throws Exception {
+        return perform(get("/bench/not-found"));
+    }
+
+    @Benchmark
+    public byte[] genericException() throws Exception {
+        return perform(get("/bench/unexpected"));
+    }
+
+    @Benchmark
+    public byte[] methodNotSupported() throws Exception {
+        return perform(post("/bench/business"));
+    }
+
+    @Benchmark
+    public byte[] missingParameter() throws Exception {
+        return perform(get("/bench/users/1"));
+    }
+
+    @Benchmark
+    public byte[] typeMismatch() throws Exception {
+        return perform(get("/bench/users/abc").param("email", "a@b.c"));
+    }
+
+    @Benchmark
+    public byte[] malformedJson() throws Exception {
+        return perform(post("/bench/bulk").contentType(MediaType.APPLICATION_JSON).content("{\"items\": ["));
+    }
+
+    @Benchmark
+    public byte[] methodArgumentNotValid(BulkBodyState state) throws Exception {
+        return perform(post("/bench/bulk").contentType(MediaType.APPLICATION_JSON).content(state.body));
+    }
+
+    private byte[] perform(RequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    /**
+     * Request bodies that fail validation with a growing number of field errors.
+     */
+    @State(Scope.Benchmark)
+    public static class BulkBodyState {
+
+        @Param({"1", "10", "100"})
+        public int fieldErrors;
+
+        String body;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            StringBuilder builder = new StringBuilder("{\"items\":[");
+            for (int i = 0; i < fieldErrors; i++) {
+                builder.append(i == 0 ? "" : ",").append("{\"name\":\"x\"}");
+            }
+            body = builder.append("]}").toString();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.github.mahdim1000.exceptionhandling.benchmark;
+
+import com.github.mahdim1000.exceptionhandling.context.RequestContext;
+import com.github.mahdim1000.exceptionhandling.context.RequestContextScope;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.exception.TechnicalException;
+import com.github.mahdim1000.exceptionhandling.exception.ValidationException;
+import com.github.mahdim1000.exceptionhandling.handler.ErrorResponseFactory;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import org.slf4j.MDC;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Heap retained by concurrent in-flight error requests on virtual threads, per way of
+ * carrying the request context.
+ *
+ * Each virtual thread handles one of the {@code DemoController} errors (database error,
+ * invalid email, unexpected error) with the context bound, then parks until every
+ * thread has done the same, so all requests are in flight at once. Used heap is then
+ * measured after a GC, relative to the heap before the threads were started:
+ *
+ * <ul>
+ *   <li>{@code holders}: the current approach, {@link LocaleContextHolder} plus MDC entries for trace ID and tenant</li>
+ *   <li>{@code scoped-value}: {@link RequestContextScope} backed by {@code ScopedValue}, on Java 25 or
+ *   with {@code --enable-preview}</li>
+ *   <li>{@code thread-local}: {@link RequestContextScope} with its default thread-local</li>
+ * </ul>
+ *
+ * Runs the handler directly rather than through MockMvc, so 100k concurrent requests
+ * fit in a regular heap:
+ *
+ * <pre>
+ * java -Xmx4g -cp target/benchmarks.jar com.github.mahdim1000.exceptionhandling.benchmark.RequestContextLoadTest [requests]
+ * </pre>
+ */
+public final class RequestContextLoadTest {
+
+    private static final int DEFAULT_REQUESTS = 100_000;
+
+    private static final String[] PATHS = {
+            "/api/demo/simulate/database-error",
+            "/api/demo/simulate/validation-error",
+            "/api/demo/simulate/unexpected-error"
+    };
+
+    private static final Locale[] LOCALES = {Locale.ENGLISH, Locale.of("fa")};
+
+    private RequestContextLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_REQUESTS;
+        LocaleContextHolder.setDefaultLocale(Locale.ENGLISH);
+        ErrorResponseFactory factory = ErrorResponseFactory.builder(
+                new MessageResolver(ErrorFixtures.messageSource()), new TraceIdGenerator())
+                .errorEvents(event -> { })
+                .build();
+
+        System.out.printf("%d concurrent requests on virtual threads%n", requests);
+        System.out.printf("%-14s %14s %16s%n", "mode", "heap (MB)", "bytes/request");
+        for (String mode : List.of("holders", "scoped-value", "thread-local")) {
+            if (mode.equals("scoped-value") && !RequestContextScope.isScopedValueAvailable()) {
+                System.out.printf("%-14s %s%n", mode, "skipped, needs Java 25 or --enable-preview");
+                continue;
+            }
+            // warm-up round, so class loading and message caches are not measured
+            run(mode, factory, Math.min(requests, 1_000));
+            long bytes = run(mode, factory, requests);
+            System.out.printf("%-14s %14.1f %16d%n", mode, bytes / (1024.0 * 1024.0), bytes / requests);
+        }
+    }
+
+    /**
+     * Start the requests, wait until all are parked, and return the heap they retain.
+     */
+    private static long run(String mode, ErrorResponseFactory factory, int requests) throws InterruptedException {
+        RequestContextScope scope = new RequestContextScope(mode.equals("scoped-value")
+                ? RequestContextScope.Storage.SCOPED_VALUE
+                : RequestContextScope.Storage.THREAD_LOCAL);
+        CountDownLatch handled = new CountDownLatch(requests);
+        CountDownLatch release = new CountDownLatch(1);
+        LongAdder statuses = new LongAdder();
+        long baseline = usedHeap();
+
+        List<Thread> threads = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            int request = i;
+            Runnable handle = () -> {
+                ErrorResponse response = factory.create(exception(request), PATHS[request % PATHS.length],
+                        RequestContextScope.currentLocale());
+                handled.countDown();
+                awaitUninterruptibly(release);
+                statuses.add(response.status());
+            };
+            threads.add(Thread.ofVirtual().start(() -> {
+                Locale locale = LOCALES[request % LOCALES.length];
+                String traceId = "REQ-" + request;
+                String tenant = "tenant-" + (request % 16);
+                if (mode.equals("holders")) {
+                    LocaleContextHolder.setLocale(locale);
+                    MDC.put("traceId", traceId);
+                    MDC.put("tenant", tenant);
+                    try {
+                        handle.run();
+                    } finally {
+                        MDC.clear();
+                        LocaleContextHolder.resetLocaleContext();
+                    }
+                } else {
+                    try {
+                        scope.run(new RequestContext(locale, traceId, tenant), handle::run);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }));
+        }
+
+        if (!handled.await(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Requests did not complete in time");
+        }
+        long retained = usedHeap() - baseline;
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (statuses.sum() == 0) {
+            throw new IllegalStateException("No responses");
+        }
+        return retained;
+    }
+
+    /**
+     * The errors thrown by the {@code DemoController} endpoints.
+     */
+    private static Exception exception(int request) {
+        return switch (request % PATHS.length) {
+            case 0 -> new TechnicalException("DATABASE_CONNECTION_FAILED", "error.technical.database.connection",
+                    new RuntimeException("Connection timeout"));
+            case 1 -> new ValidationException("INVALID_EMAIL_FORMAT", "error.validation.email.invalid");
+            default -> new RuntimeException("Something unexpected happened!");
+        };
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
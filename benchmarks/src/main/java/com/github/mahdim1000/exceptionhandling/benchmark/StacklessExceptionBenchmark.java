@@ -0,0 +1,102 @@
+package com.github.mahdim1000.exceptionhandling.benchmark;
+
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.exception.BusinessException;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCategory;
+import com.github.mahdim1000.exceptionhandling.exception.ResourceNotFoundException;
+import com.github.mahdim1000.exceptionhandling.exception.StackTracePolicy;
+import com.github.mahdim1000.exceptionhandling.handler.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throw + handle cost of the hottest errors with and without the stackless mode
+ * ({@code exception-handling.stackless=business,not-found}).
+ *
+ * Exceptions are thrown from {@code depth} frames below the catch site, so the
+ * stack walk is comparable to one thrown from a service called by a controller.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StacklessExceptionBenchmark {
+
+    @Param({"false", "true"})
+    public boolean stackless;
+
+    @Param({"50"})
+    public int depth;
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private StackTracePolicy policy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        policy = new StackTracePolicy(stackless
+                ? EnumSet.of(ErrorCategory.BUSINESS, ErrorCategory.NOT_FOUND)
+                : List.of());
+        policy.install();
+        handler = ErrorFixtures.handler();
+        request = new MockHttpServletRequest("GET", "/api/users/42");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        policy.uninstall();
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> businessException() {
+        try {
+            throwBusiness(depth);
+            return null;
+        } catch (BusinessException ex) {
+            return handler.handleException(ex, request);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> resourceNotFoundException() {
+        try {
+            throwNotFound(depth);
+            return null;
+        } catch (ResourceNotFoundException ex) {
+            return handler.handleException(ex, request);
+        }
+    }
+
+    private static void throwBusiness(int depth) {
+        if (depth == 0) {
+            throw new BusinessException("USER_NOT_FOUND", "error.business.user.notfound", new Object[]{42});
+        }
+        throwBusiness(depth - 1);
+    }
+
+    private static void throwNotFound(int depth) {
+        if (depth == 0) {
+            throw new ResourceNotFoundException("USER_NOT_FOUND", "error.business.user.notfound", new Object[]{42});
+        }
+        throwNotFound(depth - 1);
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.mahdim1000.exceptionhandling.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup of the demo application on the JVM, on the JVM with Spring AOT, and as a
+ * native image.
+ *
+ * Each run starts the application on a random port and measures
+ * <ul>
+ *   <li>{@code startup}: the time Spring reports in "Started ... (process running for ...)"</li>
+ *   <li>{@code first error}: wall time from launch until the first error response,
+ *       {@code GET /api/demo/simulate/unexpected-error}, has been received</li>
+ *   <li>{@code rss}: resident memory after that response, on Linux</li>
+ * </ul>
+ * and reports the median of the runs. Build the demo first, from the project root:
+ *
+ * <pre>
+ * mvn -Pnative package            # target/exception-handing-0.0.1-SNAPSHOT.jar, with AOT classes
+ * mvn -Pnative native:compile     # target/exception-handing
+ * java -cp target/benchmarks.jar com.github.mahdim1000.exceptionhandling.benchmark.StartupBenchmark \
+ *     ../target/exception-handing-0.0.1-SNAPSHOT.jar ../target/exception-handing [runs]
+ * </pre>
+ *
+ * The native mode is skipped when the executable does not exist.
+ */
+public final class StartupBenchmark {
+
+    private static final int DEFAULT_RUNS = 10;
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in [\\d.]+ seconds \\(process running for ([\\d.]+)\\)");
+    private static final Pattern PORT = Pattern.compile("Tomcat started on port (?:\\(s\\): )?(\\d+)");
+
+    private static final String[] APPLICATION_ARGS = {
+            "--server.port=0",
+            "--logging.level.org.springframework.web=INFO",
+            "--exception-handling.journal.enabled=false"
+    };
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: StartupBenchmark <application jar> <native executable> [runs]");
+            System.exit(2);
+        }
+        String jar = args[0];
+        Path executable = Path.of(args[1]);
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_RUNS;
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("jvm", List.of(java, "-jar", jar)));
+        modes.add(new Mode("jvm-aot", List.of(java, "-Dspring.aot.enabled=true", "-jar", jar)));
+        if (Files.isExecutable(executable)) {
+            modes.add(new Mode("native", List.of(executable.toString())));
+        }
+
+        System.out.printf("Median of %d runs%n", runs);
+        System.out.printf("%-10s %14s %18s %12s%n", "mode", "startup (ms)", "first error (ms)", "rss (MB)");
+        for (Mode mode : modes) {
+            // warm-up run, so the file system cache is populated for every mode alike
+            run(mode);
+            long[] startup = new long[runs];
+            long[] firstError = new long[runs];
+            long[] rss = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                Result result = run(mode);
+                startup[i] = result.startupMillis();
+                firstError[i] = result.firstErrorMillis();
+                rss[i] = result.rssKilobytes();
+            }
+            System.out.printf("%-10s %14d %18d %12.1f%n", mode.name(), median(startup), median(firstError),
+                    median(rss) / 1024.0);
+        }
+    }
+
+    private static Result run(Mode mode) throws Exception {
+        List<String> command = new ArrayList<>(mode.command());
+        command.addAll(Arrays.asList(APPLICATION_ARGS));
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try {
+            CompletableFuture<long[]> started = CompletableFuture.supplyAsync(() -> awaitStarted(process));
+            long[] startedAndPort = started.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+
+            HttpClient client = HttpClient.newHttpClient();
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + startedAndPort[1] + "/api/demo/simulate/unexpected-error"))
+                    .timeout(TIMEOUT)
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            long firstError = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launched);
+            if (response.statusCode() != 500) {
+                throw new IllegalStateException(mode.name() + ": unexpected status " + response.statusCode());
+            }
+            return new Result(startedAndPort[0], firstError, rssKilobytes(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Read the output until the application has started; returns the reported startup millis and the port.
+     */
+    private static long[] awaitStarted(Process process) {
+        long port = -1;
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(),
+                    StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher portMatcher = PORT.matcher(line);
+                if (portMatcher.find()) {
+                    port = Long.parseLong(portMatcher.group(1));
+                }
+                Matcher started = STARTED.matcher(line);
+                if (started.find()) {
+                    long startupMillis = Math.round(Double.parseDouble(started.group(1)) * 1000);
+                    // keep draining the output, so the application never blocks on a full pipe
+                    Thread.ofVirtual().start(() -> reader.lines().forEach(ignored -> { }));
+                    return new long[]{startupMillis, port};
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        throw new IllegalStateException("Application exited before it started");
+    }
+
+    private static long rssKilobytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not on Linux
+        }
+        return 0;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private record Mode(String name, List<String> command) {
+    }
+
+    private record Result(long startupMillis, long firstErrorMillis, long rssKilobytes) {
+    }
+}
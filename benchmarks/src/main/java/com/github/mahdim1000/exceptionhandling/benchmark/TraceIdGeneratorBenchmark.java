@@ -0,0 +1,57 @@
+package com.github.mahdim1000.exceptionhandling.benchmark;
+
+import com.github.mahdim1000.exceptionhandling.util.RandomTraceIdStrategy;
+import com.github.mahdim1000.exceptionhandling.util.TimeBasedTraceIdStrategy;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import com.github.mahdim1000.exceptionhandling.util.UuidTraceIdStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trace ID generation under contention, on every available core: the original
+ * UUID string manipulation, the UUID strategy, the random strategy and the time-based strategy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class TraceIdGeneratorBenchmark {
+
+    private final TraceIdGenerator uuid = new TraceIdGenerator(new UuidTraceIdStrategy());
+    private final TraceIdGenerator random = new TraceIdGenerator(new RandomTraceIdStrategy());
+    private final TraceIdGenerator timeBased = new TraceIdGenerator(TimeBasedTraceIdStrategy.forNode(1));
+
+    @Benchmark
+    public String legacyUuidString() {
+        return "BIZ" + "-" + UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+    }
+
+    @Benchmark
+    public String uuidStrategy() {
+        return uuid.generate("BIZ");
+    }
+
+    @Benchmark
+    public String randomStrategy() {
+        return random.generate("BIZ");
+    }
+
+    @Benchmark
+    public String timeBasedStrategy() {
+        return timeBased.generate("BIZ");
+    }
+}
@@ -0,0 +1,212 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Build step compiling the message bundles into a Java class of immutable per-locale
+ * lookup tables, run as a single-file source program in {@code generate-sources}:
+ * <pre>
+ * java MessageBundleCompiler.java &lt;bundle base path&gt; &lt;source root&gt; &lt;output root&gt; &lt;class name&gt;
+ * </pre>
+ * e.g. {@code src/main/resources/messages/messages} for {@code messages.properties} and
+ * {@code messages_fa.properties}. Bundles are read as UTF-8, like {@code spring.messages.encoding}.
+ *
+ * The build fails when
+ * <ul>
+ *   <li>a key is missing from one of the locales (a locale gap),</li>
+ *   <li>a message is not a valid {@link MessageFormat} pattern, or</li>
+ *   <li>a message key used in the sources, as {@code messageKey("...")}, {@code resolve("...")},
+ *       the message key argument of an exception constructor or the {@code messageKey} of an
+ *       {@code @ErrorSpec} catalog entry, is missing from the bundles.</li>
+ * </ul>
+ */
+public class MessageBundleCompiler {
+
+    // constant keys only; a concatenation such as resolve("field." + name) is not a key
+    private static final Pattern KEY_USAGE = Pattern.compile(
+            "(?:messageKey\\(|messageKey\\s*=|resolve\\()\\s*\"([^\"]+)\"\\s*[,)]"
+                    + "|new \\w+Exception\\(\\s*\"[^\"]*\"\\s*,\\s*\"([^\"]+)\"\\s*[,)]");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Usage: MessageBundleCompiler <bundle base path> <source root> <output root> <class name>");
+            System.exit(2);
+        }
+        Path base = Path.of(args[0]);
+        Map<Locale, Map<String, String>> bundles = load(base);
+        List<String> errors = new ArrayList<>();
+        if (!bundles.containsKey(Locale.ROOT)) {
+            errors.add("Missing default bundle " + base + ".properties");
+        } else {
+            checkGaps(bundles, errors);
+            checkPatterns(bundles, errors);
+            checkUsages(Path.of(args[1]), bundles.get(Locale.ROOT).keySet(), errors);
+        }
+        if (!errors.isEmpty()) {
+            errors.forEach(error -> System.err.println("[ERROR] " + error));
+            System.exit(1);
+        }
+        Path output = write(Path.of(args[2]), args[3], base.getFileName().toString(), bundles);
+        System.out.println("Compiled " + bundles.size() + " message bundles into " + output);
+    }
+
+    private static Map<Locale, Map<String, String>> load(Path base) throws IOException {
+        String name = base.getFileName().toString();
+        Map<Locale, Map<String, String>> bundles = new TreeMap<>((a, b) -> a.toLanguageTag().compareTo(b.toLanguageTag()));
+        try (Stream<Path> files = Files.list(base.getParent())) {
+            for (Path file : files.sorted().toList()) {
+                String fileName = file.getFileName().toString();
+                if (!fileName.endsWith(".properties")) {
+                    continue;
+                }
+                String stem = fileName.substring(0, fileName.length() - ".properties".length());
+                Locale locale;
+                if (stem.equals(name)) {
+                    locale = Locale.ROOT;
+                } else if (stem.startsWith(name + "_")) {
+                    locale = Locale.forLanguageTag(stem.substring(name.length() + 1).replace('_', '-'));
+                } else {
+                    continue;
+                }
+                Properties properties = new Properties();
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+                Map<String, String> messages = new TreeMap<>();
+                properties.forEach((key, value) -> messages.put((String) key, (String) value));
+                bundles.put(locale, messages);
+            }
+        }
+        return bundles;
+    }
+
+    private static void checkGaps(Map<Locale, Map<String, String>> bundles, List<String> errors) {
+        Set<String> keys = new TreeSet<>();
+        bundles.values().forEach(messages -> keys.addAll(messages.keySet()));
+        bundles.forEach((locale, messages) -> {
+            for (String key : keys) {
+                if (!messages.containsKey(key)) {
+                    errors.add("Key '" + key + "' missing for locale " + display(locale));
+                }
+            }
+        });
+    }
+
+    private static void checkPatterns(Map<Locale, Map<String, String>> bundles, List<String> errors) {
+        bundles.forEach((locale, messages) -> messages.forEach((key, pattern) -> {
+            try {
+                new MessageFormat(pattern, locale);
+            } catch (IllegalArgumentException e) {
+                errors.add("Invalid pattern of '" + key + "' for locale " + display(locale) + ": " + e.getMessage());
+            }
+        }));
+    }
+
+    private static void checkUsages(Path sourceRoot, Set<String> keys, List<String> errors) throws IOException {
+        List<Path> sources;
+        try (Stream<Path> files = Files.walk(sourceRoot)) {
+            sources = files.filter(file -> file.toString().endsWith(".java")).sorted().toList();
+        }
+        for (Path source : sources) {
+            Matcher matcher = KEY_USAGE.matcher(Files.readString(source, StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                String key = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+                if (!keys.contains(key)) {
+                    errors.add("Key '" + key + "' used in " + sourceRoot.relativize(source) + " is missing from the bundles");
+                }
+            }
+        }
+    }
+
+    private static Path write(Path outputRoot, String className, String bundleName,
+                              Map<Locale, Map<String, String>> bundles) throws IOException {
+        int dot = className.lastIndexOf('.');
+        String packageName = className.substring(0, dot);
+        String simpleName = className.substring(dot + 1);
+
+        StringBuilder java = new StringBuilder();
+        java.append("package ").append(packageName).append(";\n\n");
+        java.append("import java.util.Locale;\n");
+        java.append("import java.util.Map;\n\n");
+        java.append("/**\n");
+        java.append(" * Message bundles {@code ").append(bundleName).append("*.properties}, generated by\n");
+        java.append(" * {@code MessageBundleCompiler} at build time. Do not edit.\n");
+        java.append(" */\n");
+        java.append("final class ").append(simpleName).append(" {\n\n");
+        java.append("    static final Map<Locale, Map<String, String>> BUNDLES = Map.ofEntries(");
+        String separator = "\n";
+        for (Locale locale : bundles.keySet()) {
+            java.append(separator).append("            Map.entry(")
+                    .append(locale.equals(Locale.ROOT) ? "Locale.ROOT" : "Locale.forLanguageTag(" + literal(locale.toLanguageTag()) + ")")
+                    .append(", ").append(method(locale)).append("())");
+            separator = ",\n";
+        }
+        java.append(");\n\n");
+        java.append("    private ").append(simpleName).append("() {\n    }\n");
+        bundles.forEach((locale, messages) -> {
+            java.append("\n    private static Map<String, String> ").append(method(locale)).append("() {\n");
+            java.append("        return Map.ofEntries(");
+            String entrySeparator = "\n";
+            for (Map.Entry<String, String> message : messages.entrySet()) {
+                java.append(entrySeparator).append("                Map.entry(").append(literal(message.getKey()))
+                        .append(", ").append(literal(message.getValue())).append(")");
+                entrySeparator = ",\n";
+            }
+            java.append(");\n    }\n");
+        });
+        java.append("}\n");
+
+        Path output = outputRoot.resolve(packageName.replace('.', '/')).resolve(simpleName + ".java");
+        String content = java.toString();
+        // leave an unchanged file alone, so it is not recompiled
+        if (!Files.exists(output) || !Files.readString(output, StandardCharsets.UTF_8).equals(content)) {
+            Files.createDirectories(output.getParent());
+            Files.writeString(output, content, StandardCharsets.UTF_8);
+        }
+        return output;
+    }
+
+    private static String method(Locale locale) {
+        return locale.equals(Locale.ROOT) ? "root" : locale.toLanguageTag().replace('-', '_');
+    }
+
+    private static String display(Locale locale) {
+        return locale.equals(Locale.ROOT) ? "(default)" : locale.toLanguageTag();
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
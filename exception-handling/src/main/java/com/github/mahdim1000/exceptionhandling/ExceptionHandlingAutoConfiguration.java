@@ -1,26 +1,202 @@
 package com.github.mahdim1000.exceptionhandling;
 
+import com.github.mahdim1000.exceptionhandling.aggregation.ErrorAggregator;
+import com.github.mahdim1000.exceptionhandling.aggregation.ErrorsEndpoint;
+import com.github.mahdim1000.exceptionhandling.exception.StackTracePolicy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mahdim1000.exceptionhandling.cache.NotFoundCache;
+import com.github.mahdim1000.exceptionhandling.cache.NotFoundCacheConfigurer;
+import com.github.mahdim1000.exceptionhandling.codec.BinaryErrorResponseConfigurer;
+import com.github.mahdim1000.exceptionhandling.codec.ErrorResponseCodec;
+import com.github.mahdim1000.exceptionhandling.context.LocaleNegotiator;
+import com.github.mahdim1000.exceptionhandling.context.NegotiatingLocaleResolver;
+import com.github.mahdim1000.exceptionhandling.context.RequestContextScope;
+import com.github.mahdim1000.exceptionhandling.context.RequestContextScopeFilter;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponseModule;
+import com.github.mahdim1000.exceptionhandling.event.AsyncErrorEventPublisher;
+import com.github.mahdim1000.exceptionhandling.event.ErrorEventPublisher;
+import com.github.mahdim1000.exceptionhandling.event.ErrorEventSink;
+import com.github.mahdim1000.exceptionhandling.event.LoggingErrorEventSink;
+import com.github.mahdim1000.exceptionhandling.event.SynchronousErrorEventPublisher;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCategory;
+import com.github.mahdim1000.exceptionhandling.handler.ErrorResponseFactory;
+import com.github.mahdim1000.exceptionhandling.handler.FieldErrorResolver;
 import com.github.mahdim1000.exceptionhandling.handler.GlobalExceptionHandler;
+import com.github.mahdim1000.exceptionhandling.journal.ErrorJournal;
+import com.github.mahdim1000.exceptionhandling.limit.ConcurrencyLimitFilter;
+import com.github.mahdim1000.exceptionhandling.limit.ConcurrencyLimits;
+import com.github.mahdim1000.exceptionhandling.logging.ErrorLogPolicy;
+import com.github.mahdim1000.exceptionhandling.mapping.ErrorMapping;
+import com.github.mahdim1000.exceptionhandling.mapping.ErrorMappingRegistry;
+import com.github.mahdim1000.exceptionhandling.metrics.ConcurrencyLimitMetrics;
+import com.github.mahdim1000.exceptionhandling.metrics.ErrorMetrics;
+import com.github.mahdim1000.exceptionhandling.metrics.MicrometerErrorMetrics;
+import com.github.mahdim1000.exceptionhandling.metrics.NotFoundCacheMetrics;
+import com.github.mahdim1000.exceptionhandling.reactive.NegotiatingLocaleContextResolver;
+import com.github.mahdim1000.exceptionhandling.reactive.ReactiveGlobalExceptionHandler;
+import com.github.mahdim1000.exceptionhandling.render.ErrorResponseRenderer;
+import com.github.mahdim1000.exceptionhandling.render.ErrorResponseRenderingConfigurer;
+import com.github.mahdim1000.exceptionhandling.storm.ErrorStormDetector;
+import com.github.mahdim1000.exceptionhandling.storm.ErrorStormEndpoint;
+import com.github.mahdim1000.exceptionhandling.util.CompiledMessageSource;
 import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.RandomTraceIdStrategy;
+import com.github.mahdim1000.exceptionhandling.util.TimeBasedTraceIdStrategy;
 import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdStrategy;
+import com.github.mahdim1000.exceptionhandling.util.UuidTraceIdStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.context.MessageSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.filter.OrderedFilter;
+import org.springframework.boot.web.reactive.context.ReactiveWebApplicationContext;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.WebExceptionHandler;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.LocaleResolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Auto-configuration for the exception handling module.
+ *
+ * Bean methods take their dependencies as parameters and never call each other, so the
+ * configuration needs no CGLIB proxy; {@link ExceptionHandlingRuntimeHints} covers what
+ * a native image needs beyond what Spring AOT derives from the bean definitions.
  */
-@Configuration
+@AutoConfiguration(before = MessageSourceAutoConfiguration.class,
+        beforeName = {
+                "org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration",
+                "org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration"},
+        after = JacksonAutoConfiguration.class,
+        afterName = {
+                "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+                "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"})
+@EnableConfigurationProperties(ExceptionHandlingProperties.class)
+@ImportRuntimeHints(ExceptionHandlingRuntimeHints.class)
 public class ExceptionHandlingAutoConfiguration {
 
+    /**
+     * Configure the stack trace policy if not already present, applied to exceptions
+     * created while the context is running.
+     */
+    @Bean(initMethod = "install", destroyMethod = "uninstall")
+    @ConditionalOnMissingBean
+    public StackTracePolicy stackTracePolicy(ExceptionHandlingProperties properties) {
+        return new StackTracePolicy(properties.getStackless());
+    }
+
+    /**
+     * Configure the Jackson module for the timestamp format and rejected value limits if
+     * not already present; Spring Boot registers it on the auto-configured ObjectMapper.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ErrorResponseModule errorResponseModule(ExceptionHandlingProperties properties) {
+        return new ErrorResponseModule(properties.getTimestampFormat(),
+                properties.getFieldErrors().toRejectedValueLimits());
+    }
+
+    /**
+     * Configure the request context scope, with the configured storage, if not already present.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RequestContextScope requestContextScope(ExceptionHandlingProperties properties) {
+        return new RequestContextScope(properties.getContext().getStorage());
+    }
+
     /**
      * Configure MessageResolver bean if not already present.
      */
     @Bean
     @ConditionalOnMissingBean
-    public MessageResolver messageResolver(MessageSource messageSource) {
-        return new MessageResolver(messageSource);
+    public MessageResolver messageResolver(MessageSource messageSource, ExceptionHandlingProperties properties) {
+        return new MessageResolver(messageSource, properties.getMessages().getCacheSize());
+    }
+
+    /**
+     * Replace the resource bundle message source with the bundles compiled at build time,
+     * enabled with {@code exception-handling.messages.compiled=true}.
+     */
+    @Bean(AbstractApplicationContext.MESSAGE_SOURCE_BEAN_NAME)
+    @ConditionalOnMissingBean(name = AbstractApplicationContext.MESSAGE_SOURCE_BEAN_NAME)
+    @ConditionalOnProperty(prefix = "exception-handling.messages", name = "compiled", havingValue = "true")
+    public CompiledMessageSource messageSource() {
+        return new CompiledMessageSource();
+    }
+
+    /**
+     * Negotiate request locales against the supported message bundles, enabled with
+     * {@code exception-handling.locale-negotiation.enabled=true}. Without configured
+     * locales, the supported ones are those of the compiled bundles or of the
+     * {@code spring.messages.basename} bundles on the classpath.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception-handling.locale-negotiation", name = "enabled", havingValue = "true")
+    public LocaleNegotiator localeNegotiator(ExceptionHandlingProperties properties, MessageSource messageSource,
+                                             ApplicationContext applicationContext) {
+        ExceptionHandlingProperties.LocaleNegotiation negotiation = properties.getLocaleNegotiation();
+        Collection<Locale> supported = negotiation.getSupportedLocales();
+        if (supported.isEmpty()) {
+            supported = messageSource instanceof CompiledMessageSource compiled
+                    ? compiled.getLocales()
+                    : LocaleNegotiator.bundleLocales(applicationContext, List.of(StringUtils.commaDelimitedListToStringArray(
+                            applicationContext.getEnvironment().getProperty("spring.messages.basename", "messages"))));
+        }
+        return new LocaleNegotiator(negotiation.getDefaultLocale(), supported, negotiation.getCacheSize());
+    }
+
+    /**
+     * Configure the trace ID strategy if not already present: time-based when a node ID
+     * is configured, random otherwise.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TraceIdStrategy traceIdStrategy(ExceptionHandlingProperties properties) {
+        ExceptionHandlingProperties.TraceId traceId = properties.getTraceId();
+        ExceptionHandlingProperties.TraceId.Strategy strategy = traceId.getStrategy();
+        if (strategy == null) {
+            strategy = traceId.getNodeId() != null
+                    ? ExceptionHandlingProperties.TraceId.Strategy.TIME_BASED
+                    : ExceptionHandlingProperties.TraceId.Strategy.RANDOM;
+        }
+        return switch (strategy) {
+            case RANDOM -> new RandomTraceIdStrategy();
+            case UUID -> new UuidTraceIdStrategy();
+            case TIME_BASED -> {
+                if (traceId.getNodeId() == null) {
+                    throw new IllegalStateException(
+                            "exception-handling.trace-id.node-id must be set for time-based trace IDs");
+                }
+                yield TimeBasedTraceIdStrategy.forNode(traceId.getNodeId());
+            }
+        };
     }
 
     /**
@@ -28,16 +204,412 @@ public class ExceptionHandlingAutoConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean
-    public TraceIdGenerator traceIdGenerator() {
-        return new TraceIdGenerator();
+    public TraceIdGenerator traceIdGenerator(TraceIdStrategy traceIdStrategy) {
+        return new TraceIdGenerator(traceIdStrategy);
+    }
+
+    /**
+     * Configure the error log policy if not already present.
+     * Logs every error unless {@code exception-handling.log-rate-limit.enabled=true}.
+     */
+    @Bean(destroyMethod = "flush")
+    @ConditionalOnMissingBean
+    public ErrorLogPolicy errorLogPolicy(ExceptionHandlingProperties properties) {
+        ExceptionHandlingProperties.LogRateLimit logRateLimit = properties.getLogRateLimit();
+        if (!logRateLimit.isEnabled()) {
+            return ErrorLogPolicy.logAll();
+        }
+        Map<ErrorCategory, ErrorLogPolicy.Limit> limits = new EnumMap<>(ErrorCategory.class);
+        logRateLimit.getCategories().forEach((category, limit) -> limits.put(category, limit.toPolicyLimit()));
+        return new ErrorLogPolicy(limits, logRateLimit.getDefaults().toPolicyLimit(), logRateLimit.getMaxFingerprints());
+    }
+
+    /**
+     * Configure the error mapping registry if not already present: the built-in mappings,
+     * then {@link ErrorMapping} beans, then {@code exception-handling.mappings}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ErrorMappingRegistry errorMappingRegistry(ObjectProvider<ErrorMapping> errorMappings,
+                                                     ExceptionHandlingProperties properties) {
+        List<ErrorMapping> mappings = new ArrayList<>(errorMappings.orderedStream().toList());
+        properties.getMappings().forEach((className, mapping) ->
+                mappings.add(mapping.toErrorMapping(exceptionType(className))));
+        return ErrorMappingRegistry.withDefaults(mappings);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Throwable> exceptionType(String className) {
+        Class<?> type;
+        try {
+            type = ClassUtils.forName(className, ExceptionHandlingAutoConfiguration.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new IllegalStateException("Unknown exception type in exception-handling.mappings: " + className, e);
+        }
+        if (!Throwable.class.isAssignableFrom(type)) {
+            throw new IllegalStateException("Not an exception type in exception-handling.mappings: " + className);
+        }
+        return (Class<? extends Throwable>) type;
+    }
+
+    /**
+     * Configure the logging error event sink if not already present.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public LoggingErrorEventSink loggingErrorEventSink(ErrorLogPolicy errorLogPolicy,
+                                                       ExceptionHandlingProperties properties) {
+        return new LoggingErrorEventSink(errorLogPolicy, properties.getMaxLogMessageLength(),
+                properties.getContext().getMdcKey());
     }
 
     /**
-     * Configure GlobalExceptionHandler bean if not already present.
+     * Journal error events for lookup by trace ID, enabled with
+     * {@code exception-handling.journal.enabled=true}.
      */
     @Bean
     @ConditionalOnMissingBean
-    public GlobalExceptionHandler globalExceptionHandler(MessageResolver messageResolver, TraceIdGenerator traceIdGenerator) {
-        return new GlobalExceptionHandler(messageResolver, traceIdGenerator);
+    @ConditionalOnProperty(prefix = "exception-handling.journal", name = "enabled", havingValue = "true")
+    public ErrorJournal errorJournal(ExceptionHandlingProperties properties) {
+        if (properties.getJournal().getDirectory() == null) {
+            throw new IllegalStateException("exception-handling.journal.directory must be set to journal errors");
+        }
+        return new ErrorJournal(properties.getJournal().toSettings());
+    }
+
+    /**
+     * Configure the error event publisher if not already present, delivering to every
+     * {@link ErrorEventSink} bean. Delivery is asynchronous in reactive web applications,
+     * so sinks never run on the event loop, and synchronous otherwise, unless
+     * {@code exception-handling.events.async} says differently.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ErrorEventPublisher errorEventPublisher(ObjectProvider<ErrorEventSink> sinks,
+                                                   ExceptionHandlingProperties properties,
+                                                   ApplicationContext applicationContext) {
+        List<ErrorEventSink> orderedSinks = sinks.orderedStream().toList();
+        ExceptionHandlingProperties.Events events = properties.getEvents();
+        boolean async = events.getAsync() != null
+                ? events.getAsync()
+                : applicationContext instanceof ReactiveWebApplicationContext;
+        if (!async) {
+            return new SynchronousErrorEventPublisher(orderedSinks);
+        }
+        return new AsyncErrorEventPublisher(orderedSinks, events.getCapacity(), events.getConsumers(),
+                events.getOverflow(), events.getDrainTimeout());
+    }
+
+    /**
+     * Configure the field error resolver if not already present.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public FieldErrorResolver fieldErrorResolver(MessageResolver messageResolver, ExceptionHandlingProperties properties) {
+        ExceptionHandlingProperties.FieldErrors fieldErrors = properties.getFieldErrors();
+        return new FieldErrorResolver(messageResolver, fieldErrors.getMax(), fieldErrors.getLabelCacheSize(),
+                fieldErrors.getMaskedFields());
+    }
+
+    /**
+     * Configure the error storm detector if not already present.
+     * Never degrades unless {@code exception-handling.storm.enabled=true}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ErrorStormDetector errorStormDetector(ExceptionHandlingProperties properties) {
+        ExceptionHandlingProperties.Storm storm = properties.getStorm();
+        if (!storm.isEnabled()) {
+            return ErrorStormDetector.disabled();
+        }
+        return new ErrorStormDetector(storm.toSettings());
+    }
+
+    /**
+     * Configure the error aggregator if not already present.
+     * Records nothing unless {@code exception-handling.aggregation.enabled=true}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ErrorAggregator errorAggregator(ExceptionHandlingProperties properties) {
+        ExceptionHandlingProperties.Aggregation aggregation = properties.getAggregation();
+        if (!aggregation.isEnabled()) {
+            return ErrorAggregator.disabled();
+        }
+        return new ErrorAggregator(aggregation.toSettings());
+    }
+
+    /**
+     * Configure the error response factory, shared by the servlet and reactive handlers, if not already present.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ErrorResponseFactory errorResponseFactory(MessageResolver messageResolver, TraceIdGenerator traceIdGenerator,
+                                                     ErrorMappingRegistry errorMappingRegistry,
+                                                     ErrorEventPublisher errorEventPublisher,
+                                                     ObjectProvider<ErrorMetrics> errorMetrics,
+                                                     FieldErrorResolver fieldErrorResolver,
+                                                     ErrorStormDetector errorStormDetector,
+                                                     ErrorAggregator errorAggregator,
+                                                     ExceptionHandlingProperties properties) {
+        return ErrorResponseFactory.builder(messageResolver, traceIdGenerator)
+                .errorMappings(errorMappingRegistry)
+                .errorEvents(errorEventPublisher)
+                .metrics(errorMetrics.getIfAvailable(() -> ErrorMetrics.NOOP))
+                .fieldErrorResolver(fieldErrorResolver)
+                .stormDetector(errorStormDetector)
+                .aggregator(errorAggregator)
+                .coarseTimestamps(properties.isCoarseTimestamps())
+                .build();
+    }
+
+    /**
+     * Exception handling for servlet (Spring MVC) applications.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ServletConfiguration {
+
+        /**
+         * Configure GlobalExceptionHandler bean if not already present.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public GlobalExceptionHandler globalExceptionHandler(ErrorResponseFactory errorResponseFactory,
+                                                             ExceptionHandlingProperties properties) {
+            return new GlobalExceptionHandler(errorResponseFactory, properties.getContext().getTraceIdHeader(),
+                    properties.getContext().isTraceparent());
+        }
+
+        /**
+         * Resolve request locales with the {@link LocaleNegotiator}, when negotiation is enabled.
+         */
+        @Bean(DispatcherServlet.LOCALE_RESOLVER_BEAN_NAME)
+        @ConditionalOnProperty(prefix = "exception-handling.locale-negotiation", name = "enabled", havingValue = "true")
+        @ConditionalOnMissingBean(name = DispatcherServlet.LOCALE_RESOLVER_BEAN_NAME)
+        public NegotiatingLocaleResolver localeResolver(LocaleNegotiator localeNegotiator) {
+            return new NegotiatingLocaleResolver(localeNegotiator);
+        }
+
+        /**
+         * Bind the request context for each request, enabled with
+         * {@code exception-handling.context.enabled=true}. Runs right after Spring's
+         * RequestContextFilter.
+         */
+        @Bean
+        @ConditionalOnProperty(prefix = "exception-handling.context", name = "enabled", havingValue = "true")
+        public FilterRegistrationBean<RequestContextScopeFilter> requestContextScopeFilter(
+                RequestContextScope requestContextScope, ObjectProvider<LocaleResolver> localeResolver,
+                ExceptionHandlingProperties properties) {
+            ExceptionHandlingProperties.Context context = properties.getContext();
+            FilterRegistrationBean<RequestContextScopeFilter> registration = new FilterRegistrationBean<>(
+                    new RequestContextScopeFilter(requestContextScope, localeResolver.getIfAvailable(),
+                            context.getTraceIdHeader(), context.getTenantHeader(), context.isTraceparent(),
+                            context.getMdcKey()));
+            registration.setOrder(OrderedFilter.REQUEST_WRAPPER_FILTER_MAX_ORDER - 104);
+            return registration;
+        }
+    }
+
+    /**
+     * Exception handling for reactive (WebFlux) applications.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnClass(WebExceptionHandler.class)
+    @ConditionalOnBean(ObjectMapper.class)
+    static class ReactiveConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ReactiveGlobalExceptionHandler reactiveGlobalExceptionHandler(ErrorResponseFactory errorResponseFactory,
+                                                                             ErrorResponseCodec errorResponseCodec,
+                                                                             ExceptionHandlingProperties properties) {
+            return new ReactiveGlobalExceptionHandler(errorResponseFactory, errorResponseCodec,
+                    properties.getContext().getTraceIdHeader(), properties.getContext().isTraceparent());
+        }
+
+        /**
+         * Resolve exchange locales with the {@link LocaleNegotiator}, when negotiation is enabled.
+         */
+        @Bean(WebHttpHandlerBuilder.LOCALE_CONTEXT_RESOLVER_BEAN_NAME)
+        @ConditionalOnProperty(prefix = "exception-handling.locale-negotiation", name = "enabled", havingValue = "true")
+        @ConditionalOnMissingBean(name = WebHttpHandlerBuilder.LOCALE_CONTEXT_RESOLVER_BEAN_NAME)
+        public NegotiatingLocaleContextResolver localeContextResolver(LocaleNegotiator localeNegotiator) {
+            return new NegotiatingLocaleContextResolver(localeNegotiator);
+        }
+    }
+
+    /**
+     * Error metrics, registered when Micrometer is on the classpath and a
+     * {@link MeterRegistry} is available.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnBean(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "exception-handling.metrics", name = "enabled", matchIfMissing = true)
+    static class MetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ErrorMetrics errorMetrics(MeterRegistry meterRegistry, ExceptionHandlingProperties properties) {
+            return new MicrometerErrorMetrics(meterRegistry, properties.getMetrics().getMaxErrorCodes());
+        }
+    }
+
+    /**
+     * Actuator endpoint showing the error storm state, registered when Spring Boot
+     * Actuator is on the classpath and the endpoint is exposed.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    @ConditionalOnAvailableEndpoint(endpoint = ErrorStormEndpoint.class)
+    static class StormEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ErrorStormEndpoint errorStormEndpoint(ErrorStormDetector errorStormDetector) {
+            return new ErrorStormEndpoint(errorStormDetector);
+        }
+    }
+
+    /**
+     * Actuator endpoint showing the most frequent errors and journaled errors, registered when Spring Boot
+     * Actuator is on the classpath and the endpoint is exposed.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    @ConditionalOnAvailableEndpoint(endpoint = ErrorsEndpoint.class)
+    static class ErrorsEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ErrorsEndpoint errorsEndpoint(ErrorAggregator errorAggregator,
+                                             ObjectProvider<ErrorJournal> errorJournal) {
+            return new ErrorsEndpoint(errorAggregator, errorJournal.getIfAvailable());
+        }
+    }
+
+    /**
+     * Pre-rendered templates for static error responses, enabled with
+     * {@code exception-handling.fast-render.enabled=true}.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(prefix = "exception-handling.fast-render", name = "enabled", havingValue = "true")
+    @ConditionalOnBean(ObjectMapper.class)
+    static class FastRenderConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ErrorResponseRenderer errorResponseRenderer(ObjectMapper objectMapper, MessageResolver messageResolver,
+                                                           ErrorMappingRegistry errorMappingRegistry,
+                                                           ExceptionHandlingProperties properties) {
+            ErrorResponseRenderer renderer = new ErrorResponseRenderer(objectMapper, properties.getTimestampFormat());
+            for (Locale locale : properties.getFastRender().getLocales()) {
+                renderer.prepare(errorMappingRegistry.getMappings(), messageResolver, locale);
+            }
+            return renderer;
+        }
+
+        @Bean
+        public ErrorResponseRenderingConfigurer errorResponseRenderingConfigurer(ErrorResponseRenderer renderer) {
+            return new ErrorResponseRenderingConfigurer(renderer);
+        }
+    }
+
+    /**
+     * Error responses in the binary formats of {@code exception-handling.encoding.formats},
+     * for clients that ask for them; JSON stays the default.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnBean(ObjectMapper.class)
+    static class EncodingConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ErrorResponseCodec errorResponseCodec(ObjectMapper objectMapper, ExceptionHandlingProperties properties) {
+            return new ErrorResponseCodec(objectMapper, properties.getEncoding().getFormats());
+        }
+
+        @Bean
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+        public BinaryErrorResponseConfigurer binaryErrorResponseConfigurer(ErrorResponseCodec errorResponseCodec) {
+            return new BinaryErrorResponseConfigurer(errorResponseCodec);
+        }
+    }
+
+    /**
+     * Cache of missing resources for {@code @NotFoundCacheable} handler methods, enabled with
+     * {@code exception-handling.not-found-cache.enabled=true}.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(prefix = "exception-handling.not-found-cache", name = "enabled", havingValue = "true")
+    static class NotFoundCacheConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public NotFoundCache notFoundCache(ExceptionHandlingProperties properties) {
+            ExceptionHandlingProperties.NotFoundCache notFoundCache = properties.getNotFoundCache();
+            return new NotFoundCache(notFoundCache.getTtl(), notFoundCache.getMaxSize());
+        }
+
+        @Bean
+        public NotFoundCacheConfigurer notFoundCacheConfigurer(NotFoundCache notFoundCache) {
+            return new NotFoundCacheConfigurer(notFoundCache);
+        }
+
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnClass(MeterRegistry.class)
+        @ConditionalOnBean(MeterRegistry.class)
+        @ConditionalOnProperty(prefix = "exception-handling.metrics", name = "enabled", matchIfMissing = true)
+        static class NotFoundCacheMetricsConfiguration {
+
+            @Bean
+            public NotFoundCacheMetrics notFoundCacheMetrics(NotFoundCache notFoundCache) {
+                return new NotFoundCacheMetrics(notFoundCache);
+            }
+        }
+    }
+
+    /**
+     * Adaptive concurrency limit, enabled with {@code exception-handling.concurrency-limit.enabled=true}.
+     * The filter runs right after the request context filters, ahead of security and MVC.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(prefix = "exception-handling.concurrency-limit", name = "enabled", havingValue = "true")
+    @ConditionalOnBean(ObjectMapper.class)
+    static class ConcurrencyLimitConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ConcurrencyLimits concurrencyLimits(ExceptionHandlingProperties properties) {
+            return properties.getConcurrencyLimit().toLimits();
+        }
+
+        @Bean
+        public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimits concurrencyLimits,
+                ErrorResponseFactory errorResponseFactory, ErrorResponseCodec errorResponseCodec,
+                ExceptionHandlingProperties properties) {
+            FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                    new ConcurrencyLimitFilter(concurrencyLimits, errorResponseFactory, errorResponseCodec,
+                            properties.getConcurrencyLimit().getRetryAfter()));
+            registration.setOrder(OrderedFilter.REQUEST_WRAPPER_FILTER_MAX_ORDER - 103);
+            return registration;
+        }
+
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnClass(MeterRegistry.class)
+        @ConditionalOnBean(MeterRegistry.class)
+        @ConditionalOnProperty(prefix = "exception-handling.metrics", name = "enabled", matchIfMissing = true)
+        static class ConcurrencyLimitMetricsConfiguration {
+
+            @Bean
+            public ConcurrencyLimitMetrics concurrencyLimitMetrics(ConcurrencyLimits concurrencyLimits) {
+                return new ConcurrencyLimitMetrics(concurrencyLimits);
+            }
+        }
     }
 }
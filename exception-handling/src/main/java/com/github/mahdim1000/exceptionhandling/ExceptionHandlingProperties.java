@@ -0,0 +1,1388 @@
+package com.github.mahdim1000.exceptionhandling;
+
+import com.github.mahdim1000.exceptionhandling.aggregation.ErrorAggregator;
+import com.github.mahdim1000.exceptionhandling.codec.ErrorResponseFormat;
+import com.github.mahdim1000.exceptionhandling.context.LocaleNegotiator;
+import com.github.mahdim1000.exceptionhandling.context.RequestContextScope;
+import com.github.mahdim1000.exceptionhandling.context.RequestContextScopeFilter;
+import com.github.mahdim1000.exceptionhandling.context.TraceContextExtractor;
+import com.github.mahdim1000.exceptionhandling.dto.RejectedValueSerializer;
+import com.github.mahdim1000.exceptionhandling.dto.TimestampSerializer;
+import com.github.mahdim1000.exceptionhandling.event.AsyncErrorEventPublisher;
+import com.github.mahdim1000.exceptionhandling.event.LoggingErrorEventSink;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCategory;
+import com.github.mahdim1000.exceptionhandling.handler.FieldErrorResolver;
+import com.github.mahdim1000.exceptionhandling.journal.ErrorJournal;
+import com.github.mahdim1000.exceptionhandling.limit.AdaptiveConcurrencyLimiter;
+import com.github.mahdim1000.exceptionhandling.limit.ConcurrencyLimits;
+import com.github.mahdim1000.exceptionhandling.logging.ErrorLogPolicy;
+import com.github.mahdim1000.exceptionhandling.mapping.ErrorMapping;
+import com.github.mahdim1000.exceptionhandling.storm.ErrorStormDetector;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import org.slf4j.event.Level;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuration properties for the exception handling module.
+ */
+@ConfigurationProperties(prefix = "exception-handling")
+public class ExceptionHandlingProperties {
+
+    /**
+     * Exception categories created without a stack trace, e.g. business,validation,not-found.
+     * Technical exceptions always keep their stack trace.
+     */
+    private Set<ErrorCategory> stackless = EnumSet.noneOf(ErrorCategory.class);
+
+    /**
+     * Maximum length of exception messages and other text in error log lines.
+     */
+    private int maxLogMessageLength = LoggingErrorEventSink.DEFAULT_MAX_ARGUMENT_LENGTH;
+
+    /**
+     * Format of the error response timestamp: ISO date-time or milliseconds since the epoch.
+     */
+    private TimestampSerializer.Format timestampFormat = TimestampSerializer.Format.ISO;
+
+    /**
+     * Whether error response timestamps are shared per millisecond, which saves creating one
+     * per error during bursts but truncates them to milliseconds.
+     */
+    private boolean coarseTimestamps;
+
+    private final Messages messages = new Messages();
+
+    private final TraceId traceId = new TraceId();
+
+    private final FastRender fastRender = new FastRender();
+
+    private final LogRateLimit logRateLimit = new LogRateLimit();
+
+    private final Events events = new Events();
+
+    private final Metrics metrics = new Metrics();
+
+    private final Context context = new Context();
+
+    private final LocaleNegotiation localeNegotiation = new LocaleNegotiation();
+
+    private final FieldErrors fieldErrors = new FieldErrors();
+
+    private final Storm storm = new Storm();
+
+    private final Aggregation aggregation = new Aggregation();
+
+    private final Journal journal = new Journal();
+
+    private final Encoding encoding = new Encoding();
+
+    private final NotFoundCache notFoundCache = new NotFoundCache();
+
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    /**
+     * Error mappings by fully qualified exception class name, e.g.
+     * {@code mappings[org.springframework.dao.OptimisticLockingFailureException].status=conflict}.
+     * They override the built-in mappings and {@code ErrorMapping} beans.
+     */
+    private final Map<String, Mapping> mappings = new LinkedHashMap<>();
+
+    public Set<ErrorCategory> getStackless() {
+        return stackless;
+    }
+
+    public void setStackless(Set<ErrorCategory> stackless) {
+        this.stackless = stackless;
+    }
+
+    public int getMaxLogMessageLength() {
+        return maxLogMessageLength;
+    }
+
+    public void setMaxLogMessageLength(int maxLogMessageLength) {
+        this.maxLogMessageLength = maxLogMessageLength;
+    }
+
+    public TimestampSerializer.Format getTimestampFormat() {
+        return timestampFormat;
+    }
+
+    public void setTimestampFormat(TimestampSerializer.Format timestampFormat) {
+        this.timestampFormat = timestampFormat;
+    }
+
+    public boolean isCoarseTimestamps() {
+        return coarseTimestamps;
+    }
+
+    public void setCoarseTimestamps(boolean coarseTimestamps) {
+        this.coarseTimestamps = coarseTimestamps;
+    }
+
+    public Messages getMessages() {
+        return messages;
+    }
+
+    public TraceId getTraceId() {
+        return traceId;
+    }
+
+    public FastRender getFastRender() {
+        return fastRender;
+    }
+
+    public LogRateLimit getLogRateLimit() {
+        return logRateLimit;
+    }
+
+    public Events getEvents() {
+        return events;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public Context getContext() {
+        return context;
+    }
+
+    public LocaleNegotiation getLocaleNegotiation() {
+        return localeNegotiation;
+    }
+
+    public FieldErrors getFieldErrors() {
+        return fieldErrors;
+    }
+
+    public Storm getStorm() {
+        return storm;
+    }
+
+    public Aggregation getAggregation() {
+        return aggregation;
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    public Encoding getEncoding() {
+        return encoding;
+    }
+
+    public NotFoundCache getNotFoundCache() {
+        return notFoundCache;
+    }
+
+    public ConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public Map<String, Mapping> getMappings() {
+        return mappings;
+    }
+
+    /**
+     * Message resolution settings.
+     */
+    public static class Messages {
+
+        /**
+         * Maximum number of compiled (message key, locale) entries kept by the resolver.
+         */
+        private int cacheSize = MessageResolver.DEFAULT_CACHE_SIZE;
+
+        /**
+         * Whether the message source is the library bundles compiled at build time, instead
+         * of loading {@code spring.messages.basename} at startup. Application bundles are not included.
+         */
+        private boolean compiled = false;
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+
+        public boolean isCompiled() {
+            return compiled;
+        }
+
+        public void setCompiled(boolean compiled) {
+            this.compiled = compiled;
+        }
+    }
+
+    /**
+     * Trace ID generation settings.
+     */
+    public static class TraceId {
+
+        /**
+         * Strategy used to generate the unique part of trace IDs. Time-based when a node
+         * ID is set, random otherwise.
+         */
+        private Strategy strategy;
+
+        /**
+         * Node ID (0-1023) embedded in time-based trace IDs. Must differ between nodes,
+         * e.g. the ordinal of a StatefulSet pod. Required for time-based trace IDs.
+         */
+        private Integer nodeId;
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        public void setStrategy(Strategy strategy) {
+            this.strategy = strategy;
+        }
+
+        public Integer getNodeId() {
+            return nodeId;
+        }
+
+        public void setNodeId(Integer nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        public enum Strategy {
+
+            /**
+             * Time, node and sequence; contention-free. Requires a node ID.
+             */
+            TIME_BASED,
+
+            /**
+             * Random numbers from a per-thread generator; contention-free, needs no node ID.
+             */
+            RANDOM,
+
+            /**
+             * Random UUIDs, as generated by earlier versions; draws from the shared SecureRandom.
+             */
+            UUID
+        }
+    }
+
+    /**
+     * Pre-rendered JSON templates for error responses without field errors.
+     */
+    public static class FastRender {
+
+        /**
+         * Whether to write static error responses from pre-rendered templates instead of Jackson.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Locales to pre-render the responses of static error mappings for at startup.
+         */
+        private List<Locale> locales = List.of(Locale.ENGLISH, Locale.of("fa"));
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<Locale> getLocales() {
+            return locales;
+        }
+
+        public void setLocales(List<Locale> locales) {
+            this.locales = locales;
+        }
+    }
+
+    /**
+     * Rate limiting and deduplication of error logging.
+     */
+    public static class LogRateLimit {
+
+        /**
+         * Whether repeated errors are rate limited instead of logged every time.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of error fingerprints tracked individually.
+         */
+        private int maxFingerprints = 1000;
+
+        /**
+         * Limit applied to categories without their own limit.
+         */
+        private final Limit defaults = new Limit();
+
+        /**
+         * Limits per error category, e.g. {@code categories.technical.full-logs=50}.
+         */
+        private final Map<ErrorCategory, Limit> categories = new EnumMap<>(ErrorCategory.class);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxFingerprints() {
+            return maxFingerprints;
+        }
+
+        public void setMaxFingerprints(int maxFingerprints) {
+            this.maxFingerprints = maxFingerprints;
+        }
+
+        public Limit getDefaults() {
+            return defaults;
+        }
+
+        public Map<ErrorCategory, Limit> getCategories() {
+            return categories;
+        }
+
+        public static class Limit {
+
+            /**
+             * Occurrences of a fingerprint logged in full per summary interval.
+             */
+            private int fullLogs = 10;
+
+            /**
+             * Interval after which suppressed occurrences are summarized.
+             */
+            private Duration summaryInterval = Duration.ofMinutes(1);
+
+            public int getFullLogs() {
+                return fullLogs;
+            }
+
+            public void setFullLogs(int fullLogs) {
+                this.fullLogs = fullLogs;
+            }
+
+            public Duration getSummaryInterval() {
+                return summaryInterval;
+            }
+
+            public void setSummaryInterval(Duration summaryInterval) {
+                this.summaryInterval = summaryInterval;
+            }
+
+            public ErrorLogPolicy.Limit toPolicyLimit() {
+                return new ErrorLogPolicy.Limit(fullLogs, summaryInterval);
+            }
+        }
+    }
+
+    /**
+     * Error event pipeline settings.
+     */
+    public static class Events {
+
+        /**
+         * Whether error events are delivered to the sinks on background threads.
+         * Defaults to true in reactive web applications and false otherwise.
+         */
+        private Boolean async;
+
+        /**
+         * Capacity of the event buffer.
+         */
+        private int capacity = 8192;
+
+        /**
+         * Number of consumer threads.
+         */
+        private int consumers = 1;
+
+        /**
+         * What to do when the buffer is full: drop the event or block the publishing thread.
+         */
+        private AsyncErrorEventPublisher.OverflowPolicy overflow = AsyncErrorEventPublisher.OverflowPolicy.DROP;
+
+        /**
+         * Maximum time to wait for pending events on shutdown.
+         */
+        private Duration drainTimeout = Duration.ofSeconds(5);
+
+        public Boolean getAsync() {
+            return async;
+        }
+
+        public void setAsync(Boolean async) {
+            this.async = async;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getConsumers() {
+            return consumers;
+        }
+
+        public void setConsumers(int consumers) {
+            this.consumers = consumers;
+        }
+
+        public AsyncErrorEventPublisher.OverflowPolicy getOverflow() {
+            return overflow;
+        }
+
+        public void setOverflow(AsyncErrorEventPublisher.OverflowPolicy overflow) {
+            this.overflow = overflow;
+        }
+
+        public Duration getDrainTimeout() {
+            return drainTimeout;
+        }
+
+        public void setDrainTimeout(Duration drainTimeout) {
+            this.drainTimeout = drainTimeout;
+        }
+    }
+
+    /**
+     * Micrometer metrics settings.
+     */
+    public static class Metrics {
+
+        /**
+         * Whether error metrics are recorded when Micrometer is available.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of distinct error.code tag values; further codes are tagged "other".
+         */
+        private int maxErrorCodes = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxErrorCodes() {
+            return maxErrorCodes;
+        }
+
+        public void setMaxErrorCodes(int maxErrorCodes) {
+            this.maxErrorCodes = maxErrorCodes;
+        }
+    }
+
+    /**
+     * Field errors of validation and binding failures.
+     */
+    public static class FieldErrors {
+
+        /**
+         * Maximum number of field errors returned; the response is marked truncated beyond it.
+         */
+        private int max = FieldErrorResolver.DEFAULT_MAX_FIELD_ERRORS;
+
+        /**
+         * Maximum number of (DTO class, field, locale) labels kept.
+         */
+        private int labelCacheSize = FieldErrorResolver.DEFAULT_LABEL_CACHE_SIZE;
+
+        /**
+         * Fields whose rejected value is masked, e.g. password,phone.
+         */
+        private Set<String> maskedFields = new LinkedHashSet<>(FieldErrorResolver.DEFAULT_MASKED_FIELDS);
+
+        /**
+         * Maximum length of a rejected string value; longer values are truncated.
+         */
+        private int maxValueLength = RejectedValueSerializer.Limits.DEFAULT.maxStringLength();
+
+        /**
+         * Maximum number of elements of a rejected collection, array or map.
+         */
+        private int maxValueElements = RejectedValueSerializer.Limits.DEFAULT.maxElements();
+
+        /**
+         * Maximum nesting depth of a rejected collection, array or map.
+         */
+        private int maxValueDepth = RejectedValueSerializer.Limits.DEFAULT.maxDepth();
+
+        public int getMax() {
+            return max;
+        }
+
+        public void setMax(int max) {
+            this.max = max;
+        }
+
+        public int getLabelCacheSize() {
+            return labelCacheSize;
+        }
+
+        public void setLabelCacheSize(int labelCacheSize) {
+            this.labelCacheSize = labelCacheSize;
+        }
+
+        public Set<String> getMaskedFields() {
+            return maskedFields;
+        }
+
+        public void setMaskedFields(Set<String> maskedFields) {
+            this.maskedFields = maskedFields;
+        }
+
+        public int getMaxValueLength() {
+            return maxValueLength;
+        }
+
+        public void setMaxValueLength(int maxValueLength) {
+            this.maxValueLength = maxValueLength;
+        }
+
+        public int getMaxValueElements() {
+            return maxValueElements;
+        }
+
+        public void setMaxValueElements(int maxValueElements) {
+            this.maxValueElements = maxValueElements;
+        }
+
+        public int getMaxValueDepth() {
+            return maxValueDepth;
+        }
+
+        public void setMaxValueDepth(int maxValueDepth) {
+            this.maxValueDepth = maxValueDepth;
+        }
+
+        public RejectedValueSerializer.Limits toRejectedValueLimits() {
+            return new RejectedValueSerializer.Limits(maxValueLength, maxValueElements, maxValueDepth);
+        }
+    }
+
+    /**
+     * Error storm detection: error codes occurring at a high rate are handled in degraded mode.
+     */
+    public static class Storm {
+
+        /**
+         * Whether error storms are detected.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Errors per second of one error code at which it is switched to degraded mode.
+         */
+        private int threshold = 100;
+
+        /**
+         * Errors per second below which a degraded error code is switched back.
+         */
+        private int recoveryThreshold = 50;
+
+        /**
+         * Sliding window the error rate is measured over.
+         */
+        private Duration window = Duration.ofSeconds(10);
+
+        /**
+         * Number of buckets of the sliding window; a storm is detected within one bucket.
+         */
+        private int buckets = 10;
+
+        /**
+         * While degraded, one in this many errors is logged and published as an event.
+         */
+        private int logSampleRate = 100;
+
+        /**
+         * Maximum number of error codes tracked.
+         */
+        private int maxErrorCodes = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(int threshold) {
+            this.threshold = threshold;
+        }
+
+        public int getRecoveryThreshold() {
+            return recoveryThreshold;
+        }
+
+        public void setRecoveryThreshold(int recoveryThreshold) {
+            this.recoveryThreshold = recoveryThreshold;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getBuckets() {
+            return buckets;
+        }
+
+        public void setBuckets(int buckets) {
+            this.buckets = buckets;
+        }
+
+        public int getLogSampleRate() {
+            return logSampleRate;
+        }
+
+        public void setLogSampleRate(int logSampleRate) {
+            this.logSampleRate = logSampleRate;
+        }
+
+        public int getMaxErrorCodes() {
+            return maxErrorCodes;
+        }
+
+        public void setMaxErrorCodes(int maxErrorCodes) {
+            this.maxErrorCodes = maxErrorCodes;
+        }
+
+        public ErrorStormDetector.Settings toSettings() {
+            return new ErrorStormDetector.Settings(threshold, recoveryThreshold, window, buckets, logSampleRate,
+                    maxErrorCodes);
+        }
+    }
+
+    /**
+     * In-memory error counts per fingerprint, shown by the errors actuator endpoint.
+     */
+    public static class Aggregation {
+
+        /**
+         * Whether handled errors are counted per fingerprint.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of fingerprints kept; the least frequent are evicted beyond it.
+         */
+        private int maxFingerprints = 1000;
+
+        /**
+         * Number of application stack frames in a fingerprint.
+         */
+        private int stackFrames = 3;
+
+        /**
+         * Package prefixes of application stack frames. Anything but the JDK and common
+         * frameworks when empty.
+         */
+        private List<String> applicationPackages = new ArrayList<>();
+
+        /**
+         * Length of a time bucket.
+         */
+        private Duration bucket = Duration.ofMinutes(1);
+
+        /**
+         * Number of time buckets kept per fingerprint.
+         */
+        private int buckets = 60;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxFingerprints() {
+            return maxFingerprints;
+        }
+
+        public void setMaxFingerprints(int maxFingerprints) {
+            this.maxFingerprints = maxFingerprints;
+        }
+
+        public int getStackFrames() {
+            return stackFrames;
+        }
+
+        public void setStackFrames(int stackFrames) {
+            this.stackFrames = stackFrames;
+        }
+
+        public List<String> getApplicationPackages() {
+            return applicationPackages;
+        }
+
+        public void setApplicationPackages(List<String> applicationPackages) {
+            this.applicationPackages = applicationPackages;
+        }
+
+        public Duration getBucket() {
+            return bucket;
+        }
+
+        public void setBucket(Duration bucket) {
+            this.bucket = bucket;
+        }
+
+        public int getBuckets() {
+            return buckets;
+        }
+
+        public void setBuckets(int buckets) {
+            this.buckets = buckets;
+        }
+
+        public ErrorAggregator.Settings toSettings() {
+            return new ErrorAggregator.Settings(maxFingerprints, stackFrames, bucket, buckets, applicationPackages);
+        }
+    }
+
+    /**
+     * Local journal of errors, looked up by trace ID at the errors actuator endpoint.
+     */
+    public static class Journal {
+
+        /**
+         * Whether error events are written to the journal.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory of the journal segment files, required when the journal is enabled.
+         * Each application instance needs its own, as the journal takes over and expires the segments it finds there.
+         */
+        private Path directory;
+
+        /**
+         * Size of a segment file.
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+        /**
+         * Time after which a new segment is started.
+         */
+        private Duration segmentDuration = Duration.ofHours(1);
+
+        /**
+         * Time after which a segment is deleted.
+         */
+        private Duration retention = Duration.ofDays(1);
+
+        /**
+         * Maximum characters of the stack trace kept per error.
+         */
+        private int maxStackLength = 4096;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(Path directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(DataSize segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        public Duration getSegmentDuration() {
+            return segmentDuration;
+        }
+
+        public void setSegmentDuration(Duration segmentDuration) {
+            this.segmentDuration = segmentDuration;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public int getMaxStackLength() {
+            return maxStackLength;
+        }
+
+        public void setMaxStackLength(int maxStackLength) {
+            this.maxStackLength = maxStackLength;
+        }
+
+        public ErrorJournal.Settings toSettings() {
+            return new ErrorJournal.Settings(directory, Math.toIntExact(segmentSize.toBytes()), segmentDuration,
+                    retention, maxStackLength);
+        }
+    }
+
+    /**
+     * Negotiation of the request locale from the {@code Accept-Language} header.
+     */
+    public static class LocaleNegotiation {
+
+        /**
+         * Whether the library registers the locale resolver, negotiating against the supported locales.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Locale of the default bundle, used for unsupported languages.
+         */
+        private Locale defaultLocale = Locale.ENGLISH;
+
+        /**
+         * Supported locales; detected from the message bundles when empty.
+         */
+        private List<Locale> supportedLocales = new ArrayList<>();
+
+        /**
+         * Maximum number of distinct Accept-Language headers kept with their negotiated locale.
+         */
+        private int cacheSize = LocaleNegotiator.DEFAULT_CACHE_SIZE;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Locale getDefaultLocale() {
+            return defaultLocale;
+        }
+
+        public void setDefaultLocale(Locale defaultLocale) {
+            this.defaultLocale = defaultLocale;
+        }
+
+        public List<Locale> getSupportedLocales() {
+            return supportedLocales;
+        }
+
+        public void setSupportedLocales(List<Locale> supportedLocales) {
+            this.supportedLocales = supportedLocales;
+        }
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+    }
+
+    /**
+     * Request context (locale, trace ID, tenant) bound per request.
+     */
+    public static class Context {
+
+        /**
+         * Whether a filter binds the request context for each servlet request.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Storage of the request context. Scoped values require Java 25, or --enable-preview before.
+         */
+        private RequestContextScope.Storage storage = RequestContextScope.Storage.THREAD_LOCAL;
+
+        /**
+         * Request header carrying the caller's trace ID, read by the filter and, without it, by the exception handlers.
+         */
+        private String traceIdHeader = TraceContextExtractor.DEFAULT_REQUEST_ID_HEADER;
+
+        /**
+         * Whether the trace ID of a W3C traceparent header takes precedence over the trace ID header.
+         */
+        private boolean traceparent = true;
+
+        /**
+         * MDC key the incoming trace ID is put under while the request is handled and its errors are logged;
+         * empty to leave the MDC alone.
+         */
+        private String mdcKey = RequestContextScopeFilter.DEFAULT_MDC_KEY;
+
+        /**
+         * Request header carrying the tenant.
+         */
+        private String tenantHeader = "X-Tenant-Id";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public RequestContextScope.Storage getStorage() {
+            return storage;
+        }
+
+        public void setStorage(RequestContextScope.Storage storage) {
+            this.storage = storage;
+        }
+
+        public String getTraceIdHeader() {
+            return traceIdHeader;
+        }
+
+        public void setTraceIdHeader(String traceIdHeader) {
+            this.traceIdHeader = traceIdHeader;
+        }
+
+        public boolean isTraceparent() {
+            return traceparent;
+        }
+
+        public void setTraceparent(boolean traceparent) {
+            this.traceparent = traceparent;
+        }
+
+        public String getMdcKey() {
+            return mdcKey;
+        }
+
+        public void setMdcKey(String mdcKey) {
+            this.mdcKey = mdcKey;
+        }
+
+        public String getTenantHeader() {
+            return tenantHeader;
+        }
+
+        public void setTenantHeader(String tenantHeader) {
+            this.tenantHeader = tenantHeader;
+        }
+    }
+
+    /**
+     * Wire formats of error responses besides JSON.
+     */
+    public static class Encoding {
+
+        /**
+         * Binary formats error responses are also written in, when the client asks for them
+         * and the Jackson data format is on the classpath. JSON is always supported and is
+         * the default.
+         */
+        private List<ErrorResponseFormat> formats = new ArrayList<>(List.of(ErrorResponseFormat.CBOR,
+                ErrorResponseFormat.SMILE));
+
+        public List<ErrorResponseFormat> getFormats() {
+            return formats;
+        }
+
+        public void setFormats(List<ErrorResponseFormat> formats) {
+            this.formats = formats;
+        }
+    }
+
+    /**
+     * Cache of resources not found by {@code @NotFoundCacheable} handler methods.
+     */
+    public static class NotFoundCache {
+
+        /**
+         * Whether repeated requests for missing resources are answered from the cache.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Time a missing resource is cached.
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * Maximum number of cached resources.
+         */
+        private int maxSize = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    /**
+     * Adaptive concurrency limit shedding load with {@code 503 SERVICE_OVERLOADED}.
+     */
+    public static class ConcurrencyLimit {
+
+        /**
+         * Whether requests over the concurrency limit are rejected.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Limit before any latency has been observed.
+         */
+        private int initialLimit = AdaptiveConcurrencyLimiter.Settings.DEFAULT.initialLimit();
+
+        /**
+         * Lowest limit, however slow requests get.
+         */
+        private int minLimit = AdaptiveConcurrencyLimiter.Settings.DEFAULT.minLimit();
+
+        /**
+         * Highest limit, however fast requests are.
+         */
+        private int maxLimit = AdaptiveConcurrencyLimiter.Settings.DEFAULT.maxLimit();
+
+        /**
+         * Latency increase over the baseline still considered healthy, e.g. 1.5 for 50%.
+         */
+        private double tolerance = AdaptiveConcurrencyLimiter.Settings.DEFAULT.tolerance();
+
+        /**
+         * Weight of each new limit estimate, between 0 and 1.
+         */
+        private double smoothing = AdaptiveConcurrencyLimiter.Settings.DEFAULT.smoothing();
+
+        /**
+         * Number of requests the baseline latency is averaged over.
+         */
+        private int longWindow = AdaptiveConcurrencyLimiter.Settings.DEFAULT.longWindow();
+
+        /**
+         * Value of the Retry-After header of rejected requests, in whole seconds.
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        /**
+         * Endpoint groups with a limiter of their own, by name, e.g.
+         * {@code exception-handling.concurrency-limit.groups.reports.patterns=/api/reports/**}.
+         * Requests matching no group share the default limiter.
+         */
+        private final Map<String, Group> groups = new LinkedHashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getTolerance() {
+            return tolerance;
+        }
+
+        public void setTolerance(double tolerance) {
+            this.tolerance = tolerance;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public int getLongWindow() {
+            return longWindow;
+        }
+
+        public void setLongWindow(int longWindow) {
+            this.longWindow = longWindow;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+
+        public Map<String, Group> getGroups() {
+            return groups;
+        }
+
+        public AdaptiveConcurrencyLimiter.Settings toSettings() {
+            return new AdaptiveConcurrencyLimiter.Settings(initialLimit, minLimit, maxLimit, tolerance, smoothing,
+                    AdaptiveConcurrencyLimiter.Settings.DEFAULT.shortWindow(), longWindow);
+        }
+
+        /**
+         * The limits of all groups.
+         */
+        public ConcurrencyLimits toLimits() {
+            ConcurrencyLimits limits = new ConcurrencyLimits(toSettings());
+            groups.forEach((name, group) -> limits.group(name, group.getPatterns(), group.toSettings(toSettings())));
+            return limits;
+        }
+
+        /**
+         * An endpoint group; unset limits are taken from the defaults.
+         */
+        public static class Group {
+
+            /**
+             * Path patterns of the group, without the context path, e.g. /api/reports/**.
+             */
+            private List<String> patterns = new ArrayList<>();
+
+            private Integer initialLimit;
+
+            private Integer minLimit;
+
+            private Integer maxLimit;
+
+            public List<String> getPatterns() {
+                return patterns;
+            }
+
+            public void setPatterns(List<String> patterns) {
+                this.patterns = patterns;
+            }
+
+            public Integer getInitialLimit() {
+                return initialLimit;
+            }
+
+            public void setInitialLimit(Integer initialLimit) {
+                this.initialLimit = initialLimit;
+            }
+
+            public Integer getMinLimit() {
+                return minLimit;
+            }
+
+            public void setMinLimit(Integer minLimit) {
+                this.minLimit = minLimit;
+            }
+
+            public Integer getMaxLimit() {
+                return maxLimit;
+            }
+
+            public void setMaxLimit(Integer maxLimit) {
+                this.maxLimit = maxLimit;
+            }
+
+            AdaptiveConcurrencyLimiter.Settings toSettings(AdaptiveConcurrencyLimiter.Settings defaults) {
+                return new AdaptiveConcurrencyLimiter.Settings(
+                        initialLimit != null ? initialLimit : defaults.initialLimit(),
+                        minLimit != null ? minLimit : defaults.minLimit(),
+                        maxLimit != null ? maxLimit : defaults.maxLimit(),
+                        defaults.tolerance(), defaults.smoothing(), defaults.shortWindow(), defaults.longWindow());
+            }
+        }
+    }
+
+    /**
+     * Error mapping for an exception type. For exceptions of the custom hierarchy
+     * unset values are taken from the exception itself.
+     */
+    public static class Mapping {
+
+        private String errorCode;
+
+        private HttpStatus status;
+
+        private String messageKey;
+
+        /**
+         * Message used when the key is missing from the bundles.
+         */
+        private String defaultMessage;
+
+        private String traceIdPrefix = "ERR";
+
+        /**
+         * Category used by the log policy; defaults from the exception type or status.
+         */
+        private ErrorCategory category;
+
+        /**
+         * Log level; defaults to error for technical and unexpected errors, warn otherwise.
+         */
+        private Level logLevel;
+
+        /**
+         * Whether the stack trace is logged; defaults to true for technical and unexpected errors.
+         */
+        private Boolean includeStack;
+
+        public String getErrorCode() {
+            return errorCode;
+        }
+
+        public void setErrorCode(String errorCode) {
+            this.errorCode = errorCode;
+        }
+
+        public HttpStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(HttpStatus status) {
+            this.status = status;
+        }
+
+        public String getMessageKey() {
+            return messageKey;
+        }
+
+        public void setMessageKey(String messageKey) {
+            this.messageKey = messageKey;
+        }
+
+        public String getDefaultMessage() {
+            return defaultMessage;
+        }
+
+        public void setDefaultMessage(String defaultMessage) {
+            this.defaultMessage = defaultMessage;
+        }
+
+        public String getTraceIdPrefix() {
+            return traceIdPrefix;
+        }
+
+        public void setTraceIdPrefix(String traceIdPrefix) {
+            this.traceIdPrefix = traceIdPrefix;
+        }
+
+        public ErrorCategory getCategory() {
+            return category;
+        }
+
+        public void setCategory(ErrorCategory category) {
+            this.category = category;
+        }
+
+        public Level getLogLevel() {
+            return logLevel;
+        }
+
+        public void setLogLevel(Level logLevel) {
+            this.logLevel = logLevel;
+        }
+
+        public Boolean getIncludeStack() {
+            return includeStack;
+        }
+
+        public void setIncludeStack(Boolean includeStack) {
+            this.includeStack = includeStack;
+        }
+
+        public ErrorMapping toErrorMapping(Class<? extends Throwable> exceptionType) {
+            ErrorMapping.Builder builder = ErrorMapping.builder(exceptionType)
+                    .errorCode(errorCode)
+                    .status(status)
+                    .messageKey(messageKey)
+                    .defaultMessage(defaultMessage)
+                    .traceIdPrefix(traceIdPrefix)
+                    .category(category)
+                    .logLevel(logLevel);
+            if (includeStack != null) {
+                builder.includeStack(includeStack);
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.mahdim1000.exceptionhandling;
+
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.dto.FieldError;
+import com.github.mahdim1000.exceptionhandling.dto.RejectedValueSerializer;
+import com.github.mahdim1000.exceptionhandling.dto.TimestampDeserializer;
+import com.github.mahdim1000.exceptionhandling.dto.TimestampSerializer;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCatalog;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Runtime hints for native images: the message bundles, which are loaded as resources,
+ * and Jackson binding of the error response records with their custom serializers
+ * and the factories of the binary formats.
+ *
+ * Error catalogs are application types, so applications register their own with
+ * {@link #registerCatalog(RuntimeHints, Class)} from a registrar of their own:
+ * <pre>
+ * &#64;ImportRuntimeHints(AppRuntimeHints.class)
+ * </pre>
+ */
+public class ExceptionHandlingRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("messages/messages*.properties");
+        bindingRegistrar.registerReflectionHints(hints.reflection(), ErrorResponse.class, FieldError.class);
+        // instantiated by Jackson from @JsonSerialize(using = ...) and @JsonDeserialize(using = ...)
+        hints.reflection().registerType(TimestampSerializer.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        hints.reflection().registerType(TimestampDeserializer.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        hints.reflection().registerType(RejectedValueSerializer.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        // binary formats, instantiated by ErrorResponseFormat when on the classpath
+        hints.reflection().registerTypeIfPresent(classLoader, "com.fasterxml.jackson.dataformat.cbor.CBORFactory",
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerTypeIfPresent(classLoader, "com.fasterxml.jackson.dataformat.smile.SmileFactory",
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+
+    /**
+     * Register an error catalog, whose {@code @ErrorSpec} annotations are read reflectively from its constants.
+     */
+    public static void registerCatalog(RuntimeHints hints, Class<? extends ErrorCatalog> catalog) {
+        hints.reflection().registerType(catalog, MemberCategory.PUBLIC_FIELDS);
+    }
+}
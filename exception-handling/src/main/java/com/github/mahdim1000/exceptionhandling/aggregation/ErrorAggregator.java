@@ -0,0 +1,305 @@
+package com.github.mahdim1000.exceptionhandling.aggregation;
+
+import com.github.mahdim1000.exceptionhandling.exception.BaseException;
+import com.github.mahdim1000.exceptionhandling.util.CoarseClock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts handled errors per fingerprint, to answer "which errors occurred most in the
+ * last minutes" without searching the logs.
+ *
+ * An error is fingerprinted by exception class, error code and its top
+ * {@code stackFrames} application frames. Application frames are those in
+ * {@code applicationPackages}, or when none are configured, frames outside the JDK and
+ * common frameworks. A {@link BaseException} is fingerprinted by its throw site instead,
+ * which the exception computes once and shares with the log policy, so recording it does
+ * not copy the stack trace. Each fingerprint keeps a count per time bucket for the
+ * retention of {@code buckets} buckets, its first and last occurrence and the trace ID of
+ * a recent occurrence.
+ *
+ * Recording an already known fingerprint is lock-free: a map lookup and a few atomic
+ * increments, allocating only the lookup key and, for other exceptions, the stack trace copy. Once
+ * {@code maxFingerprints} are tracked, the thread adding a new one evicts the least
+ * frequent tenth within the retention, least recently seen first; concurrent additions
+ * may exceed the limit by a few entries until then.
+ */
+public class ErrorAggregator {
+
+    private static final String[] FRAMEWORK_PACKAGES = {
+            "java.", "javax.", "jdk.", "sun.", "com.sun.", "jakarta.", "org.springframework.", "org.apache.",
+            "org.hibernate.", "com.fasterxml.", "reactor.", "io.netty.", "io.micrometer.",
+            "com.github.mahdim1000.exceptionhandling."
+    };
+
+    private static final ErrorAggregator DISABLED = new ErrorAggregator(
+            new Settings(0, 0, Duration.ofMinutes(1), 1, List.of()), CoarseClock::millis) {
+        @Override
+        public void record(Throwable ex, String errorCode, String traceId) {
+        }
+    };
+
+    private final Settings settings;
+    private final LongSupplier clock;
+    private final long bucketMillis;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public ErrorAggregator(Settings settings) {
+        this(settings, CoarseClock::millis);
+    }
+
+    ErrorAggregator(Settings settings, LongSupplier clock) {
+        this.settings = settings;
+        this.clock = clock;
+        this.bucketMillis = Math.max(1, settings.bucket().toMillis());
+    }
+
+    /**
+     * An aggregator that records nothing, used when aggregation is disabled.
+     */
+    public static ErrorAggregator disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Record a handled error.
+     */
+    public void record(Throwable ex, String errorCode, String traceId) {
+        long now = clock.getAsLong();
+        StackTraceElement[] stackTrace = stackTrace(ex);
+        Key key = new Key(ex.getClass(), errorCode, frameHash(stackTrace));
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= settings.maxFingerprints()) {
+                evict(now);
+            }
+            entry = entries.computeIfAbsent(key, k -> new Entry(k, applicationFrames(stackTrace), now));
+        }
+        entry.record(now, traceId);
+    }
+
+    /**
+     * The most frequent fingerprints within the period, most frequent first.
+     *
+     * @param period how far back to count, at most the retention
+     * @param limit maximum number of fingerprints returned
+     */
+    public List<Summary> top(Duration period, int limit) {
+        long now = clock.getAsLong();
+        long toEpoch = now / bucketMillis;
+        long fromEpoch = toEpoch - Math.min(settings.buckets(), Math.max(1, period.toMillis() / bucketMillis)) + 1;
+        List<Summary> summaries = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            long count = entry.count(fromEpoch, toEpoch);
+            if (count > 0) {
+                summaries.add(entry.summary(count));
+            }
+        }
+        summaries.sort(Comparator.comparingLong(Summary::count).reversed()
+                .thenComparing(Summary::lastSeen, Comparator.reverseOrder()));
+        return summaries.size() > limit ? List.copyOf(summaries.subList(0, limit)) : summaries;
+    }
+
+    /**
+     * Number of fingerprints currently tracked.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long toEpoch = now / bucketMillis;
+            long fromEpoch = toEpoch - settings.buckets() + 1;
+            List<Candidate> candidates = new ArrayList<>(entries.size());
+            for (Entry entry : entries.values()) {
+                candidates.add(new Candidate(entry, entry.count(fromEpoch, toEpoch)));
+            }
+            candidates.sort(Comparator.comparingLong(Candidate::count)
+                    .thenComparingLong(candidate -> candidate.entry().lastSeen.get()));
+            int excess = entries.size() - settings.maxFingerprints() + 1;
+            int evict = Math.min(candidates.size(), Math.max(excess, settings.maxFingerprints() / 10));
+            for (int i = 0; i < evict; i++) {
+                entries.remove(candidates.get(i).entry().key, candidates.get(i).entry());
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static StackTraceElement[] stackTrace(Throwable ex) {
+        if (ex instanceof BaseException base) {
+            StackTraceElement site = base.getThrowSite();
+            return site != null ? new StackTraceElement[]{site} : new StackTraceElement[0];
+        }
+        return ex.getStackTrace();
+    }
+
+    private long frameHash(StackTraceElement[] stackTrace) {
+        long hash = 1;
+        int frames = 0;
+        for (int i = 0; i < stackTrace.length && frames < settings.stackFrames(); i++) {
+            StackTraceElement frame = stackTrace[i];
+            if (isApplicationFrame(frame)) {
+                hash = 31 * (31 * (31 * hash + frame.getClassName().hashCode()) + frame.getMethodName().hashCode())
+                        + frame.getLineNumber();
+                frames++;
+            }
+        }
+        if (frames == 0 && stackTrace.length > 0) {
+            // no application frame, fall back to the throw site
+            hash = 31 * (31 * hash + stackTrace[0].getClassName().hashCode()) + stackTrace[0].getLineNumber();
+        }
+        return hash;
+    }
+
+    private StackTraceElement[] applicationFrames(StackTraceElement[] stackTrace) {
+        List<StackTraceElement> frames = new ArrayList<>(settings.stackFrames());
+        for (int i = 0; i < stackTrace.length && frames.size() < settings.stackFrames(); i++) {
+            if (isApplicationFrame(stackTrace[i])) {
+                frames.add(stackTrace[i]);
+            }
+        }
+        if (frames.isEmpty() && stackTrace.length > 0) {
+            frames.add(stackTrace[0]);
+        }
+        return frames.toArray(StackTraceElement[]::new);
+    }
+
+    private boolean isApplicationFrame(StackTraceElement frame) {
+        String className = frame.getClassName();
+        if (!settings.applicationPackages().isEmpty()) {
+            for (String prefix : settings.applicationPackages()) {
+                if (className.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (String prefix : FRAMEWORK_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Aggregation settings.
+     *
+     * @param maxFingerprints maximum number of fingerprints tracked
+     * @param stackFrames number of application stack frames in a fingerprint
+     * @param bucket length of a time bucket
+     * @param buckets number of buckets kept; retention is {@code bucket * buckets}
+     * @param applicationPackages package prefixes of application frames; empty for anything but the JDK and frameworks
+     */
+    public record Settings(int maxFingerprints, int stackFrames, Duration bucket, int buckets,
+                           List<String> applicationPackages) {
+
+        public Settings {
+            if (maxFingerprints < 0 || stackFrames < 0 || buckets < 1 || bucket.isNegative() || bucket.isZero()) {
+                throw new IllegalArgumentException("Aggregation settings must be positive");
+            }
+            applicationPackages = List.copyOf(applicationPackages);
+        }
+
+        public Duration retention() {
+            return bucket.multipliedBy(buckets);
+        }
+    }
+
+    /**
+     * Occurrences of one fingerprint.
+     *
+     * @param count occurrences within the requested period
+     * @param total occurrences since the fingerprint was first seen
+     * @param frames top application frames of the first occurrence
+     * @param sampleTraceId trace ID of a recent occurrence
+     */
+    public record Summary(String exception, String errorCode, List<String> frames, long count, long total,
+                          Instant firstSeen, Instant lastSeen, String sampleTraceId) {
+    }
+
+    private record Key(Class<?> type, String errorCode, long frameHash) {
+    }
+
+    private record Candidate(Entry entry, long count) {
+    }
+
+    private final class Entry {
+
+        private final Key key;
+        private final StackTraceElement[] frames;
+        private final long firstSeen;
+        private final AtomicLong lastSeen;
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLongArray bucketEpochs;
+        private final AtomicLongArray counts;
+        private volatile String sampleTraceId;
+
+        Entry(Key key, StackTraceElement[] frames, long now) {
+            this.key = key;
+            this.frames = frames;
+            this.firstSeen = now;
+            this.lastSeen = new AtomicLong(now);
+            this.bucketEpochs = new AtomicLongArray(settings.buckets());
+            this.counts = new AtomicLongArray(settings.buckets());
+            for (int i = 0; i < settings.buckets(); i++) {
+                bucketEpochs.set(i, Long.MIN_VALUE);
+            }
+        }
+
+        void record(long now, String traceId) {
+            long epoch = now / bucketMillis;
+            int slot = (int) Math.floorMod(epoch, (long) settings.buckets());
+            long bucketEpoch = bucketEpochs.get(slot);
+            if (bucketEpoch != epoch && bucketEpochs.compareAndSet(slot, bucketEpoch, epoch)) {
+                // increments racing with the reset may be lost; counts are an estimate
+                counts.set(slot, 0);
+            }
+            counts.incrementAndGet(slot);
+            total.incrementAndGet();
+            // write the shared fields at most once per millisecond
+            long last = lastSeen.get();
+            if (now > last && lastSeen.compareAndSet(last, now) || sampleTraceId == null) {
+                sampleTraceId = traceId;
+            }
+        }
+
+        long count(long fromEpoch, long toEpoch) {
+            long count = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                long bucketEpoch = bucketEpochs.get(i);
+                if (bucketEpoch >= fromEpoch && bucketEpoch <= toEpoch) {
+                    count += counts.get(i);
+                }
+            }
+            return count;
+        }
+
+        Summary summary(long count) {
+            return new Summary(key.type().getName(), key.errorCode(),
+                    Arrays.stream(frames).map(Objects::toString).toList(), count, total.get(),
+                    Instant.ofEpochMilli(firstSeen), Instant.ofEpochMilli(lastSeen.get()), sampleTraceId);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.mahdim1000.exceptionhandling.aggregation;
+
+import com.github.mahdim1000.exceptionhandling.journal.ErrorJournal;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/errors}: the most frequent error fingerprints of
+ * the last minutes, e.g. {@code /actuator/errors?minutes=15&limit=10}, and, when the
+ * {@link ErrorJournal} is enabled, single errors by trace ID at {@code /actuator/errors/{traceId}}.
+ */
+@Endpoint(id = "errors")
+public class ErrorsEndpoint {
+
+    public static final int DEFAULT_MINUTES = 5;
+    public static final int DEFAULT_LIMIT = 20;
+
+    private final ErrorAggregator aggregator;
+    private final ErrorJournal journal;
+
+    public ErrorsEndpoint(ErrorAggregator aggregator) {
+        this(aggregator, null);
+    }
+
+    /**
+     * @param journal journal to look trace IDs up in, or {@code null}
+     */
+    public ErrorsEndpoint(ErrorAggregator aggregator, @Nullable ErrorJournal journal) {
+        this.aggregator = aggregator;
+        this.journal = journal;
+    }
+
+    /**
+     * @param minutes period to count, at most the retention; defaults to {@value #DEFAULT_MINUTES}
+     * @param limit maximum number of fingerprints; defaults to {@value #DEFAULT_LIMIT}
+     */
+    @ReadOperation
+    public Report errors(@Nullable Integer minutes, @Nullable Integer limit) {
+        Duration period = Duration.ofMinutes(minutes != null ? minutes : DEFAULT_MINUTES);
+        List<ErrorAggregator.Summary> top = aggregator.top(period, limit != null ? limit : DEFAULT_LIMIT);
+        return new Report(aggregator != ErrorAggregator.disabled(), period, aggregator.getSettings().retention(),
+                aggregator.size(), top);
+    }
+
+    /**
+     * The journaled error with the trace ID; {@code 404} when unknown or the journal is disabled.
+     */
+    @ReadOperation
+    public ErrorJournal.Entry error(@Selector String traceId) {
+        return journal != null ? journal.find(traceId) : null;
+    }
+
+    /**
+     * @param fingerprints number of fingerprints currently tracked
+     */
+    public record Report(boolean enabled, Duration period, Duration retention, int fingerprints,
+                         List<ErrorAggregator.Summary> errors) {
+    }
+}
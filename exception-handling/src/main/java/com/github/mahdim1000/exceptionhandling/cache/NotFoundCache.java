@@ -0,0 +1,145 @@
+package com.github.mahdim1000.exceptionhandling.cache;
+
+import com.github.mahdim1000.exceptionhandling.exception.ResourceNotFoundException;
+import com.github.mahdim1000.exceptionhandling.util.CoarseClock;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of resources known not to exist, by resource type and key.
+ *
+ * Entries expire after a short time to live. When the cache is full, expired entries are
+ * purged; if none has expired yet, new misses are not cached until one does, and no
+ * further purge is tried before then, so a flood of distinct keys costs a map lookup
+ * each rather than a scan. Entries hold the {@link ResourceNotFoundException} that was
+ * thrown, so repeats get the same error code and message.
+ *
+ * Applications invalidate an entry when the resource is created, e.g.
+ * {@code notFoundCache.invalidate("user", user.getId())}.
+ */
+public class NotFoundCache {
+
+    private final long ttlMillis;
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile long nextPurgeMillis;
+
+    public NotFoundCache(Duration ttl, int maxSize) {
+        this(ttl, maxSize, CoarseClock::millis);
+    }
+
+    NotFoundCache(Duration ttl, int maxSize, LongSupplier clock) {
+        if (ttl.isNegative() || ttl.isZero() || maxSize <= 0) {
+            throw new IllegalArgumentException("Time to live and maximum size must be positive");
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * The exception cached for the resource, or {@code null}; counted as a hit or a miss.
+     */
+    public ResourceNotFoundException lookup(String resource, String key) {
+        Key cacheKey = new Key(resource, key);
+        Entry entry = entries.get(cacheKey);
+        if (entry != null) {
+            if (clock.getAsLong() < entry.expiresAtMillis()) {
+                hits.increment();
+                return entry.exception();
+            }
+            entries.remove(cacheKey, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Cache that the resource was not found.
+     *
+     * @return whether the entry was cached, {@code false} when the cache is full
+     */
+    public boolean put(String resource, String key, ResourceNotFoundException exception) {
+        long now = clock.getAsLong();
+        if (entries.size() >= maxSize && !purge(now)) {
+            return false;
+        }
+        entries.put(new Key(resource, key), new Entry(exception, now + ttlMillis));
+        return true;
+    }
+
+    /**
+     * Forget that the resource was not found, e.g. after creating it.
+     */
+    public void invalidate(String resource, Object key) {
+        entries.remove(new Key(resource, String.valueOf(key)));
+    }
+
+    /**
+     * Forget every resource of the type.
+     */
+    public void invalidateAll(String resource) {
+        entries.keySet().removeIf(key -> key.resource().equals(resource));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Hits per lookup so far, {@code 0} before the first lookup.
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * Remove the expired entries, at most once per expiry.
+     *
+     * @return whether there is room now
+     */
+    private boolean purge(long now) {
+        if (now < nextPurgeMillis) {
+            return false;
+        }
+        long nextExpiry = now + ttlMillis;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            long expiresAt = it.next().expiresAtMillis();
+            if (expiresAt <= now) {
+                it.remove();
+            } else {
+                nextExpiry = Math.min(nextExpiry, expiresAt);
+            }
+        }
+        nextPurgeMillis = nextExpiry;
+        return entries.size() < maxSize;
+    }
+
+    private record Key(String resource, String key) {
+    }
+
+    private record Entry(ResourceNotFoundException exception, long expiresAtMillis) {
+    }
+}
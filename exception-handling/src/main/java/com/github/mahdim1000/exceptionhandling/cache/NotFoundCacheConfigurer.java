@@ -0,0 +1,22 @@
+package com.github.mahdim1000.exceptionhandling.cache;
+
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the {@link NotFoundCacheInterceptor} for all handlers; only
+ * {@link NotFoundCacheable} methods are affected.
+ */
+public class NotFoundCacheConfigurer implements WebMvcConfigurer {
+
+    private final NotFoundCache cache;
+
+    public NotFoundCacheConfigurer(NotFoundCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new NotFoundCacheInterceptor(cache));
+    }
+}
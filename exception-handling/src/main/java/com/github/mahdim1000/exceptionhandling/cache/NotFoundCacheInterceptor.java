@@ -0,0 +1,112 @@
+package com.github.mahdim1000.exceptionhandling.cache;
+
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCatalog;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorDescriptor;
+import com.github.mahdim1000.exceptionhandling.exception.ResourceNotFoundException;
+import com.github.mahdim1000.exceptionhandling.exception.Stackless;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Short-circuits requests to {@link NotFoundCacheable} handler methods for resources
+ * in the {@link NotFoundCache}.
+ *
+ * Before the handler runs, a cached resource is answered by throwing a stackless copy of
+ * its cached exception, with the same error code, message and catalog entry, which the
+ * exception handler turns into the usual 404: response, events and metrics are the same as
+ * for a fresh miss, but the controller and whatever lookup it does are skipped. Each
+ * request gets its own copy, since handlers and filters may add suppressed exceptions to
+ * what they catch. After a request whose handler threw a {@link ResourceNotFoundException}
+ * the resource is cached. Keys longer than {@value #MAX_KEY_LENGTH} characters are not cached.
+ */
+public class NotFoundCacheInterceptor implements HandlerInterceptor {
+
+    static final int MAX_KEY_LENGTH = 256;
+
+    private static final String PENDING_ATTRIBUTE = NotFoundCacheInterceptor.class.getName() + ".PENDING";
+
+    private final NotFoundCache cache;
+
+    public NotFoundCacheInterceptor(NotFoundCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        NotFoundCacheable cacheable = handlerMethod.getMethodAnnotation(NotFoundCacheable.class);
+        if (cacheable == null) {
+            return true;
+        }
+        String key = key(request, cacheable);
+        if (key == null || key.length() > MAX_KEY_LENGTH) {
+            return true;
+        }
+        ResourceNotFoundException cached = cache.lookup(cacheable.resource(), key);
+        if (cached != null) {
+            throw CachedNotFoundException.of(cached);
+        }
+        request.setAttribute(PENDING_ATTRIBUTE, new Pending(cacheable.resource(), key));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(PENDING_ATTRIBUTE) instanceof Pending pending)) {
+            return;
+        }
+        // exceptions resolved by an exception handler are only exposed as a request attribute
+        Object failure = ex != null ? ex : request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE);
+        if (failure instanceof ResourceNotFoundException notFound) {
+            cache.put(pending.resource(), pending.key(), notFound);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String key(HttpServletRequest request, NotFoundCacheable cacheable) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (cacheable.key().isEmpty()) {
+            return variables != null && variables.size() == 1 ? variables.values().iterator().next() : null;
+        }
+        String key = variables != null ? variables.get(cacheable.key()) : null;
+        return key != null ? key : request.getParameter(cacheable.key());
+    }
+
+    private record Pending(String resource, String key) {
+    }
+
+    /**
+     * Answer to a cached resource. Handled through the mapping of {@link ResourceNotFoundException},
+     * or of the catalog entry, rather than one registered for a subclass of the cached exception.
+     */
+    @Stackless
+    private static final class CachedNotFoundException extends ResourceNotFoundException {
+
+        private CachedNotFoundException(ErrorCatalog error, Object[] messageArgs) {
+            super(error, messageArgs);
+        }
+
+        private CachedNotFoundException(String errorCode, String messageKey, Object[] messageArgs) {
+            super(errorCode, messageKey, messageArgs);
+        }
+
+        static CachedNotFoundException of(ResourceNotFoundException cached) {
+            ErrorDescriptor descriptor = cached.getDescriptor();
+            return descriptor != null
+                    ? new CachedNotFoundException(descriptor.getError(), cached.getMessageArgs())
+                    : new CachedNotFoundException(cached.getErrorCode(), cached.getMessageKey(),
+                            cached.getMessageArgs());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.mahdim1000.exceptionhandling.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method whose {@link com.github.mahdim1000.exceptionhandling.exception.ResourceNotFoundException}s
+ * are cached in the {@link NotFoundCache}: repeated requests for the same missing
+ * resource are answered with the cached 404 before the method runs.
+ * <pre>
+ * &#64;GetMapping("/users/{id}")
+ * &#64;NotFoundCacheable(resource = "user")
+ * public User get(&#64;PathVariable Long id) { ... }
+ * </pre>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface NotFoundCacheable {
+
+    /**
+     * Resource type, also used to invalidate entries, e.g. {@code "user"}.
+     */
+    String resource();
+
+    /**
+     * URI template variable or request parameter holding the resource key; by default
+     * the only URI template variable.
+     */
+    String key() default "";
+}
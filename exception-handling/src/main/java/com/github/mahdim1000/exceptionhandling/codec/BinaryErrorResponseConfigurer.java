@@ -0,0 +1,36 @@
+package com.github.mahdim1000.exceptionhandling.codec;
+
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers a {@link BinaryErrorResponseHttpMessageConverter} right after the JSON
+ * converter: JSON keeps precedence for {@code Accept: *}{@code /*}, and the application's
+ * mapper configuration wins over any generic CBOR or Smile converter further down.
+ */
+public class BinaryErrorResponseConfigurer implements WebMvcConfigurer {
+
+    private final ErrorResponseCodec codec;
+
+    public BinaryErrorResponseConfigurer(ErrorResponseCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (!codec.supportsBinary()) {
+            return;
+        }
+        BinaryErrorResponseHttpMessageConverter converter = new BinaryErrorResponseHttpMessageConverter(codec);
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                converters.add(i + 1, converter);
+                return;
+            }
+        }
+        converters.add(converter);
+    }
+}
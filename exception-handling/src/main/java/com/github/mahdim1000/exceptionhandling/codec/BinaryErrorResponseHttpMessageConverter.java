@@ -0,0 +1,59 @@
+package com.github.mahdim1000.exceptionhandling.codec;
+
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link ErrorResponse} bodies in the binary formats of an
+ * {@link ErrorResponseCodec}, and nothing else.
+ *
+ * On the server it is registered after the JSON converter, so JSON stays the default and
+ * a binary format is only written when the client asks for it. Clients can register it
+ * with {@code RestClient} or {@code RestTemplate} to read binary error bodies.
+ */
+public class BinaryErrorResponseHttpMessageConverter extends AbstractHttpMessageConverter<ErrorResponse> {
+
+    private final ErrorResponseCodec codec;
+
+    public BinaryErrorResponseHttpMessageConverter(ErrorResponseCodec codec) {
+        super(codec.getFormats().stream()
+                .filter(format -> format != ErrorResponseFormat.JSON)
+                .map(ErrorResponseFormat::getMediaType)
+                .toArray(MediaType[]::new));
+        this.codec = codec;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ErrorResponse.class == clazz;
+    }
+
+    @Override
+    protected ErrorResponse readInternal(Class<? extends ErrorResponse> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        ErrorResponseFormat format = codec.format(inputMessage.getHeaders().getContentType());
+        if (format == null || format == ErrorResponseFormat.JSON) {
+            throw new HttpMessageNotReadableException("Not a binary error response: "
+                    + inputMessage.getHeaders().getContentType(), inputMessage);
+        }
+        return codec.decode(inputMessage.getBody(), format);
+    }
+
+    @Override
+    protected void writeInternal(ErrorResponse errorResponse, HttpOutputMessage outputMessage) throws IOException {
+        ErrorResponseFormat format = codec.format(outputMessage.getHeaders().getContentType());
+        if (format == null || format == ErrorResponseFormat.JSON) {
+            format = codec.getFormats().get(1);
+        }
+        byte[] body = codec.encode(errorResponse, format);
+        outputMessage.getHeaders().setContentType(format.getMediaType());
+        outputMessage.getHeaders().setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.mahdim1000.exceptionhandling.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes and decodes {@link ErrorResponse}s in a set of {@link ErrorResponseFormat}s.
+ *
+ * JSON is always supported and is the default: it wins content negotiation unless the
+ * client prefers a binary format, and it is assumed for bodies without a content type.
+ * Requested formats whose data format is not on the classpath are left out.
+ */
+public class ErrorResponseCodec {
+
+    private final Map<ErrorResponseFormat, ObjectMapper> mappers = new EnumMap<>(ErrorResponseFormat.class);
+
+    /**
+     * @param objectMapper the application's JSON mapper, copied for the binary formats
+     */
+    public ErrorResponseCodec(ObjectMapper objectMapper, Collection<ErrorResponseFormat> formats) {
+        mappers.put(ErrorResponseFormat.JSON, objectMapper);
+        for (ErrorResponseFormat format : formats) {
+            if (!mappers.containsKey(format) && format.isAvailable()) {
+                mappers.put(format, format.mapper(objectMapper));
+            }
+        }
+    }
+
+    /**
+     * Codec for JSON and every binary format on the classpath.
+     */
+    public static ErrorResponseCodec allAvailable(ObjectMapper objectMapper) {
+        return new ErrorResponseCodec(objectMapper, List.of(ErrorResponseFormat.values()));
+    }
+
+    /**
+     * The supported formats, JSON first.
+     */
+    public List<ErrorResponseFormat> getFormats() {
+        return List.copyOf(mappers.keySet());
+    }
+
+    public boolean supportsBinary() {
+        return mappers.size() > 1;
+    }
+
+    /**
+     * The supported format of the content type, or {@code null}; JSON when there is no
+     * concrete content type.
+     */
+    @Nullable
+    public ErrorResponseFormat format(@Nullable MediaType contentType) {
+        if (contentType == null || !contentType.isConcrete()) {
+            return ErrorResponseFormat.JSON;
+        }
+        for (ErrorResponseFormat format : mappers.keySet()) {
+            if (format.getMediaType().isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The supported format the client prefers by the quality values of its {@code Accept}
+     * header, JSON on a tie or when nothing is acceptable: an error response is better
+     * sent in a format the client did not ask for than not at all.
+     */
+    public ErrorResponseFormat negotiate(List<MediaType> accept) {
+        ErrorResponseFormat best = ErrorResponseFormat.JSON;
+        double bestQuality = -1;
+        for (ErrorResponseFormat format : mappers.keySet()) {
+            double quality = accept.isEmpty() ? 1 : 0;
+            for (MediaType range : accept) {
+                if (range.includes(format.getMediaType())) {
+                    quality = Math.max(quality, range.getQualityValue());
+                }
+            }
+            if (quality > bestQuality) {
+                best = format;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * {@link #negotiate(List)} for a raw {@code Accept} header; JSON when it is absent or malformed.
+     */
+    public ErrorResponseFormat negotiate(@Nullable String accept) {
+        if (accept == null || accept.isBlank() || !supportsBinary()) {
+            return ErrorResponseFormat.JSON;
+        }
+        try {
+            return negotiate(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return ErrorResponseFormat.JSON;
+        }
+    }
+
+    public byte[] encode(ErrorResponse errorResponse, ErrorResponseFormat format) throws IOException {
+        return mapper(format).writeValueAsBytes(errorResponse);
+    }
+
+    public ErrorResponse decode(byte[] body, ErrorResponseFormat format) throws IOException {
+        return mapper(format).readValue(body, ErrorResponse.class);
+    }
+
+    public ErrorResponse decode(InputStream body, ErrorResponseFormat format) throws IOException {
+        return mapper(format).readValue(body, ErrorResponse.class);
+    }
+
+    private ObjectMapper mapper(ErrorResponseFormat format) {
+        ObjectMapper mapper = mappers.get(format);
+        if (mapper == null) {
+            throw new IllegalArgumentException("Error response format not available: " + format);
+        }
+        return mapper;
+    }
+}
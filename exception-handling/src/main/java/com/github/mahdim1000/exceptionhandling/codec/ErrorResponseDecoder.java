@@ -0,0 +1,96 @@
+package com.github.mahdim1000.exceptionhandling.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client-side decoding of {@link ErrorResponse} bodies in any {@link ErrorResponseFormat}.
+ *
+ * Send {@link #getAcceptHeader()} to ask services for a binary format, and decode the
+ * error body by its content type, e.g. with {@code RestClient}:
+ * <pre>
+ * restClient.get().uri("/api/users/{id}", id)
+ *         .header(HttpHeaders.ACCEPT, decoder.getAcceptHeader())
+ *         .retrieve()
+ *         .onStatus(HttpStatusCode::isError, (request, response) -&gt; {
+ *             throw new RemoteErrorException(decoder.decode(response));
+ *         })
+ * </pre>
+ */
+public class ErrorResponseDecoder {
+
+    private final ErrorResponseCodec codec;
+    private final String acceptHeader;
+
+    /**
+     * Decoder for JSON and every binary format on the classpath, with Spring's default mapper configuration.
+     */
+    public ErrorResponseDecoder() {
+        this(Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    public ErrorResponseDecoder(ObjectMapper objectMapper) {
+        this(ErrorResponseCodec.allAvailable(objectMapper));
+    }
+
+    public ErrorResponseDecoder(ErrorResponseCodec codec) {
+        this.codec = codec;
+        this.acceptHeader = acceptHeader(codec.getFormats());
+    }
+
+    /**
+     * {@code Accept} header preferring the binary formats, in order, over JSON. It applies
+     * to successful responses too: send it where the client reads those formats as well,
+     * or for calls whose successful response has no body.
+     */
+    public String getAcceptHeader() {
+        return acceptHeader;
+    }
+
+    /**
+     * Decode the body of an error response by its content type.
+     *
+     * @throws IllegalArgumentException for a content type in no supported format
+     */
+    public ErrorResponse decode(ClientHttpResponse response) throws IOException {
+        return codec.decode(response.getBody(), format(response.getHeaders().getContentType()));
+    }
+
+    /**
+     * Decode an error body by its content type.
+     *
+     * @throws IllegalArgumentException for a content type in no supported format
+     */
+    public ErrorResponse decode(byte[] body, @Nullable MediaType contentType) throws IOException {
+        return codec.decode(body, format(contentType));
+    }
+
+    private ErrorResponseFormat format(@Nullable MediaType contentType) {
+        ErrorResponseFormat format = codec.format(contentType);
+        if (format == null) {
+            throw new IllegalArgumentException("Unsupported error response content type: " + contentType);
+        }
+        return format;
+    }
+
+    private static String acceptHeader(List<ErrorResponseFormat> formats) {
+        List<MediaType> accept = new ArrayList<>();
+        for (int i = 1; i < formats.size(); i++) {
+            accept.add(formats.get(i).getMediaType());
+        }
+        // JSON last with a lower quality, so servers without the binary formats still answer
+        accept.add(accept.isEmpty()
+                ? MediaType.APPLICATION_JSON
+                : new MediaType(MediaType.APPLICATION_JSON, Map.of("q", "0.5")));
+        return MediaType.toString(accept);
+    }
+}
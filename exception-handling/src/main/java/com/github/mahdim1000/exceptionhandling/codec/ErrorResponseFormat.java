@@ -0,0 +1,63 @@
+package com.github.mahdim1000.exceptionhandling.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.MediaType;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Wire formats of {@link com.github.mahdim1000.exceptionhandling.dto.ErrorResponse}.
+ *
+ * All formats share the JSON schema: the binary ones are written by a copy of the
+ * application's {@link ObjectMapper} with a different factory, so naming, inclusion and
+ * the custom serializers apply alike. They need the optional
+ * {@code jackson-dataformat-cbor} and {@code jackson-dataformat-smile} dependencies,
+ * whose factories are therefore created reflectively.
+ */
+public enum ErrorResponseFormat {
+
+    JSON(MediaType.APPLICATION_JSON, "com.fasterxml.jackson.core.JsonFactory"),
+
+    /**
+     * RFC 8949 Concise Binary Object Representation.
+     */
+    CBOR(MediaType.APPLICATION_CBOR, "com.fasterxml.jackson.dataformat.cbor.CBORFactory"),
+
+    /**
+     * Jackson's binary JSON, which also back-references repeated field names.
+     */
+    SMILE(new MediaType("application", "x-jackson-smile"), "com.fasterxml.jackson.dataformat.smile.SmileFactory");
+
+    private final MediaType mediaType;
+    private final String factoryClassName;
+
+    ErrorResponseFormat(MediaType mediaType, String factoryClassName) {
+        this.mediaType = mediaType;
+        this.factoryClassName = factoryClassName;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Whether the Jackson data format is on the classpath.
+     */
+    public boolean isAvailable() {
+        return ClassUtils.isPresent(factoryClassName, ErrorResponseFormat.class.getClassLoader());
+    }
+
+    /**
+     * The mapper for this format, configured like the given JSON mapper.
+     */
+    @SuppressWarnings("unchecked")
+    public ObjectMapper mapper(ObjectMapper json) {
+        if (this == JSON) {
+            return json;
+        }
+        Class<JsonFactory> factoryClass = (Class<JsonFactory>) ClassUtils.resolveClassName(factoryClassName,
+                ErrorResponseFormat.class.getClassLoader());
+        return json.copyWith(BeanUtils.instantiateClass(factoryClass));
+    }
+}
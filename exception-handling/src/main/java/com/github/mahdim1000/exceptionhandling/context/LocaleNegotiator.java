@@ -0,0 +1,112 @@
+package com.github.mahdim1000.exceptionhandling.context;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.ConcurrentLruCache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Picks the best supported locale for an {@code Accept-Language} header.
+ *
+ * The supported locales are those of the available message bundles, so the result can be
+ * passed to the message source as is and never walks a bundle fallback chain. Results are
+ * kept in a bounded LRU cache keyed by the raw header value: clients send the same few
+ * headers over and over, so a repeated header costs a single cache read. Headers that
+ * match no supported locale, are malformed or absent get the default locale; headers
+ * longer than {@value #MAX_CACHED_HEADER_LENGTH} characters are negotiated but not cached.
+ */
+public class LocaleNegotiator {
+
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    static final int MAX_CACHED_HEADER_LENGTH = 256;
+
+    private final Locale defaultLocale;
+    private final List<Locale> supportedLocales;
+    private final ConcurrentLruCache<String, Locale> cache;
+
+    /**
+     * @param defaultLocale locale of the default bundle, used when nothing else matches
+     * @param supportedLocales locales with a bundle of their own
+     */
+    public LocaleNegotiator(Locale defaultLocale, Collection<Locale> supportedLocales, int cacheSize) {
+        Set<Locale> supported = new LinkedHashSet<>();
+        supported.add(defaultLocale);
+        supported.addAll(supportedLocales);
+        supported.remove(Locale.ROOT);
+        this.defaultLocale = defaultLocale;
+        this.supportedLocales = List.copyOf(supported);
+        this.cache = new ConcurrentLruCache<>(cacheSize, this::negotiate);
+    }
+
+    /**
+     * The supported locale best matching the header, or the default locale.
+     */
+    public Locale resolve(String acceptLanguage) {
+        if (acceptLanguage == null || acceptLanguage.isBlank()) {
+            return defaultLocale;
+        }
+        if (acceptLanguage.length() > MAX_CACHED_HEADER_LENGTH) {
+            return negotiate(acceptLanguage);
+        }
+        return cache.get(acceptLanguage);
+    }
+
+    public Locale getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    public List<Locale> getSupportedLocales() {
+        return supportedLocales;
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    private Locale negotiate(String acceptLanguage) {
+        try {
+            Locale locale = Locale.lookup(Locale.LanguageRange.parse(acceptLanguage), supportedLocales);
+            return locale != null ? locale : defaultLocale;
+        } catch (IllegalArgumentException e) {
+            return defaultLocale;
+        }
+    }
+
+    /**
+     * Locales of the bundles {@code <basename>_<locale>.properties} on the classpath, e.g.
+     * {@code fa} for {@code messages/messages_fa.properties}.
+     *
+     * @param basenames bundle base names, as in {@code spring.messages.basename}
+     */
+    public static Set<Locale> bundleLocales(ResourcePatternResolver resolver, Collection<String> basenames) {
+        Set<Locale> locales = new LinkedHashSet<>();
+        for (String basename : basenames) {
+            String path = basename.trim().replace('.', '/');
+            String prefix = path.substring(path.lastIndexOf('/') + 1) + "_";
+            try {
+                for (Resource resource : resolver.getResources(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
+                        + path + "_*.properties")) {
+                    String filename = resource.getFilename();
+                    if (filename != null && filename.startsWith(prefix)) {
+                        String tag = filename.substring(prefix.length(), filename.length() - ".properties".length());
+                        Locale locale = Locale.forLanguageTag(tag.replace('_', '-'));
+                        if (!locale.getLanguage().isEmpty()) {
+                            locales.add(locale);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot list message bundles " + basename, e);
+            }
+        }
+        return locales;
+    }
+}
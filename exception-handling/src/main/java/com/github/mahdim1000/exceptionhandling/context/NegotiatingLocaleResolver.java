@@ -0,0 +1,33 @@
+package com.github.mahdim1000.exceptionhandling.context;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.LocaleResolver;
+
+import java.util.Locale;
+
+/**
+ * {@link LocaleResolver} negotiating the {@code Accept-Language} header against the
+ * supported message bundles with a {@link LocaleNegotiator}. Like Spring's
+ * {@code AcceptHeaderLocaleResolver}, the locale cannot be changed per request.
+ */
+public class NegotiatingLocaleResolver implements LocaleResolver {
+
+    private final LocaleNegotiator negotiator;
+
+    public NegotiatingLocaleResolver(LocaleNegotiator negotiator) {
+        this.negotiator = negotiator;
+    }
+
+    @Override
+    public Locale resolveLocale(HttpServletRequest request) {
+        return negotiator.resolve(request.getHeader(HttpHeaders.ACCEPT_LANGUAGE));
+    }
+
+    @Override
+    public void setLocale(HttpServletRequest request, HttpServletResponse response, Locale locale) {
+        throw new UnsupportedOperationException(
+                "Cannot change the Accept-Language header based locale - use a different locale resolution strategy");
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.mahdim1000.exceptionhandling.context;
+
+import java.util.Locale;
+
+/**
+ * Per-request values the error handling needs: the locale for messages, the trace ID
+ * of the incoming request and the tenant. Bound for the duration of a request with
+ * {@link RequestContextScope}. The trace ID is {@code null} when the request carried
+ * none, see {@link TraceContextExtractor}.
+ */
+public record RequestContext(
+    Locale locale,
+    String traceId,
+    String tenant
+) {
+}
@@ -0,0 +1,92 @@
+package com.github.mahdim1000.exceptionhandling.context;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.lang.Nullable;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.LocaleResolver;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Binds a {@link RequestContext} for each servlet request: the locale from the
+ * application's {@link LocaleResolver} (or the request), the incoming trace ID and the
+ * tenant header.
+ *
+ * The trace ID is taken from the W3C {@code traceparent} header, or else the trace ID
+ * header, see {@link TraceContextExtractor}. It is also put in the MDC for the request,
+ * so log lines written while handling it carry the ID of the error response.
+ */
+public class RequestContextScopeFilter extends OncePerRequestFilter {
+
+    /**
+     * MDC key of the incoming trace ID by default.
+     */
+    public static final String DEFAULT_MDC_KEY = "traceId";
+
+    private final RequestContextScope scope;
+    private final LocaleResolver localeResolver;
+    private final String traceIdHeader;
+    private final String tenantHeader;
+    private final boolean traceparent;
+    private final String mdcKey;
+
+    /**
+     * @param localeResolver resolver used by the application, or {@code null} to use the request locale
+     */
+    public RequestContextScopeFilter(LocaleResolver localeResolver, String traceIdHeader, String tenantHeader) {
+        this(new RequestContextScope(RequestContextScope.Storage.THREAD_LOCAL), localeResolver, traceIdHeader, tenantHeader,
+                true, DEFAULT_MDC_KEY);
+    }
+
+    /**
+     * @param scope scope the contexts are bound with
+     * @param localeResolver resolver used by the application, or {@code null} to use the request locale
+     * @param traceparent whether the trace ID of a {@code traceparent} header takes precedence
+     * @param mdcKey MDC key of the incoming trace ID, or {@code null} to leave the MDC alone
+     */
+    public RequestContextScopeFilter(RequestContextScope scope, LocaleResolver localeResolver, String traceIdHeader,
+                                     String tenantHeader, boolean traceparent, @Nullable String mdcKey) {
+        this.scope = scope;
+        this.localeResolver = localeResolver;
+        this.traceIdHeader = traceIdHeader;
+        this.tenantHeader = tenantHeader;
+        this.traceparent = traceparent;
+        this.mdcKey = mdcKey == null || mdcKey.isEmpty() ? null : mdcKey;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Locale locale = localeResolver != null ? localeResolver.resolveLocale(request) : request.getLocale();
+        String traceId = TraceContextExtractor.extract(
+                traceparent ? request.getHeader(TraceContextExtractor.TRACEPARENT) : null,
+                request.getHeader(traceIdHeader));
+        RequestContext context = new RequestContext(locale, traceId, request.getHeader(tenantHeader));
+        String previousMdcTraceId = null;
+        boolean mdc = mdcKey != null && traceId != null;
+        if (mdc) {
+            previousMdcTraceId = MDC.get(mdcKey);
+            MDC.put(mdcKey, traceId);
+        }
+        try {
+            scope.run(context, () -> chain.doFilter(request, response));
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        } finally {
+            if (mdc) {
+                if (previousMdcTraceId != null) {
+                    MDC.put(mdcKey, previousMdcTraceId);
+                } else {
+                    MDC.remove(mdcKey);
+                }
+            }
+        }
+    }
+}
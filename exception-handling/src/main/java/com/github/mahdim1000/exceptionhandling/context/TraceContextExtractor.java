@@ -0,0 +1,122 @@
+package com.github.mahdim1000.exceptionhandling.context;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Extracts the trace ID of an incoming request, so errors carry the ID the caller's
+ * tracing already knows instead of a fresh one.
+ *
+ * A valid W3C {@code traceparent} header wins; its 32 hex digit trace ID is used. Otherwise
+ * the request ID header, e.g. {@code X-Request-Id}, is used when it is short and made of
+ * safe characters only, as it ends up in logs and responses. Headers are validated
+ * character by character, without regular expressions or splitting; the only allocation
+ * is the returned ID.
+ */
+public final class TraceContextExtractor {
+
+    /**
+     * Header of the W3C Trace Context.
+     */
+    public static final String TRACEPARENT = "traceparent";
+
+    /**
+     * Request ID header read by default.
+     */
+    public static final String DEFAULT_REQUEST_ID_HEADER = "X-Request-Id";
+
+    /**
+     * Longest request ID header that is reused.
+     */
+    public static final int MAX_REQUEST_ID_LENGTH = 64;
+
+    // version "-" trace-id "-" parent-id "-" flags
+    private static final int TRACEPARENT_LENGTH = 55;
+    private static final int TRACE_ID_START = 3;
+    private static final int TRACE_ID_END = 35;
+    private static final int PARENT_ID_END = 52;
+
+    private TraceContextExtractor() {
+    }
+
+    /**
+     * The trace ID of the {@code traceparent} header, or else the request ID.
+     *
+     * @return {@code null} when neither header is present and well-formed
+     */
+    @Nullable
+    public static String extract(@Nullable String traceparent, @Nullable String requestId) {
+        String traceId = traceId(traceparent);
+        return traceId != null ? traceId : requestId(requestId);
+    }
+
+    /**
+     * The trace ID of a {@code traceparent} header.
+     *
+     * @return {@code null} when the header is absent or malformed, or its trace or parent ID is all zeros
+     */
+    @Nullable
+    public static String traceId(@Nullable String traceparent) {
+        if (traceparent == null || traceparent.length() < TRACEPARENT_LENGTH) {
+            return null;
+        }
+        char v0 = traceparent.charAt(0);
+        char v1 = traceparent.charAt(1);
+        if (!isHex(v0) || !isHex(v1) || (v0 == 'f' && v1 == 'f')) {
+            return null;
+        }
+        // version 00 has exactly four fields; later versions may append more
+        if (v0 == '0' && v1 == '0' ? traceparent.length() != TRACEPARENT_LENGTH
+                : traceparent.length() > TRACEPARENT_LENGTH && traceparent.charAt(TRACEPARENT_LENGTH) != '-') {
+            return null;
+        }
+        if (traceparent.charAt(2) != '-' || traceparent.charAt(TRACE_ID_END) != '-'
+                || traceparent.charAt(PARENT_ID_END) != '-') {
+            return null;
+        }
+        if (!isNonZeroHex(traceparent, TRACE_ID_START, TRACE_ID_END)
+                || !isNonZeroHex(traceparent, TRACE_ID_END + 1, PARENT_ID_END)
+                || !isHex(traceparent.charAt(PARENT_ID_END + 1)) || !isHex(traceparent.charAt(PARENT_ID_END + 2))) {
+            return null;
+        }
+        return traceparent.substring(TRACE_ID_START, TRACE_ID_END);
+    }
+
+    /**
+     * A request ID header of at most {@value #MAX_REQUEST_ID_LENGTH} letters, digits,
+     * {@code -}, {@code _}, {@code .} or {@code :}.
+     *
+     * @return {@code null} when the header is absent, empty, too long or contains other characters
+     */
+    @Nullable
+    public static String requestId(@Nullable String requestId) {
+        if (requestId == null || requestId.isEmpty() || requestId.length() > MAX_REQUEST_ID_LENGTH) {
+            return null;
+        }
+        for (int i = 0; i < requestId.length(); i++) {
+            char c = requestId.charAt(i);
+            boolean safe = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == ':';
+            if (!safe) {
+                return null;
+            }
+        }
+        return requestId;
+    }
+
+    private static boolean isNonZeroHex(String value, int start, int end) {
+        boolean nonZero = false;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (!isHex(c)) {
+                return false;
+            }
+            nonZero |= c != '0';
+        }
+        return nonZero;
+    }
+
+    // lower case only, as required by the specification
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+    }
+}
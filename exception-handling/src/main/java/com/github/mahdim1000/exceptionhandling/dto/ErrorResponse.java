@@ -1,6 +1,9 @@
 package com.github.mahdim1000.exceptionhandling.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -10,8 +13,12 @@ public record ErrorResponse(
     String message,
     String path,
     int status,
+    @JsonSerialize(using = TimestampSerializer.class)
+    @JsonDeserialize(using = TimestampDeserializer.class)
     LocalDateTime timestamp,
     List<FieldError> fieldErrors,
+    Boolean truncated,
+    Integer totalErrors,
     String traceId
 ) {
 
@@ -21,6 +28,11 @@ public record ErrorResponse(
         }
     }
 
+    public ErrorResponse(String errorCode, String message, String path, int status, LocalDateTime timestamp,
+                         List<FieldError> fieldErrors, String traceId) {
+        this(errorCode, message, path, status, timestamp, fieldErrors, null, null, traceId);
+    }
+
     /**
      * Constructor without fieldErrors for non-validation errors
      */
@@ -28,6 +40,22 @@ public record ErrorResponse(
         this(errorCode, message, path, status, LocalDateTime.now(), null, traceId);
     }
 
+    /**
+     * Response without field errors, timestamped now.
+     * The direct path for the common case, without a {@link Builder}.
+     */
+    public static ErrorResponse of(String errorCode, String message, String path, int status, String traceId) {
+        return of(errorCode, message, path, status, LocalDateTime.now(), traceId);
+    }
+
+    /**
+     * Response without field errors, with the given timestamp.
+     */
+    public static ErrorResponse of(String errorCode, String message, String path, int status, LocalDateTime timestamp,
+                                   String traceId) {
+        return new ErrorResponse(errorCode, message, path, status, timestamp, null, null, null, traceId);
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -40,6 +68,8 @@ public record ErrorResponse(
         private int status;
         private LocalDateTime timestamp;
         private List<FieldError> fieldErrors;
+        private Boolean truncated;
+        private Integer totalErrors;
         private String traceId;
 
         public Builder errorCode(String errorCode) {
@@ -72,13 +102,26 @@ public record ErrorResponse(
             return this;
         }
 
+        /**
+         * Whether {@code fieldErrors} holds only the first {@code totalErrors} field errors.
+         */
+        public Builder truncated(Boolean truncated) {
+            this.truncated = truncated;
+            return this;
+        }
+
+        public Builder totalErrors(Integer totalErrors) {
+            this.totalErrors = totalErrors;
+            return this;
+        }
+
         public Builder traceId(String traceId) {
             this.traceId = traceId;
             return this;
         }
 
         public ErrorResponse build() {
-            return new ErrorResponse(errorCode, message, path, status, timestamp, fieldErrors, traceId);
+            return new ErrorResponse(errorCode, message, path, status, timestamp, fieldErrors, truncated, totalErrors, traceId);
         }
     }
 }
@@ -0,0 +1,73 @@
+package com.github.mahdim1000.exceptionhandling.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Jackson module writing {@link ErrorResponse}s with the given timestamp format and
+ * {@link FieldError} rejected values within the given limits.
+ *
+ * The settings belong to the {@code ObjectMapper} the module is registered on, so
+ * mappers of different application contexts in one JVM do not affect each other.
+ * Mappers without the module use {@link TimestampSerializer.Format#ISO} and
+ * {@link RejectedValueSerializer.Limits#DEFAULT}.
+ */
+public class ErrorResponseModule extends SimpleModule {
+
+    private final TimestampSerializer timestampSerializer;
+    private final RejectedValueSerializer rejectedValueSerializer;
+
+    public ErrorResponseModule(TimestampSerializer.Format timestampFormat,
+                               RejectedValueSerializer.Limits rejectedValueLimits) {
+        super(ErrorResponseModule.class.getSimpleName());
+        this.timestampSerializer = new TimestampSerializer(timestampFormat);
+        this.rejectedValueSerializer = new RejectedValueSerializer(rejectedValueLimits);
+    }
+
+    public TimestampSerializer.Format getTimestampFormat() {
+        return timestampSerializer.getFormat();
+    }
+
+    public RejectedValueSerializer.Limits getRejectedValueLimits() {
+        return rejectedValueSerializer.getLimits();
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        context.insertAnnotationIntrospector(new ConfiguredSerializers(timestampSerializer, rejectedValueSerializer));
+    }
+
+    /**
+     * Replaces the serializer classes named in {@code @JsonSerialize(using = ...)} with
+     * the configured instances; takes precedence over the annotations themselves.
+     */
+    private static final class ConfiguredSerializers extends NopAnnotationIntrospector {
+
+        private final TimestampSerializer timestampSerializer;
+        private final RejectedValueSerializer rejectedValueSerializer;
+
+        ConfiguredSerializers(TimestampSerializer timestampSerializer,
+                              RejectedValueSerializer rejectedValueSerializer) {
+            this.timestampSerializer = timestampSerializer;
+            this.rejectedValueSerializer = rejectedValueSerializer;
+        }
+
+        @Override
+        public Object findSerializer(Annotated annotated) {
+            JsonSerialize annotation = annotated.getAnnotation(JsonSerialize.class);
+            if (annotation == null) {
+                return null;
+            }
+            if (annotation.using() == TimestampSerializer.class) {
+                return timestampSerializer;
+            }
+            if (annotation.using() == RejectedValueSerializer.class) {
+                return rejectedValueSerializer;
+            }
+            return null;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.github.mahdim1000.exceptionhandling.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 public record FieldError(
     String field,
+    @JsonSerialize(using = RejectedValueSerializer.class)
     Object rejectedValue,
     String message
 ) {
@@ -0,0 +1,169 @@
+package com.github.mahdim1000.exceptionhandling.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.github.mahdim1000.exceptionhandling.util.TextTruncation.ELLIPSIS;
+import static com.github.mahdim1000.exceptionhandling.util.TextTruncation.truncate;
+
+/**
+ * Writes {@link FieldError#rejectedValue()} within size limits, straight to the generator.
+ *
+ * Strings are truncated, collections, arrays and maps are cut after a number of elements
+ * and nested containers below a maximum depth are elided. Only values with a bounded
+ * text form (numbers, enums, dates, UUIDs...) are written through {@code toString()};
+ * any other object is written as its type name, so an arbitrary {@code toString()} is
+ * never rendered.
+ *
+ * Created with {@link Limits#DEFAULT} from the annotation on {@link FieldError}; an
+ * {@link ErrorResponseModule} registered on the {@code ObjectMapper} supplies an instance
+ * with the configured limits instead.
+ */
+public class RejectedValueSerializer extends StdSerializer<Object> {
+
+    private final Limits limits;
+
+    public RejectedValueSerializer() {
+        this(Limits.DEFAULT);
+    }
+
+    public RejectedValueSerializer(Limits limits) {
+        super(Object.class);
+        this.limits = limits;
+    }
+
+    public Limits getLimits() {
+        return limits;
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        write(value, gen, limits, 0);
+    }
+
+    private static void write(Object value, JsonGenerator gen, Limits limits, int depth) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (value instanceof CharSequence text) {
+            gen.writeString(truncate(text, limits.maxStringLength()));
+        } else if (value instanceof Boolean bool) {
+            gen.writeBoolean(bool);
+        } else if (value instanceof Number number) {
+            writeNumber(number, gen, limits);
+        } else if (value instanceof Map<?, ?> || value instanceof Iterable<?> || value.getClass().isArray()) {
+            if (depth >= limits.maxDepth()) {
+                gen.writeString(ELLIPSIS);
+            } else if (value instanceof Map<?, ?> map) {
+                writeMap(map, gen, limits, depth);
+            } else {
+                writeElements(value, gen, limits, depth);
+            }
+        } else {
+            gen.writeString(truncate(text(value), limits.maxStringLength()));
+        }
+    }
+
+    private static void writeNumber(Number number, JsonGenerator gen, Limits limits) throws IOException {
+        switch (number) {
+            case Integer i -> gen.writeNumber(i);
+            case Long l -> gen.writeNumber(l);
+            case Short s -> gen.writeNumber(s);
+            case Byte b -> gen.writeNumber(b);
+            case Double d -> gen.writeNumber(d);
+            case Float f -> gen.writeNumber(f);
+            // Arbitrary precision numbers can be as long as any string
+            case BigInteger big when big.bitLength() <= 64 -> gen.writeNumber(big);
+            case BigDecimal big when big.precision() <= 40 && Math.abs(big.scale()) <= 40 -> gen.writeNumber(big);
+            default -> gen.writeString(truncate(text(number), limits.maxStringLength()));
+        }
+    }
+
+    private static void writeMap(Map<?, ?> map, JsonGenerator gen, Limits limits, int depth) throws IOException {
+        gen.writeStartObject();
+        int written = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (written == limits.maxElements()) {
+                gen.writeStringField(ELLIPSIS, "+" + (map.size() - written) + " more");
+                break;
+            }
+            Object key = entry.getKey();
+            CharSequence name = key == null ? "null" : key instanceof CharSequence text ? text : text(key);
+            gen.writeFieldName(truncate(name, limits.maxStringLength()));
+            write(entry.getValue(), gen, limits, depth + 1);
+            written++;
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeElements(Object container, JsonGenerator gen, Limits limits, int depth) throws IOException {
+        gen.writeStartArray();
+        if (container instanceof Iterable<?> iterable) {
+            Iterator<?> elements = iterable.iterator();
+            int written = 0;
+            while (elements.hasNext()) {
+                if (written == limits.maxElements()) {
+                    gen.writeString(container instanceof Collection<?> collection
+                            ? ELLIPSIS + "+" + (collection.size() - written) + " more"
+                            : ELLIPSIS);
+                    break;
+                }
+                write(elements.next(), gen, limits, depth + 1);
+                written++;
+            }
+        } else {
+            int length = Array.getLength(container);
+            int shown = Math.min(length, limits.maxElements());
+            for (int i = 0; i < shown; i++) {
+                write(Array.get(container, i), gen, limits, depth + 1);
+            }
+            if (shown < length) {
+                gen.writeString(ELLIPSIS + "+" + (length - shown) + " more");
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    /**
+     * Text of a value whose {@code toString()} is known to be short, or its type name.
+     */
+    private static String text(Object value) {
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof Number || value instanceof Character || value instanceof UUID
+                || value instanceof TemporalAccessor || value instanceof Date || value instanceof Class<?>) {
+            return value.toString();
+        }
+        return "[" + value.getClass().getSimpleName() + "]";
+    }
+
+    /**
+     * Size limits for rejected values.
+     *
+     * @param maxStringLength maximum characters of a string before it is truncated
+     * @param maxElements maximum elements written per collection, array or map
+     * @param maxDepth maximum nesting of collections, arrays and maps
+     */
+    public record Limits(int maxStringLength, int maxElements, int maxDepth) {
+
+        public static final Limits DEFAULT = new Limits(256, 20, 3);
+
+        public Limits {
+            if (maxStringLength < 0 || maxElements < 0 || maxDepth < 0) {
+                throw new IllegalArgumentException("Rejected value limits must not be negative");
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.mahdim1000.exceptionhandling.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Reads {@link ErrorResponse#timestamp()} in either {@link TimestampSerializer.Format}:
+ * a number as milliseconds since the epoch, in the system default time zone like the
+ * serializer, and anything else through the {@code ObjectMapper}'s own date-time support.
+ */
+public class TimestampDeserializer extends StdDeserializer<LocalDateTime> {
+
+    public TimestampDeserializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public LocalDateTime deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(p.getLongValue()), ZoneId.systemDefault());
+        }
+        return ctxt.readValue(p, LocalDateTime.class);
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.mahdim1000.exceptionhandling.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.github.mahdim1000.exceptionhandling.util.CoarseClock;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes {@link ErrorResponse#timestamp()} in the configured {@link Format}.
+ *
+ * {@link Format#ISO} leaves the value to the {@code ObjectMapper}, as before;
+ * {@link Format#EPOCH_MILLIS} writes the instant as a plain number, which is cheaper
+ * to produce and to parse than an ISO date-time string.
+ *
+ * Created with {@link Format#ISO} from the annotation on {@link ErrorResponse}; an
+ * {@link ErrorResponseModule} registered on the {@code ObjectMapper} supplies an instance
+ * with the configured format instead.
+ */
+public class TimestampSerializer extends StdSerializer<LocalDateTime> {
+
+    private final Format format;
+
+    public TimestampSerializer() {
+        this(Format.ISO);
+    }
+
+    public TimestampSerializer(Format format) {
+        super(LocalDateTime.class);
+        this.format = format;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (format == Format.EPOCH_MILLIS) {
+            gen.writeNumber(CoarseClock.toEpochMillis(value));
+        } else {
+            provider.defaultSerializeValue(value, gen);
+        }
+    }
+
+    public enum Format {
+
+        /**
+         * ISO local date-time, or whatever the {@code ObjectMapper} is configured to write.
+         */
+        ISO,
+
+        /**
+         * Milliseconds since the epoch.
+         */
+        EPOCH_MILLIS
+    }
+}
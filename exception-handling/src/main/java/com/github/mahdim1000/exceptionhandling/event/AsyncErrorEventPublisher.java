@@ -0,0 +1,168 @@
+package com.github.mahdim1000.exceptionhandling.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers events to the sinks on background consumer threads.
+ *
+ * Events go through a bounded lock-free ring buffer, so the latency of error responses
+ * does not depend on how slow the sinks (e.g. the log appender) are, and publishing
+ * threads never queue up on a lock. Idle consumers park with a growing back-off instead
+ * of blocking on a condition. When the buffer is full the {@link OverflowPolicy} decides
+ * whether the event is dropped and counted, or the publishing thread waits for room.
+ *
+ * {@link #close()} stops accepting events and lets the consumers drain the buffer,
+ * waiting up to the drain timeout, then delivers what is left on the closing thread.
+ * A publisher that raced with closing, and finds the publisher closed after adding its
+ * event, delivers the remaining events itself, so no event is left in the buffer.
+ */
+public class AsyncErrorEventPublisher implements ErrorEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncErrorEventPublisher.class);
+
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final List<ErrorEventSink> sinks;
+    private final EventRingBuffer<ErrorEvent> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration drainTimeout;
+    private final List<Thread> consumers = new ArrayList<>();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed;
+
+    public AsyncErrorEventPublisher(List<ErrorEventSink> sinks, int capacity, int consumerCount,
+                                    OverflowPolicy overflowPolicy, Duration drainTimeout) {
+        this.sinks = List.copyOf(sinks);
+        this.buffer = new EventRingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.drainTimeout = drainTimeout;
+        for (int i = 0; i < consumerCount; i++) {
+            Thread consumer = new Thread(this::consume, "error-events-" + i);
+            consumer.setDaemon(true);
+            consumer.start();
+            consumers.add(consumer);
+        }
+    }
+
+    @Override
+    public void publish(ErrorEvent event) {
+        if (closed) {
+            SynchronousErrorEventPublisher.deliver(sinks, event, logger);
+            return;
+        }
+        if (!buffer.offer(event) && !(overflowPolicy == OverflowPolicy.BLOCK && awaitRoom(event))) {
+            dropped.increment();
+            return;
+        }
+        if (closed) {
+            // Closing may have drained the buffer before the event was added
+            drain();
+        }
+    }
+
+    /**
+     * Number of events dropped because the buffer was full.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Number of events waiting in the buffer.
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        boolean drained = true;
+        for (Thread consumer : consumers) {
+            try {
+                consumer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            drained &= !consumer.isAlive();
+        }
+        if (drained) {
+            // Events added by publishers that had not seen the closed flag yet
+            drain();
+        } else if (!buffer.isEmpty()) {
+            logger.warn("{} error events not delivered within {}", buffer.size(), drainTimeout);
+        }
+        if (dropped.sum() > 0) {
+            logger.warn("{} error events were dropped because the buffer was full", dropped.sum());
+        }
+    }
+
+    /**
+     * Retry adding the event until there is room. Delivers it on the calling thread when
+     * the publisher is closed meanwhile; returns {@code false} when interrupted.
+     */
+    private boolean awaitRoom(ErrorEvent event) {
+        long parkNanos = MIN_PARK_NANOS;
+        while (!buffer.offer(event)) {
+            if (closed) {
+                SynchronousErrorEventPublisher.deliver(sinks, event, logger);
+                return true;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            LockSupport.parkNanos(this, parkNanos);
+            parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+        }
+        return true;
+    }
+
+    private void consume() {
+        long parkNanos = MIN_PARK_NANOS;
+        while (true) {
+            ErrorEvent event = buffer.poll();
+            if (event != null) {
+                SynchronousErrorEventPublisher.deliver(sinks, event, logger);
+                parkNanos = MIN_PARK_NANOS;
+            } else if (closed || Thread.currentThread().isInterrupted()) {
+                return;
+            } else {
+                LockSupport.parkNanos(this, parkNanos);
+                parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+            }
+        }
+    }
+
+    private void drain() {
+        ErrorEvent event;
+        while ((event = buffer.poll()) != null) {
+            SynchronousErrorEventPublisher.deliver(sinks, event, logger);
+        }
+    }
+
+    /**
+     * What to do with an event when the buffer is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Drop the event and count it.
+         */
+        DROP,
+
+        /**
+         * Wait on the publishing thread until there is room.
+         */
+        BLOCK
+    }
+}
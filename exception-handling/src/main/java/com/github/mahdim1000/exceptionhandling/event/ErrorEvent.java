@@ -0,0 +1,31 @@
+package com.github.mahdim1000.exceptionhandling.event;
+
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCategory;
+import org.slf4j.event.Level;
+
+/**
+ * Compact record of a handled error, published by the exception handler and
+ * consumed by {@link ErrorEventSink}s.
+ *
+ * The log message is kept as an SLF4J format with its raw arguments, so that
+ * formatting and stack rendering happen in the sink, not on the request thread.
+ * The incoming trace ID is the caller's one, without the prefix of {@code traceId},
+ * or {@code null} when the request carried none; sinks running on other threads
+ * cannot read it from the MDC of the request.
+ */
+public record ErrorEvent(
+    String traceId,
+    String incomingTraceId,
+    ErrorCategory category,
+    String errorCode,
+    int status,
+    String path,
+    String tenant,
+    Throwable exception,
+    long timestamp,
+    Level level,
+    boolean logStack,
+    String logFormat,
+    Object[] logArguments
+) {
+}
@@ -0,0 +1,16 @@
+package com.github.mahdim1000.exceptionhandling.event;
+
+/**
+ * Hands {@link ErrorEvent}s over to the configured {@link ErrorEventSink}s.
+ */
+public interface ErrorEventPublisher extends AutoCloseable {
+
+    void publish(ErrorEvent event);
+
+    /**
+     * Deliver pending events and stop accepting new ones.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,11 @@
+package com.github.mahdim1000.exceptionhandling.event;
+
+/**
+ * Consumer of {@link ErrorEvent}s, such as logging or exporting to a monitoring system.
+ * Every {@code ErrorEventSink} bean receives every event.
+ */
+@FunctionalInterface
+public interface ErrorEventSink {
+
+    void accept(ErrorEvent event);
+}
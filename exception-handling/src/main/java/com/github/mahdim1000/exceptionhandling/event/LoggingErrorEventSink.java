@@ -0,0 +1,91 @@
+package com.github.mahdim1000.exceptionhandling.event;
+
+import com.github.mahdim1000.exceptionhandling.context.RequestContextScopeFilter;
+import com.github.mahdim1000.exceptionhandling.handler.GlobalExceptionHandler;
+import com.github.mahdim1000.exceptionhandling.logging.ErrorLogPolicy;
+import com.github.mahdim1000.exceptionhandling.util.TextTruncation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.lang.Nullable;
+
+/**
+ * Logs error events through the {@link GlobalExceptionHandler} logger, subject to the
+ * {@link ErrorLogPolicy}.
+ *
+ * String arguments longer than {@code maxArgumentLength} are truncated: exception
+ * messages, such as those of unreadable request bodies, can quote large parts of the payload.
+ * The incoming trace ID of the event is put in the MDC while it is logged, like the request
+ * context filter does on the request thread, since events may be logged on another thread.
+ */
+public class LoggingErrorEventSink implements ErrorEventSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    public static final int DEFAULT_MAX_ARGUMENT_LENGTH = 1024;
+
+    private final ErrorLogPolicy logPolicy;
+    private final int maxArgumentLength;
+    private final String mdcKey;
+
+    public LoggingErrorEventSink(ErrorLogPolicy logPolicy) {
+        this(logPolicy, DEFAULT_MAX_ARGUMENT_LENGTH);
+    }
+
+    public LoggingErrorEventSink(ErrorLogPolicy logPolicy, int maxArgumentLength) {
+        this(logPolicy, maxArgumentLength, RequestContextScopeFilter.DEFAULT_MDC_KEY);
+    }
+
+    /**
+     * @param mdcKey MDC key of the incoming trace ID, or {@code null} to leave the MDC alone
+     */
+    public LoggingErrorEventSink(ErrorLogPolicy logPolicy, int maxArgumentLength, @Nullable String mdcKey) {
+        this.logPolicy = logPolicy;
+        this.maxArgumentLength = maxArgumentLength;
+        this.mdcKey = mdcKey == null || mdcKey.isEmpty() ? null : mdcKey;
+    }
+
+    @Override
+    public void accept(ErrorEvent event) {
+        if (!logger.isEnabledForLevel(event.level())
+                || !logPolicy.shouldLog(event.category(), event.errorCode(), event.exception())) {
+            return;
+        }
+        String traceId = event.incomingTraceId();
+        String previousMdcTraceId = mdcKey != null && traceId != null ? MDC.get(mdcKey) : null;
+        // on the request thread the filter has already put it there
+        boolean mdc = mdcKey != null && traceId != null && !traceId.equals(previousMdcTraceId);
+        if (mdc) {
+            MDC.put(mdcKey, traceId);
+        }
+        try {
+            logger.atLevel(event.level())
+                    .setCause(event.logStack() ? event.exception() : null)
+                    .log(event.logFormat(), truncate(event.logArguments()));
+        } finally {
+            if (mdc) {
+                if (previousMdcTraceId != null) {
+                    MDC.put(mdcKey, previousMdcTraceId);
+                } else {
+                    MDC.remove(mdcKey);
+                }
+            }
+        }
+    }
+
+    private Object[] truncate(Object[] arguments) {
+        if (arguments == null) {
+            return null;
+        }
+        Object[] truncated = arguments;
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] instanceof String text && text.length() > maxArgumentLength) {
+                if (truncated == arguments) {
+                    truncated = arguments.clone();
+                }
+                truncated[i] = TextTruncation.truncate(text, maxArgumentLength);
+            }
+        }
+        return truncated;
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.mahdim1000.exceptionhandling.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Delivers events to the sinks on the calling thread.
+ */
+public class SynchronousErrorEventPublisher implements ErrorEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SynchronousErrorEventPublisher.class);
+
+    private final List<ErrorEventSink> sinks;
+
+    public SynchronousErrorEventPublisher(List<ErrorEventSink> sinks) {
+        this.sinks = List.copyOf(sinks);
+    }
+
+    @Override
+    public void publish(ErrorEvent event) {
+        deliver(sinks, event, logger);
+    }
+
+    static void deliver(List<ErrorEventSink> sinks, ErrorEvent event, Logger logger) {
+        for (ErrorEventSink sink : sinks) {
+            try {
+                sink.accept(event);
+            } catch (RuntimeException e) {
+                logger.warn("Error event sink {} failed for [{}]", sink, event.traceId(), e);
+            }
+        }
+    }
+}
@@ -1,18 +1,28 @@
 package com.github.mahdim1000.exceptionhandling.exception;
 
+import org.springframework.http.HttpStatus;
+
 /**
  * Base exception class for all custom exceptions in the application.
  *
  * This class provides:
- * - Consistent error code structure
+ * - Consistent error code structure and HTTP status
  * - I18n message key support
  * - Additional context parameters for dynamic messages
+ * - Optional stackless mode, see {@link StackTracePolicy}
+ * - Optional {@link ErrorCatalog} entry, whose precomputed {@link ErrorDescriptor} the handler uses
  */
 public abstract class BaseException extends RuntimeException {
     
     private final String errorCode;
     private final String messageKey;
     private final Object[] messageArgs;
+    private final HttpStatus httpStatus;
+    private final ErrorDescriptor descriptor;
+    // no initializers: both are written by fillInStackTrace() while Throwable is being constructed
+    private boolean stackless;
+    private transient boolean constructed;
+    private transient StackTraceElement throwSite;
 
     protected BaseException(String errorCode, String messageKey) {
         this(errorCode, messageKey, null, null);
@@ -27,10 +37,47 @@ public abstract class BaseException extends RuntimeException {
     }
 
     protected BaseException(String errorCode, String messageKey, Object[] messageArgs, Throwable cause) {
+        this(errorCode, messageKey, messageArgs, HttpStatus.INTERNAL_SERVER_ERROR, cause);
+    }
+
+    protected BaseException(String errorCode, String messageKey, Object[] messageArgs, HttpStatus httpStatus,
+                            Throwable cause) {
+        this(errorCode, messageKey, messageArgs, httpStatus, cause, null);
+    }
+
+    protected BaseException(ErrorCatalog error, Object[] messageArgs, Throwable cause) {
+        this(error.descriptor(), messageArgs, cause);
+    }
+
+    private BaseException(ErrorDescriptor descriptor, Object[] messageArgs, Throwable cause) {
+        this(descriptor.getCode(), descriptor.getMessageKey(), messageArgs, descriptor.getStatus(), cause, descriptor);
+    }
+
+    private BaseException(String errorCode, String messageKey, Object[] messageArgs, HttpStatus httpStatus,
+                          Throwable cause, ErrorDescriptor descriptor) {
         super(messageKey, cause);
         this.errorCode = errorCode;
         this.messageKey = messageKey;
         this.messageArgs = messageArgs;
+        this.httpStatus = httpStatus;
+        this.descriptor = descriptor;
+        this.constructed = true;
+    }
+
+    /**
+     * Skip the stack walk for stackless exception types.
+     * The policy is read once, by the call from the {@link Throwable} constructor, so that
+     * {@link #isStackless()} and the captured stack agree even if the policy changes meanwhile.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (!constructed) {
+            stackless = StackTracePolicy.current().isStackless(getClass());
+        }
+        if (stackless) {
+            return this;
+        }
+        return super.fillInStackTrace();
     }
 
     public String getErrorCode() {
@@ -44,4 +91,38 @@ public abstract class BaseException extends RuntimeException {
     public Object[] getMessageArgs() {
         return messageArgs;
     }
+
+    public HttpStatus getHttpStatus() {
+        return httpStatus;
+    }
+
+    /**
+     * The descriptor of the catalog entry this exception was created from, or {@code null}.
+     */
+    public ErrorDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * The top frame of the stack trace, or {@code null} without a stack trace.
+     * Computed once, unlike {@link #getStackTrace()}, which copies the whole trace per call.
+     */
+    public StackTraceElement getThrowSite() {
+        StackTraceElement site = throwSite;
+        if (site == null && !stackless) {
+            StackTraceElement[] stackTrace = getStackTrace();
+            if (stackTrace.length > 0) {
+                site = stackTrace[0];
+                throwSite = site;
+            }
+        }
+        return site;
+    }
+
+    /**
+     * Whether this exception was created without a stack trace.
+     */
+    public boolean isStackless() {
+        return stackless;
+    }
 }
@@ -7,8 +7,6 @@ import org.springframework.http.HttpStatus;
  * These exceptions should be handled gracefully and presented to users.
  */
 public class BusinessException extends BaseException {
-    
-    private final HttpStatus httpStatus;
 
     public BusinessException(String errorCode, String messageKey) {
         this(errorCode, messageKey, HttpStatus.BAD_REQUEST);
@@ -19,21 +17,22 @@ public class BusinessException extends BaseException {
     }
 
     public BusinessException(String errorCode, String messageKey, HttpStatus httpStatus) {
-        super(errorCode, messageKey);
-        this.httpStatus = httpStatus;
+        super(errorCode, messageKey, null, httpStatus, null);
     }
 
     public BusinessException(String errorCode, String messageKey, Object[] messageArgs, HttpStatus httpStatus) {
-        super(errorCode, messageKey, messageArgs);
-        this.httpStatus = httpStatus;
+        super(errorCode, messageKey, messageArgs, httpStatus, null);
     }
 
     public BusinessException(String errorCode, String messageKey, Throwable cause) {
-        super(errorCode, messageKey, cause);
-        this.httpStatus = HttpStatus.BAD_REQUEST;
+        super(errorCode, messageKey, null, HttpStatus.BAD_REQUEST, cause);
     }
 
-    public HttpStatus getHttpStatus() {
-        return httpStatus;
+    public BusinessException(ErrorCatalog error) {
+        super(error, null, null);
+    }
+
+    public BusinessException(ErrorCatalog error, Object[] messageArgs) {
+        super(error, messageArgs, null);
     }
 }
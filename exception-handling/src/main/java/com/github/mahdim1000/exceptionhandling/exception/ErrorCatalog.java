@@ -0,0 +1,40 @@
+package com.github.mahdim1000.exceptionhandling.exception;
+
+/**
+ * A catalog of errors, implemented by an enum whose constants are annotated with {@link ErrorSpec}:
+ * <pre>
+ * public enum UserErrors implements ErrorCatalog {
+ *
+ *     &#64;ErrorSpec(messageKey = "error.business.user.notfound", status = HttpStatus.NOT_FOUND,
+ *             category = ErrorCategory.NOT_FOUND)
+ *     USER_NOT_FOUND,
+ *
+ *     &#64;ErrorSpec(messageKey = "error.technical.database.connection", status = HttpStatus.SERVICE_UNAVAILABLE,
+ *             category = ErrorCategory.TECHNICAL)
+ *     USER_STORE_UNAVAILABLE
+ * }
+ *
+ * throw new ResourceNotFoundException(UserErrors.USER_NOT_FOUND, new Object[]{userId});
+ * </pre>
+ * Exceptions created from a catalog entry carry its {@link ErrorDescriptor}, so the handler
+ * takes code, status, message key and log policy from there instead of looking them up.
+ */
+public interface ErrorCatalog {
+
+    /**
+     * Name of the enum constant, the error code unless {@link ErrorSpec#code()} is set.
+     */
+    String name();
+
+    /**
+     * Ordinal of the enum constant, used to find its descriptor.
+     */
+    int ordinal();
+
+    /**
+     * The descriptor of this entry, built once per catalog.
+     */
+    default ErrorDescriptor descriptor() {
+        return ErrorDescriptor.of(this);
+    }
+}
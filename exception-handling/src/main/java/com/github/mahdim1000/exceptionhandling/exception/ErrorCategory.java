@@ -0,0 +1,39 @@
+package com.github.mahdim1000.exceptionhandling.exception;
+
+/**
+ * Categories of handled errors: the custom exception hierarchy, plus requests
+ * rejected by Spring MVC and unexpected exceptions.
+ * Used to configure behavior per kind of error, e.g.
+ * {@code exception-handling.stackless=business,validation,not-found}.
+ */
+public enum ErrorCategory {
+
+    BUSINESS(BusinessException.class),
+    TECHNICAL(TechnicalException.class),
+    VALIDATION(ValidationException.class),
+    NOT_FOUND(ResourceNotFoundException.class),
+
+    /**
+     * Requests rejected by Spring MVC: bean validation, binding, type mismatch,
+     * missing parameters, malformed JSON, unsupported methods and unmapped paths.
+     */
+    REQUEST(null),
+
+    /**
+     * Any other exception.
+     */
+    UNEXPECTED(null);
+
+    private final Class<? extends BaseException> exceptionType;
+
+    ErrorCategory(Class<? extends BaseException> exceptionType) {
+        this.exceptionType = exceptionType;
+    }
+
+    /**
+     * The exception type of this category, or {@code null} for errors outside the hierarchy.
+     */
+    public Class<? extends BaseException> getExceptionType() {
+        return exceptionType;
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.mahdim1000.exceptionhandling.exception;
+
+import com.github.mahdim1000.exceptionhandling.mapping.ErrorMapping;
+import com.github.mahdim1000.exceptionhandling.mapping.ErrorMappingRegistry;
+import org.slf4j.event.Level;
+import org.springframework.http.HttpStatus;
+
+/**
+ * The resolved {@link ErrorSpec} of an {@link ErrorCatalog} entry, with the
+ * {@link ErrorMapping} the handler uses for it.
+ *
+ * Descriptors are built for a whole catalog on first use, read from the annotations once,
+ * and found by the ordinal of the entry afterwards: creating an exception from a catalog
+ * entry costs a {@link ClassValue} read and an array access.
+ */
+public final class ErrorDescriptor {
+
+    private static final ErrorMappingRegistry DEFAULT_MAPPINGS =
+            new ErrorMappingRegistry(ErrorMappingRegistry.defaultMappings());
+
+    private static final ClassValue<ErrorDescriptor[]> DESCRIPTORS = new ClassValue<>() {
+        @Override
+        protected ErrorDescriptor[] computeValue(Class<?> type) {
+            Object[] constants = type.getEnumConstants();
+            if (constants == null) {
+                throw new IllegalStateException("Error catalog " + type.getName() + " is not an enum");
+            }
+            ErrorDescriptor[] descriptors = new ErrorDescriptor[constants.length];
+            for (Object constant : constants) {
+                ErrorCatalog error = (ErrorCatalog) constant;
+                descriptors[error.ordinal()] = create(type, error);
+            }
+            return descriptors;
+        }
+    };
+
+    private final ErrorCatalog error;
+    private final String code;
+    private final String messageKey;
+    private final HttpStatus status;
+    private final ErrorCategory category;
+    private final ErrorMapping mapping;
+
+    private ErrorDescriptor(ErrorCatalog error, String code, String messageKey, HttpStatus status,
+                            ErrorCategory category, ErrorMapping mapping) {
+        this.error = error;
+        this.code = code;
+        this.messageKey = messageKey;
+        this.status = status;
+        this.category = category;
+        this.mapping = mapping;
+    }
+
+    /**
+     * The descriptor of a catalog entry.
+     *
+     * @throws IllegalStateException if the catalog is not an enum or an entry lacks {@link ErrorSpec}
+     */
+    public static ErrorDescriptor of(ErrorCatalog error) {
+        Class<?> type = error instanceof Enum<?> constant ? constant.getDeclaringClass() : error.getClass();
+        return DESCRIPTORS.get(type)[error.ordinal()];
+    }
+
+    public ErrorCatalog getError() {
+        return error;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getMessageKey() {
+        return messageKey;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public ErrorCategory getCategory() {
+        return category;
+    }
+
+    /**
+     * Mapping with every property set, so handling reads nothing but the message arguments from the exception.
+     */
+    public ErrorMapping getMapping() {
+        return mapping;
+    }
+
+    @Override
+    public String toString() {
+        return "ErrorDescriptor[" + code + " -> " + status.value() + ", " + messageKey + "]";
+    }
+
+    private static ErrorDescriptor create(Class<?> catalog, ErrorCatalog error) {
+        ErrorSpec spec;
+        try {
+            spec = catalog.getField(error.name()).getAnnotation(ErrorSpec.class);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("No field for error " + error.name(), e);
+        }
+        if (spec == null) {
+            throw new IllegalStateException("Error " + catalog.getSimpleName() + "." + error.name()
+                    + " is not annotated with @ErrorSpec");
+        }
+        String code = spec.code().isEmpty() ? error.name() : spec.code();
+        ErrorCategory category = spec.category();
+        ErrorMapping.Builder mapping = ErrorMapping.builder(category.getExceptionType() != null
+                        ? category.getExceptionType() : BaseException.class)
+                .errorCode(code)
+                .status(spec.status())
+                .messageKey(spec.messageKey())
+                .<BaseException>messageArguments(BaseException::getMessageArgs)
+                .category(category)
+                .traceIdPrefix(spec.traceIdPrefix().isEmpty() ? defaultTraceIdPrefix(category) : spec.traceIdPrefix());
+        if (!spec.defaultMessage().isEmpty()) {
+            mapping.defaultMessage(spec.defaultMessage());
+        }
+        if (spec.logLevel() != ErrorSpec.LogLevel.DEFAULT) {
+            mapping.logLevel(Level.valueOf(spec.logLevel().name()));
+        }
+        if (spec.stackTrace() != ErrorSpec.StackTrace.DEFAULT) {
+            mapping.includeStack(spec.stackTrace() == ErrorSpec.StackTrace.INCLUDE);
+        }
+        return new ErrorDescriptor(error, code, spec.messageKey(), spec.status(), category, mapping.build());
+    }
+
+    /**
+     * The prefix of the default mapping of the category's exception type.
+     */
+    private static String defaultTraceIdPrefix(ErrorCategory category) {
+        Class<? extends BaseException> exceptionType = category.getExceptionType();
+        ErrorMapping mapping = exceptionType != null
+                ? DEFAULT_MAPPINGS.find(exceptionType)
+                : ErrorMappingRegistry.UNEXPECTED;
+        return mapping.getTraceIdPrefix();
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.mahdim1000.exceptionhandling.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares an entry of an {@link ErrorCatalog}.
+ *
+ * The message key of every entry in the library sources is checked against the message
+ * bundles at build time, like the other constant message keys.
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ErrorSpec {
+
+    /**
+     * Message key in the bundles.
+     */
+    String messageKey();
+
+    HttpStatus status();
+
+    /**
+     * Category used by the log policy and metrics.
+     */
+    ErrorCategory category();
+
+    /**
+     * Error code; defaults to the name of the enum constant.
+     */
+    String code() default "";
+
+    /**
+     * Message used when the key is missing from the bundles.
+     */
+    String defaultMessage() default "";
+
+    /**
+     * Trace ID prefix; defaults to the prefix of the default mapping of the category,
+     * such as {@code BIZ} for business errors.
+     */
+    String traceIdPrefix() default "";
+
+    /**
+     * Log level; defaults to ERROR for technical and unexpected errors, WARN otherwise.
+     */
+    LogLevel logLevel() default LogLevel.DEFAULT;
+
+    /**
+     * Whether the stack trace is logged; defaults to true for technical and unexpected errors.
+     */
+    StackTrace stackTrace() default StackTrace.DEFAULT;
+
+    enum LogLevel {
+        DEFAULT, ERROR, WARN, INFO, DEBUG
+    }
+
+    enum StackTrace {
+        DEFAULT, INCLUDE, OMIT
+    }
+}
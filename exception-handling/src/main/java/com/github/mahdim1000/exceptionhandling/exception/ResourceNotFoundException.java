@@ -7,22 +7,24 @@ import org.springframework.http.HttpStatus;
  * Represents HTTP 404 situations in a type-safe manner.
  */
 public class ResourceNotFoundException extends BaseException {
-    
-    private final HttpStatus httpStatus = HttpStatus.NOT_FOUND;
 
     public ResourceNotFoundException(String errorCode, String messageKey) {
-        super(errorCode, messageKey);
+        this(errorCode, messageKey, (Object[]) null);
     }
 
     public ResourceNotFoundException(String errorCode, String messageKey, Object[] messageArgs) {
-        super(errorCode, messageKey, messageArgs);
+        super(errorCode, messageKey, messageArgs, HttpStatus.NOT_FOUND, null);
     }
 
     public ResourceNotFoundException(String errorCode, String messageKey, Throwable cause) {
-        super(errorCode, messageKey, cause);
+        super(errorCode, messageKey, null, HttpStatus.NOT_FOUND, cause);
     }
 
-    public HttpStatus getHttpStatus() {
-        return httpStatus;
+    public ResourceNotFoundException(ErrorCatalog error) {
+        super(error, null, null);
+    }
+
+    public ResourceNotFoundException(ErrorCatalog error, Object[] messageArgs) {
+        super(error, messageArgs, null);
     }
 }
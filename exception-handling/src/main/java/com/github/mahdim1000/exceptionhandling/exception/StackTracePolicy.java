@@ -0,0 +1,118 @@
+package com.github.mahdim1000.exceptionhandling.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Decides which {@link BaseException} types skip stack trace capture.
+ *
+ * A type is stackless when it is annotated with {@link Stackless} or belongs to
+ * one of the policy's {@link ErrorCategory categories}. Only business, validation
+ * and not-found categories can be configured: {@link TechnicalException} and unknown
+ * exceptions keep their stack, since it is what operators need to diagnose failures.
+ *
+ * Exceptions are created with {@code new}, outside of any application context, so they
+ * consult the {@link #current() current} policy: the one most recently
+ * {@link #install() installed} and not yet uninstalled, or {@link #ANNOTATED_ONLY}.
+ * The auto-configuration installs its policy bean for the lifetime of its context;
+ * closing the context restores the previous policy. Contexts with different categories
+ * active at the same time are reported with a warning, as only one of them can apply.
+ */
+public final class StackTracePolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(StackTracePolicy.class);
+
+    /**
+     * Only {@link Stackless} types are stackless; the policy in effect when none is installed.
+     */
+    public static final StackTracePolicy ANNOTATED_ONLY = new StackTracePolicy(Set.of());
+
+    // guarded by itself
+    private static final Deque<StackTracePolicy> installed = new ArrayDeque<>();
+    private static volatile StackTracePolicy current = ANNOTATED_ONLY;
+
+    private final Set<ErrorCategory> categories;
+    private final ClassValue<Boolean> stacklessTypes;
+
+    /**
+     * @param categories categories whose exceptions are created without a stack trace
+     */
+    public StackTracePolicy(Collection<ErrorCategory> categories) {
+        Set<ErrorCategory> stackless = categories.isEmpty()
+                ? EnumSet.noneOf(ErrorCategory.class)
+                : EnumSet.copyOf(categories);
+        for (ErrorCategory category : stackless) {
+            if (category == ErrorCategory.TECHNICAL || category.getExceptionType() == null) {
+                throw new IllegalArgumentException(category + " exceptions always keep their stack trace");
+            }
+        }
+        this.categories = Collections.unmodifiableSet(stackless);
+        this.stacklessTypes = new ClassValue<>() {
+            @Override
+            protected Boolean computeValue(Class<?> type) {
+                if (type.isAnnotationPresent(Stackless.class)) {
+                    return true;
+                }
+                for (ErrorCategory category : stackless) {
+                    if (category.getExceptionType().isAssignableFrom(type)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * The policy exceptions are created with.
+     */
+    public static StackTracePolicy current() {
+        return current;
+    }
+
+    /**
+     * Make this the policy exceptions are created with, until {@link #uninstall()}.
+     */
+    public void install() {
+        synchronized (installed) {
+            for (StackTracePolicy other : installed) {
+                if (!other.categories.equals(categories)) {
+                    logger.warn("Stackless categories {} replace {} of another active context", categories,
+                            other.categories);
+                    break;
+                }
+            }
+            installed.push(this);
+            current = this;
+        }
+    }
+
+    /**
+     * Stop applying this policy, going back to the one installed before.
+     */
+    public void uninstall() {
+        synchronized (installed) {
+            installed.removeIf(policy -> policy == this);
+            StackTracePolicy previous = installed.peek();
+            current = previous != null ? previous : ANNOTATED_ONLY;
+        }
+    }
+
+    public Set<ErrorCategory> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Whether exceptions of the given type are created without a stack trace.
+     */
+    public boolean isStackless(Class<?> type) {
+        return stacklessTypes.get(type);
+    }
+}
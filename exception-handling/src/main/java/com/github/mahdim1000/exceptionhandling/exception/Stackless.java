@@ -0,0 +1,20 @@
+package com.github.mahdim1000.exceptionhandling.exception;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link BaseException} subclass as stackless.
+ * Instances skip stack trace capture and are logged without a stack,
+ * regardless of the {@code exception-handling.stackless} property.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Stackless {
+}
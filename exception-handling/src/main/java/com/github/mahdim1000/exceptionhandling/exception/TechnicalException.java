@@ -8,8 +8,6 @@ import org.springframework.http.HttpStatus;
  * technical details to end users.
  */
 public class TechnicalException extends BaseException {
-    
-    private final HttpStatus httpStatus;
 
     public TechnicalException(String errorCode, String messageKey) {
         this(errorCode, messageKey, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -20,16 +18,18 @@ public class TechnicalException extends BaseException {
     }
 
     public TechnicalException(String errorCode, String messageKey, HttpStatus httpStatus) {
-        super(errorCode, messageKey);
-        this.httpStatus = httpStatus;
+        super(errorCode, messageKey, null, httpStatus, null);
     }
 
     public TechnicalException(String errorCode, String messageKey, HttpStatus httpStatus, Throwable cause) {
-        super(errorCode, messageKey, cause);
-        this.httpStatus = httpStatus;
+        super(errorCode, messageKey, null, httpStatus, cause);
     }
 
-    public HttpStatus getHttpStatus() {
-        return httpStatus;
+    public TechnicalException(ErrorCatalog error) {
+        super(error, null, null);
+    }
+
+    public TechnicalException(ErrorCatalog error, Throwable cause) {
+        super(error, null, cause);
     }
 }
@@ -7,22 +7,24 @@ import org.springframework.http.HttpStatus;
  * Represents client-side errors due to invalid input data.
  */
 public class ValidationException extends BaseException {
-    
-    private final HttpStatus httpStatus = HttpStatus.BAD_REQUEST;
 
     public ValidationException(String errorCode, String messageKey) {
-        super(errorCode, messageKey);
+        this(errorCode, messageKey, (Object[]) null);
     }
 
     public ValidationException(String errorCode, String messageKey, Object[] messageArgs) {
-        super(errorCode, messageKey, messageArgs);
+        super(errorCode, messageKey, messageArgs, HttpStatus.BAD_REQUEST, null);
     }
 
     public ValidationException(String errorCode, String messageKey, Throwable cause) {
-        super(errorCode, messageKey, cause);
+        super(errorCode, messageKey, null, HttpStatus.BAD_REQUEST, cause);
     }
 
-    public HttpStatus getHttpStatus() {
-        return httpStatus;
+    public ValidationException(ErrorCatalog error) {
+        super(error, null, null);
+    }
+
+    public ValidationException(ErrorCatalog error, Object[] messageArgs) {
+        super(error, messageArgs, null);
     }
 }
@@ -0,0 +1,242 @@
+package com.github.mahdim1000.exceptionhandling.handler;
+
+import com.github.mahdim1000.exceptionhandling.aggregation.ErrorAggregator;
+import com.github.mahdim1000.exceptionhandling.context.RequestContext;
+import com.github.mahdim1000.exceptionhandling.context.RequestContextScope;
+import com.github.mahdim1000.exceptionhandling.context.TraceContextExtractor;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.event.ErrorEvent;
+import com.github.mahdim1000.exceptionhandling.event.ErrorEventPublisher;
+import com.github.mahdim1000.exceptionhandling.event.LoggingErrorEventSink;
+import com.github.mahdim1000.exceptionhandling.event.SynchronousErrorEventPublisher;
+import com.github.mahdim1000.exceptionhandling.exception.BaseException;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorDescriptor;
+import com.github.mahdim1000.exceptionhandling.logging.ErrorLogPolicy;
+import com.github.mahdim1000.exceptionhandling.mapping.ErrorMapping;
+import com.github.mahdim1000.exceptionhandling.mapping.ErrorMappingRegistry;
+import com.github.mahdim1000.exceptionhandling.metrics.ErrorMetrics;
+import com.github.mahdim1000.exceptionhandling.storm.ErrorStormDetector;
+import com.github.mahdim1000.exceptionhandling.util.CoarseClock;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
+import org.springframework.validation.BindingResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Turns an exception into an {@link ErrorResponse}, independent of the web stack.
+ *
+ * Looks up the {@link ErrorMapping}, or takes it from the {@link ErrorDescriptor} of an
+ * exception created from an error catalog entry, generates the trace ID, resolves
+ * messages for the given locale, publishes the error event, records metrics and feeds the
+ * {@link ErrorAggregator}. The request path and locale are passed in rather than read
+ * from the servlet thread-locals, so it can be used from servlet and reactive handlers
+ * alike; the tenant, if any, comes from the {@link RequestContextScope}.
+ *
+ * Responses are created directly rather than through {@link ErrorResponse.Builder}, to keep
+ * allocations per error down; with {@link Builder#coarseTimestamps coarse timestamps} they
+ * are timestamped by the {@link CoarseClock} too.
+ */
+public class ErrorResponseFactory {
+
+    private final MessageResolver messageResolver;
+    private final TraceIdGenerator traceIdGenerator;
+    private final ErrorMappingRegistry errorMappings;
+    private final ErrorEventPublisher errorEvents;
+    private final ErrorMetrics metrics;
+    private final FieldErrorResolver fieldErrorResolver;
+    private final ErrorStormDetector stormDetector;
+    private final ErrorAggregator aggregator;
+    private final Supplier<LocalDateTime> timestamps;
+
+    /**
+     * Factory with the default mappings, logging every error synchronously and without
+     * metrics, storm detection or aggregation; see {@link #builder} for the others.
+     */
+    public ErrorResponseFactory(MessageResolver messageResolver, TraceIdGenerator traceIdGenerator) {
+        this(builder(messageResolver, traceIdGenerator));
+    }
+
+    private ErrorResponseFactory(Builder builder) {
+        this.messageResolver = builder.messageResolver;
+        this.traceIdGenerator = builder.traceIdGenerator;
+        this.errorMappings = builder.errorMappings;
+        this.errorEvents = builder.errorEvents != null
+                ? builder.errorEvents
+                : new SynchronousErrorEventPublisher(List.of(new LoggingErrorEventSink(ErrorLogPolicy.logAll())));
+        this.metrics = builder.metrics;
+        this.fieldErrorResolver = builder.fieldErrorResolver != null
+                ? builder.fieldErrorResolver
+                : new FieldErrorResolver(builder.messageResolver);
+        this.stormDetector = builder.stormDetector;
+        this.aggregator = builder.aggregator;
+        this.timestamps = builder.coarseTimestamps ? CoarseClock::now : LocalDateTime::now;
+    }
+
+    public static Builder builder(MessageResolver messageResolver, TraceIdGenerator traceIdGenerator) {
+        return new Builder(messageResolver, traceIdGenerator);
+    }
+
+    /**
+     * Create the error response for an exception.
+     * Binding and bean validation failures also get their field errors, capped by the
+     * {@link FieldErrorResolver}; a capped list is marked {@code truncated}.
+     * Error codes in a storm are handled in degraded mode, see {@link ErrorStormDetector}.
+     * The trace ID reuses the incoming one of the {@link RequestContext}, if any.
+     *
+     * @param path request path, without query string
+     * @param locale locale for the messages
+     */
+    public ErrorResponse create(Throwable ex, String path, Locale locale) {
+        return create(ex, path, locale, incomingTraceId());
+    }
+
+    /**
+     * Create the error response for an exception of a request whose trace ID was extracted
+     * by the caller, see {@link TraceContextExtractor}.
+     *
+     * @param incomingTraceId trace ID of the incoming request, or {@code null} to generate one
+     */
+    public ErrorResponse create(Throwable ex, String path, Locale locale, @Nullable String incomingTraceId) {
+        long start = System.nanoTime();
+        ErrorMapping mapping = ex instanceof BaseException base && base.getDescriptor() != null
+                ? base.getDescriptor().getMapping()
+                : errorMappings.find(ex.getClass());
+
+        String traceId = traceIdGenerator.generate(mapping.getTraceIdPrefix(), incomingTraceId);
+        String errorCode = mapping.errorCode(ex);
+        HttpStatus status = mapping.status(ex);
+        ErrorStormDetector.Tracker storm = stormDetector.record(errorCode);
+        boolean degraded = storm != null && storm.isDegraded();
+        String messageKey = mapping.messageKey(ex);
+        Object[] messageArgs = mapping.messageArguments(ex);
+        // Messages with arguments differ per error, only the others are shared during a storm
+        String message = degraded && ObjectUtils.isEmpty(messageArgs)
+                ? storm.message(messageKey, locale, () -> resolveMessage(mapping, messageKey, null, locale))
+                : resolveMessage(mapping, messageKey, messageArgs, locale);
+
+        FieldErrorResolver.Result fieldErrors = null;
+        Object detail;
+        if (ex instanceof BindingResult bindingResult) {
+            fieldErrors = fieldErrorResolver.resolve(bindingResult, locale);
+            metrics.recordFieldErrors(fieldErrors.totalErrors());
+            detail = fieldErrors.totalErrors() + " field errors";
+        } else {
+            detail = ex instanceof BaseException ? message : ex.getMessage();
+        }
+
+        if (!degraded || storm.sample()) {
+            errorEvents.publish(new ErrorEvent(traceId, incomingTraceId, mapping.getCategory(), errorCode,
+                    status.value(), path, tenant(), ex, CoarseClock.millis(), mapping.getLogLevel(),
+                    !degraded && mapping.includeStack(ex), "{} [{}]: {} - {}",
+                    new Object[]{ex.getClass().getSimpleName(), traceId, errorCode, detail}));
+        }
+
+        ErrorResponse errorResponse;
+        if (fieldErrors == null) {
+            errorResponse = ErrorResponse.of(errorCode, message, path, status.value(), timestamps.get(), traceId);
+        } else if (fieldErrors.isTruncated()) {
+            errorResponse = new ErrorResponse(errorCode, message, path, status.value(), timestamps.get(),
+                    fieldErrors.fieldErrors(), true, fieldErrors.totalErrors(), traceId);
+        } else {
+            errorResponse = new ErrorResponse(errorCode, message, path, status.value(), timestamps.get(),
+                    fieldErrors.fieldErrors(), traceId);
+        }
+
+        aggregator.record(ex, errorCode, traceId);
+        metrics.recordError(mapping.getTraceIdPrefix(), errorCode, status.value(), System.nanoTime() - start);
+        return errorResponse;
+    }
+
+    private static String incomingTraceId() {
+        RequestContext context = RequestContextScope.current();
+        return context != null ? context.traceId() : null;
+    }
+
+    private static String tenant() {
+        RequestContext context = RequestContextScope.current();
+        return context != null ? context.tenant() : null;
+    }
+
+    private String resolveMessage(ErrorMapping mapping, String messageKey, Object[] args, Locale locale) {
+        if (mapping.getDefaultMessage() != null) {
+            return messageResolver.resolve(messageKey, args, mapping.getDefaultMessage(), locale);
+        }
+        return messageResolver.resolve(messageKey, args, locale);
+    }
+
+    public static class Builder {
+        private final MessageResolver messageResolver;
+        private final TraceIdGenerator traceIdGenerator;
+        private ErrorMappingRegistry errorMappings = ErrorMappingRegistry.withDefaults(List.of());
+        private ErrorEventPublisher errorEvents;
+        private ErrorMetrics metrics = ErrorMetrics.NOOP;
+        private FieldErrorResolver fieldErrorResolver;
+        private ErrorStormDetector stormDetector = ErrorStormDetector.disabled();
+        private ErrorAggregator aggregator = ErrorAggregator.disabled();
+        private boolean coarseTimestamps;
+
+        private Builder(MessageResolver messageResolver, TraceIdGenerator traceIdGenerator) {
+            this.messageResolver = messageResolver;
+            this.traceIdGenerator = traceIdGenerator;
+        }
+
+        /**
+         * Mappings of exceptions without a descriptor; defaults to the built-in ones.
+         */
+        public Builder errorMappings(ErrorMappingRegistry errorMappings) {
+            this.errorMappings = errorMappings;
+            return this;
+        }
+
+        /**
+         * Publisher of the error events; defaults to logging every error on the calling thread.
+         */
+        public Builder errorEvents(ErrorEventPublisher errorEvents) {
+            this.errorEvents = errorEvents;
+            return this;
+        }
+
+        public Builder metrics(ErrorMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Resolver of binding and validation field errors; defaults to one with the default limits.
+         */
+        public Builder fieldErrorResolver(FieldErrorResolver fieldErrorResolver) {
+            this.fieldErrorResolver = fieldErrorResolver;
+            return this;
+        }
+
+        public Builder stormDetector(ErrorStormDetector stormDetector) {
+            this.stormDetector = stormDetector;
+            return this;
+        }
+
+        public Builder aggregator(ErrorAggregator aggregator) {
+            this.aggregator = aggregator;
+            return this;
+        }
+
+        /**
+         * Whether responses are timestamped by the {@link CoarseClock}, truncated to milliseconds,
+         * instead of {@code LocalDateTime.now()}; off by default.
+         */
+        public Builder coarseTimestamps(boolean coarseTimestamps) {
+            this.coarseTimestamps = coarseTimestamps;
+            return this;
+        }
+
+        public ErrorResponseFactory build() {
+            return new ErrorResponseFactory(this);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.mahdim1000.exceptionhandling.handler;
+
+import com.github.mahdim1000.exceptionhandling.dto.FieldError;
+import com.github.mahdim1000.exceptionhandling.dto.RejectedValueSerializer;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.validation.BindingResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the field errors of a binding or bean validation failure.
+ *
+ * Field labels ({@code field.<objectName>.<path>}, then {@code field.<path>}) are cached
+ * per (DTO class, field path, locale). Indexed paths such as {@code items[42].name} are
+ * returned as they are: labelling them would lose the index, and caching them would let
+ * one bulk payload flush the cache. Errors are grouped by field, identical constraint
+ * messages are resolved once per response, and at most {@code maxFieldErrors} are returned.
+ *
+ * Rejected values of masked fields, matched case-insensitively on the last segment of
+ * the path (e.g. {@code password} or {@code user.password}), are replaced by {@link #MASK}.
+ * Other rejected values are bounded when serialized, see {@link RejectedValueSerializer}.
+ */
+public class FieldErrorResolver {
+
+    public static final int DEFAULT_MAX_FIELD_ERRORS = 100;
+    public static final int DEFAULT_LABEL_CACHE_SIZE = 1024;
+    public static final Set<String> DEFAULT_MASKED_FIELDS = Set.of("password");
+    public static final String MASK = "******";
+
+    private final MessageResolver messageResolver;
+    private final int maxFieldErrors;
+    private final ConcurrentLruCache<LabelKey, String> labels;
+    private final Set<String> maskedFields;
+
+    public FieldErrorResolver(MessageResolver messageResolver) {
+        this(messageResolver, DEFAULT_MAX_FIELD_ERRORS, DEFAULT_LABEL_CACHE_SIZE);
+    }
+
+    public FieldErrorResolver(MessageResolver messageResolver, int maxFieldErrors, int labelCacheSize) {
+        this(messageResolver, maxFieldErrors, labelCacheSize, DEFAULT_MASKED_FIELDS);
+    }
+
+    public FieldErrorResolver(MessageResolver messageResolver, int maxFieldErrors, int labelCacheSize,
+                              Collection<String> maskedFields) {
+        if (maxFieldErrors < 0) {
+            throw new IllegalArgumentException("maxFieldErrors must not be negative: " + maxFieldErrors);
+        }
+        this.messageResolver = messageResolver;
+        this.maxFieldErrors = maxFieldErrors;
+        this.labels = new ConcurrentLruCache<>(labelCacheSize, this::resolveLabel);
+        this.maskedFields = maskedFields.stream()
+                .map(field -> field.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Resolve the field errors to return, grouped by field and capped at {@link #getMaxFieldErrors()}.
+     */
+    public Result resolve(BindingResult bindingResult, Locale locale) {
+        List<org.springframework.validation.FieldError> errors = bindingResult.getFieldErrors();
+        Map<String, List<org.springframework.validation.FieldError>> byField = new LinkedHashMap<>();
+        for (org.springframework.validation.FieldError error : errors) {
+            byField.computeIfAbsent(error.getField(), field -> new ArrayList<>(1)).add(error);
+        }
+
+        Class<?> target = bindingResult.getTarget() != null ? bindingResult.getTarget().getClass() : null;
+        Map<MessageKey, String> messages = new HashMap<>();
+        List<FieldError> fieldErrors = new ArrayList<>(Math.min(errors.size(), maxFieldErrors));
+        for (Map.Entry<String, List<org.springframework.validation.FieldError>> entry : byField.entrySet()) {
+            String label = label(target, bindingResult.getObjectName(), entry.getKey(), locale);
+            boolean masked = isMasked(entry.getKey());
+            for (org.springframework.validation.FieldError error : entry.getValue()) {
+                if (fieldErrors.size() == maxFieldErrors) {
+                    return new Result(fieldErrors, errors.size());
+                }
+                String message = messages.computeIfAbsent(
+                        new MessageKey(error.getDefaultMessage(), error.getArguments()),
+                        key -> messageResolver.resolve(key.messageKey(), key.arguments(), key.messageKey(), locale));
+                Object rejectedValue = masked && error.getRejectedValue() != null ? MASK : error.getRejectedValue();
+                fieldErrors.add(new FieldError(label, rejectedValue, message));
+            }
+        }
+        return new Result(fieldErrors, errors.size());
+    }
+
+    public int getMaxFieldErrors() {
+        return maxFieldErrors;
+    }
+
+    public int getLabelCacheSize() {
+        return labels.size();
+    }
+
+    private boolean isMasked(String path) {
+        if (maskedFields.isEmpty()) {
+            return false;
+        }
+        int end = path.endsWith("]") ? path.lastIndexOf('[') : path.length();
+        String name = path.substring(path.lastIndexOf('.', end - 1) + 1, end);
+        return maskedFields.contains(name.toLowerCase(Locale.ROOT));
+    }
+
+    private String label(Class<?> target, String objectName, String path, Locale locale) {
+        if (path.indexOf('[') >= 0) {
+            return path;
+        }
+        String label = labels.get(new LabelKey(target, objectName, path, locale));
+        return label.isEmpty() ? path : label;
+    }
+
+    private String resolveLabel(LabelKey key) {
+        String label = messageResolver.resolve("field." + key.objectName() + "." + key.path(), null, null, key.locale());
+        if (label == null) {
+            label = messageResolver.resolve("field." + key.path(), null, null, key.locale());
+        }
+        // The cache cannot hold nulls: an empty label stands for "no label, use the path"
+        return label != null ? label : "";
+    }
+
+    /**
+     * Field errors to return and the total number of field errors.
+     */
+    public record Result(List<FieldError> fieldErrors, int totalErrors) {
+
+        public boolean isTruncated() {
+            return fieldErrors.size() < totalErrors;
+        }
+    }
+
+    private record LabelKey(Class<?> target, String objectName, String path, Locale locale) {
+    }
+
+    private record MessageKey(String messageKey, Object[] arguments) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof MessageKey that
+                    && Objects.equals(messageKey, that.messageKey)
+                    && Arrays.equals(arguments, that.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(messageKey) + Arrays.hashCode(arguments);
+        }
+    }
+}
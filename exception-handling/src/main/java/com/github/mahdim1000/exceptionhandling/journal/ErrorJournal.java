@@ -0,0 +1,222 @@
+package com.github.mahdim1000.exceptionhandling.journal;
+
+import com.github.mahdim1000.exceptionhandling.event.ErrorEvent;
+import com.github.mahdim1000.exceptionhandling.event.ErrorEventSink;
+import com.github.mahdim1000.exceptionhandling.util.CoarseClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Local append-only journal of error events, looked up by trace ID.
+ *
+ * Records are appended to memory-mapped segment files in {@code directory}, see
+ * {@link JournalSegment} for the format. Appending reserves space with a single atomic
+ * add, so concurrent appends never wait for each other; only switching to a new segment,
+ * when the current one is full or older than {@code segmentDuration}, takes a lock.
+ * Segments older than {@code retention} are deleted on rotation.
+ *
+ * An in-memory index maps the trace IDs of all retained segments to their records. On
+ * startup the existing segments are scanned to rebuild it, skipping records torn by a
+ * crash, and appending continues in a new segment.
+ *
+ * As an {@link ErrorEventSink} the journal receives the published events: errors whose
+ * events are not published, such as unsampled ones during an error storm, are not journaled.
+ */
+public class ErrorJournal implements ErrorEventSink, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ErrorJournal.class);
+
+    private final Settings settings;
+    private final LongSupplier clock;
+    private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+    private final ConcurrentHashMap<String, Location> index = new ConcurrentHashMap<>();
+    private final Object rotationLock = new Object();
+    private volatile JournalSegment current;
+    private volatile boolean closed;
+
+    public ErrorJournal(Settings settings) {
+        this(settings, CoarseClock::millis);
+    }
+
+    ErrorJournal(Settings settings, LongSupplier clock) {
+        this.settings = settings;
+        this.clock = clock;
+        try {
+            Files.createDirectories(settings.directory());
+            recover();
+            long start = clock.getAsLong();
+            if (!segments.isEmpty()) {
+                start = Math.max(start, segments.getLast().getStartMillis() + 1);
+            }
+            current = JournalSegment.create(settings.directory(), start, settings.segmentSize());
+            segments.add(current);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open error journal in " + settings.directory(), e);
+        }
+    }
+
+    @Override
+    public void accept(ErrorEvent event) {
+        if (closed || event.traceId() == null) {
+            return;
+        }
+        byte[] record = JournalSegment.encode(event, settings.maxStackLength());
+        if (record.length > settings.segmentSize() - JournalSegment.HEADER_SIZE) {
+            logger.warn("Error journal record of {} bytes does not fit a segment", record.length);
+            return;
+        }
+        while (!closed) {
+            JournalSegment segment = current;
+            if (clock.getAsLong() - segment.getStartMillis() >= settings.segmentDuration().toMillis()) {
+                rotate(segment);
+                continue;
+            }
+            int offset = segment.append(record);
+            if (offset >= 0) {
+                index.put(event.traceId(), new Location(segment, offset));
+                return;
+            }
+            rotate(segment);
+        }
+    }
+
+    /**
+     * The journaled error with the trace ID, or {@code null} when unknown or no longer retained.
+     */
+    public Entry find(String traceId) {
+        Location location = index.get(traceId);
+        return location != null ? location.segment().read(location.offset()) : null;
+    }
+
+    /**
+     * Number of trace IDs in the index.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Flush the segments to disk and stop journaling.
+     */
+    @Override
+    public void close() {
+        synchronized (rotationLock) {
+            closed = true;
+            for (JournalSegment segment : segments) {
+                segment.force();
+            }
+        }
+    }
+
+    private void rotate(JournalSegment full) {
+        synchronized (rotationLock) {
+            if (current != full || closed) {
+                return;
+            }
+            long now = clock.getAsLong();
+            try {
+                JournalSegment next = JournalSegment.create(settings.directory(), Math.max(now,
+                        full.getStartMillis() + 1), settings.segmentSize());
+                segments.add(next);
+                current = next;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create error journal segment in " + settings.directory(), e);
+            }
+            full.force();
+            deleteExpired(now);
+        }
+    }
+
+    private void deleteExpired(long now) {
+        List<JournalSegment> expired = new ArrayList<>();
+        for (JournalSegment segment : segments) {
+            if (segment != current && now - segment.getStartMillis() > settings.retention().toMillis()) {
+                expired.add(segment);
+            }
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+        segments.removeAll(expired);
+        index.values().removeIf(location -> expired.contains(location.segment()));
+        for (JournalSegment segment : expired) {
+            try {
+                Files.deleteIfExists(segment.getPath());
+            } catch (IOException e) {
+                logger.warn("Cannot delete expired error journal segment {}: {}", segment.getPath(), e.toString());
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(settings.directory())) {
+            files = list.filter(JournalSegment::isSegment)
+                    .sorted(Comparator.comparingLong(JournalSegment::startMillis))
+                    .toList();
+        }
+        long now = clock.getAsLong();
+        int records = 0;
+        for (Path file : files) {
+            if (now - JournalSegment.startMillis(file) > settings.retention().toMillis()) {
+                Files.deleteIfExists(file);
+                continue;
+            }
+            JournalSegment segment;
+            try {
+                segment = JournalSegment.open(file);
+            } catch (IOException e) {
+                logger.warn("Cannot open error journal segment {}, skipping it: {}", file, e.toString());
+                continue;
+            }
+            segments.add(segment);
+            records += segment.scan((traceId, offset) -> index.put(traceId, new Location(segment, offset)));
+        }
+        if (!files.isEmpty()) {
+            logger.info("Recovered {} error journal records from {} segments", records, segments.size());
+        }
+    }
+
+    /**
+     * Journal settings.
+     *
+     * @param segmentSize size of a segment file in bytes
+     * @param segmentDuration time after which appending moves on to a new segment
+     * @param retention time after which a segment is deleted
+     * @param maxStackLength maximum characters of the stack trace kept per record
+     */
+    public record Settings(Path directory, int segmentSize, Duration segmentDuration, Duration retention,
+                           int maxStackLength) {
+
+        public Settings {
+            if (segmentSize <= JournalSegment.HEADER_SIZE) {
+                throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+            }
+        }
+    }
+
+    /**
+     * A journaled error.
+     */
+    public record Entry(String traceId, Instant timestamp, String errorCode, int status, String path,
+                        String exception, String stackTrace) {
+    }
+
+    private record Location(JournalSegment segment, int offset) {
+    }
+}
@@ -0,0 +1,239 @@
+package com.github.mahdim1000.exceptionhandling.journal;
+
+import com.github.mahdim1000.exceptionhandling.event.ErrorEvent;
+import com.github.mahdim1000.exceptionhandling.util.TextTruncation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * One memory-mapped segment file of the {@link ErrorJournal}.
+ *
+ * Layout: a header of magic and start time, followed by records of
+ * <pre>
+ * | int sync | int length | int crc32 of the body | long timestamp | int status | 5 x (int length, UTF-8 bytes) | padding |
+ * </pre>
+ * with the strings trace ID, error code, path, exception class and stack trace, padded to
+ * a multiple of 4 bytes. The rest of the file is zero.
+ *
+ * Space is reserved by an atomic add on the write position, so a crash can leave a slot
+ * that was reserved but never written, with complete records after it. The writer stores
+ * the sync marker and length first and the checksum last. Recovery skips a record with a
+ * checksum mismatch by its length, and anything without a sync marker and plausible length
+ * by searching the following words for the next marker.
+ */
+final class JournalSegment {
+
+    static final int HEADER_SIZE = 16;
+
+    private static final int MAGIC = 0x45484A32; // EHJ2
+    private static final int SYNC = 0x52454331; // REC1
+    private static final int RECORD_HEADER_SIZE = 12;
+    private static final String PREFIX = "errors-";
+    private static final String SUFFIX = ".journal";
+
+    private final Path path;
+    private final long startMillis;
+    private final MappedByteBuffer buffer;
+    private final AtomicInteger position;
+
+    private JournalSegment(Path path, long startMillis, MappedByteBuffer buffer, int position) {
+        this.path = path;
+        this.startMillis = startMillis;
+        this.buffer = buffer;
+        this.position = new AtomicInteger(position);
+    }
+
+    static JournalSegment create(Path directory, long startMillis, int size) throws IOException {
+        Path path = directory.resolve(PREFIX + startMillis + SUFFIX);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putLong(4, startMillis);
+            return new JournalSegment(path, startMillis, buffer, HEADER_SIZE);
+        }
+    }
+
+    /**
+     * Map an existing segment for reading; it is not appended to again.
+     */
+    static JournalSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an error journal segment: " + path);
+            }
+            return new JournalSegment(path, buffer.getLong(4), buffer, buffer.capacity());
+        }
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX)
+                && name.substring(PREFIX.length(), name.length() - SUFFIX.length()).chars().allMatch(Character::isDigit);
+    }
+
+    static long startMillis(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * Append an encoded record.
+     *
+     * @return offset of the record, or -1 when the segment is full
+     */
+    int append(byte[] record) {
+        int offset = position.getAndAdd(record.length);
+        if (offset < 0 || offset > buffer.capacity() - record.length) {
+            // keep the position past the end, so later appends fail fast too
+            position.set(buffer.capacity());
+            return -1;
+        }
+        buffer.putInt(offset + 4, record.length);
+        buffer.putInt(offset, SYNC);
+        buffer.put(offset + RECORD_HEADER_SIZE, record, RECORD_HEADER_SIZE, record.length - RECORD_HEADER_SIZE);
+        buffer.putInt(offset + 8, ByteBuffer.wrap(record).getInt(8));
+        return offset;
+    }
+
+    /**
+     * Scan the records written before a restart, reporting the trace ID and offset of each intact one.
+     *
+     * @return number of intact records
+     */
+    int scan(ObjIntConsumer<String> consumer) {
+        int offset = HEADER_SIZE;
+        int records = 0;
+        while (offset <= buffer.capacity() - RECORD_HEADER_SIZE) {
+            int length = buffer.getInt(offset + 4);
+            if (buffer.getInt(offset) != SYNC || !isPlausible(offset, length)) {
+                // an unwritten slot, the free space at the end or garbage: look for the next marker
+                offset += 4;
+                continue;
+            }
+            String traceId = isIntact(offset, length) ? readString(offset + RECORD_HEADER_SIZE + 12) : null;
+            if (traceId != null) {
+                consumer.accept(traceId, offset);
+                records++;
+            }
+            offset += length;
+        }
+        return records;
+    }
+
+    ErrorJournal.Entry read(int offset) {
+        int length = buffer.getInt(offset + 4);
+        if (buffer.getInt(offset) != SYNC || !isPlausible(offset, length) || !isIntact(offset, length)) {
+            return null;
+        }
+        int at = offset + RECORD_HEADER_SIZE;
+        long timestamp = buffer.getLong(at);
+        int status = buffer.getInt(at + 8);
+        at += 12;
+        String[] strings = new String[5];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(at);
+            at += 4 + Math.max(0, buffer.getInt(at));
+        }
+        return new ErrorJournal.Entry(strings[0], Instant.ofEpochMilli(timestamp), strings[1], status, strings[2],
+                strings[3], strings[4]);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    private boolean isPlausible(int offset, int length) {
+        return length >= RECORD_HEADER_SIZE + 32 && length % 4 == 0 && length <= buffer.capacity() - offset;
+    }
+
+    private boolean isIntact(int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset + RECORD_HEADER_SIZE, length - RECORD_HEADER_SIZE));
+        return (int) crc.getValue() == buffer.getInt(offset + 8);
+    }
+
+    private String readString(int at) {
+        int length = buffer.getInt(at);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(at + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encode an event as a complete record, checksum included.
+     */
+    static byte[] encode(ErrorEvent event, int maxStackLength) {
+        byte[][] strings = {
+                bytes(event.traceId()),
+                bytes(event.errorCode()),
+                bytes(event.path()),
+                bytes(event.exception() != null ? event.exception().getClass().getName() : null),
+                bytes(event.exception() != null ? stackTrace(event.exception(), maxStackLength) : null)
+        };
+        int length = RECORD_HEADER_SIZE + 12;
+        for (byte[] string : strings) {
+            length += 4 + (string != null ? string.length : 0);
+        }
+        // keep records word-aligned, so recovery searches for sync markers a word at a time
+        length = (length + 3) & ~3;
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(SYNC).putInt(length).putInt(0).putLong(event.timestamp()).putInt(event.status());
+        for (byte[] string : strings) {
+            if (string == null) {
+                record.putInt(-1);
+            } else {
+                record.putInt(string.length).put(string);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), RECORD_HEADER_SIZE, length - RECORD_HEADER_SIZE);
+        record.putInt(8, (int) crc.getValue());
+        return record.array();
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * The exception and its frames, as printed by {@code printStackTrace()}, cut after {@code maxLength} characters.
+     */
+    static String stackTrace(Throwable ex, int maxLength) {
+        StringBuilder stackTrace = new StringBuilder(Math.min(maxLength, 1024) + TextTruncation.ELLIPSIS.length());
+        stackTrace.append(ex.getClass().getName());
+        String message = ex.getMessage();
+        if (message != null) {
+            stackTrace.append(": ").append(TextTruncation.truncate(message, maxLength));
+        }
+        for (StackTraceElement frame : ex.getStackTrace()) {
+            if (stackTrace.length() >= maxLength) {
+                break;
+            }
+            stackTrace.append("\n\tat ").append(frame);
+        }
+        return TextTruncation.truncate(stackTrace, maxLength);
+    }
+}
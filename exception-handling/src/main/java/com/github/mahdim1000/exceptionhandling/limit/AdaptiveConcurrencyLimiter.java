@@ -0,0 +1,125 @@
+package com.github.mahdim1000.exceptionhandling.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit adapted to the observed latency with a gradient algorithm.
+ *
+ * Two moving averages of the request latency are kept: a short one over the last few
+ * requests and a long one, the baseline, over many. While the short average stays within
+ * {@code tolerance} times the baseline the limit grows by about its square root per
+ * update; once requests slow down, e.g. because they queue for a saturated dependency,
+ * the limit shrinks in proportion, by at most half per update. Updates are smoothed, and
+ * skipped while fewer than half the permits are in use, when latency says nothing about
+ * the limit. After a lasting slowdown the baseline follows the new latency, so the limit
+ * recovers; it decays faster once latency drops again.
+ *
+ * Acquiring a permit is a single atomic increment. Releasing updates the estimate under
+ * a lock, which only guards a few arithmetic operations.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final Settings settings;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    // guarded by this
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(Settings settings) {
+        this.settings = settings;
+        this.estimatedLimit = settings.initialLimit();
+        this.limit = settings.initialLimit();
+    }
+
+    /**
+     * Take a permit, to be given back with {@link #release(long)}.
+     *
+     * @return {@code false} when the limit is reached and the request should be rejected
+     */
+    public boolean tryAcquire() {
+        if (inflight.incrementAndGet() > limit) {
+            inflight.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Give a permit back and update the limit.
+     *
+     * @param rttNanos time the request held the permit
+     */
+    public void release(long rttNanos) {
+        int inflightBefore = inflight.getAndDecrement();
+        update(Math.max(rttNanos, 1), inflightBefore);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    private synchronized void update(long rttNanos, int inflightBefore) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) / settings.shortWindow();
+            longRttNanos += (rttNanos - longRttNanos) / settings.longWindow();
+        }
+        // latency dropped well below a baseline raised by a past slowdown
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+        if (inflightBefore < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, settings.tolerance() * longRttNanos / shortRttNanos));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        double smoothed = estimatedLimit * (1 - settings.smoothing()) + target * settings.smoothing();
+        estimatedLimit = Math.max(settings.minLimit(), Math.min(settings.maxLimit(), smoothed));
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Limiter settings.
+     *
+     * @param tolerance latency increase over the baseline still considered healthy, e.g. 1.5 for 50%
+     * @param smoothing weight of each new estimate, between 0 and 1
+     * @param shortWindow number of requests the short latency average is taken over
+     * @param longWindow number of requests the baseline latency average is taken over
+     */
+    public record Settings(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                           int shortWindow, int longWindow) {
+
+        public static final Settings DEFAULT = new Settings(20, 4, 200, 1.5, 0.2, 10, 600);
+
+        public Settings {
+            if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+                throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max: "
+                        + minLimit + ", " + initialLimit + ", " + maxLimit);
+            }
+            if (tolerance < 1 || smoothing <= 0 || smoothing > 1 || shortWindow < 1 || longWindow < shortWindow) {
+                throw new IllegalArgumentException("tolerance must be at least 1, smoothing in (0, 1], "
+                        + "and longWindow at least shortWindow");
+            }
+        }
+    }
+}
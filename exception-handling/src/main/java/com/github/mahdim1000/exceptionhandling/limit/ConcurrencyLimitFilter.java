@@ -0,0 +1,123 @@
+package com.github.mahdim1000.exceptionhandling.limit;
+
+import com.github.mahdim1000.exceptionhandling.codec.ErrorResponseCodec;
+import com.github.mahdim1000.exceptionhandling.codec.ErrorResponseFormat;
+import com.github.mahdim1000.exceptionhandling.context.RequestContextScope;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.handler.ErrorResponseFactory;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Sheds load with the {@link ConcurrencyLimits}: a request over the limit of its endpoint
+ * group is answered right away with {@code 503 SERVICE_OVERLOADED} and a
+ * {@code Retry-After} header, instead of queueing behind requests that are already slow.
+ *
+ * The rejection is built by the {@link ErrorResponseFactory} from a stackless
+ * {@link ServiceOverloadedException}, so it is localized, published and counted like any
+ * other error without a stack walk per request, and written in the format the client
+ * accepts. Each rejection gets its own exception, since event sinks may hold on to it and
+ * add suppressed exceptions. Accepted requests hold their permit until the response is complete, including
+ * asynchronous processing.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimits limits;
+    private final ErrorResponseFactory errorResponseFactory;
+    private final ErrorResponseCodec codec;
+    private final String retryAfter;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimits limits, ErrorResponseFactory errorResponseFactory,
+                                  ErrorResponseCodec codec, Duration retryAfter) {
+        this.limits = limits;
+        this.errorResponseFactory = errorResponseFactory;
+        this.codec = codec;
+        this.retryAfter = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        AdaptiveConcurrencyLimiter limiter = limits.limiter(path);
+        if (!limiter.tryAcquire()) {
+            reject(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseListener(limiter, start));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse errorResponse = errorResponseFactory.create(new ServiceOverloadedException(),
+                request.getRequestURI(), RequestContextScope.currentLocale());
+        ErrorResponseFormat format = codec.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        byte[] body = codec.encode(errorResponse, format);
+        response.setStatus(errorResponse.status());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(format.getMediaType().toString());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Releases the permit of an asynchronous request once it completes, times out or fails.
+     */
+    private static final class ReleaseListener implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long start;
+        private boolean released;
+
+        ReleaseListener(AdaptiveConcurrencyLimiter limiter, long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private synchronized void release() {
+            if (!released) {
+                released = true;
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.mahdim1000.exceptionhandling.limit;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Concurrency limiters per endpoint group.
+ *
+ * Each group has its own {@link AdaptiveConcurrencyLimiter} and a list of path patterns,
+ * e.g. {@code /api/reports/**}; groups are matched in order, and requests matching no
+ * group share the {@value #DEFAULT_GROUP} limiter. Endpoints depending on different
+ * backends belong in different groups, so one slow backend does not shed the traffic of
+ * the others.
+ */
+public class ConcurrencyLimits {
+
+    public static final String DEFAULT_GROUP = "default";
+
+    private final List<Group> groups = new ArrayList<>();
+    private final AdaptiveConcurrencyLimiter defaultLimiter;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new LinkedHashMap<>();
+
+    public ConcurrencyLimits(AdaptiveConcurrencyLimiter.Settings defaults) {
+        this.defaultLimiter = new AdaptiveConcurrencyLimiter(defaults);
+        limiters.put(DEFAULT_GROUP, defaultLimiter);
+    }
+
+    /**
+     * Add a group with its own limiter.
+     *
+     * @param patterns path patterns within the application, without the context path
+     */
+    public ConcurrencyLimits group(String name, List<String> patterns, AdaptiveConcurrencyLimiter.Settings settings) {
+        if (limiters.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate concurrency limit group: " + name);
+        }
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+        List<PathPattern> parsed = patterns.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        groups.add(new Group(parsed, limiter));
+        limiters.put(name, limiter);
+        return this;
+    }
+
+    /**
+     * The limiter of the first group matching the path, or the default one.
+     */
+    public AdaptiveConcurrencyLimiter limiter(String path) {
+        if (groups.isEmpty()) {
+            return defaultLimiter;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (Group group : groups) {
+            for (PathPattern pattern : group.patterns()) {
+                if (pattern.matches(container)) {
+                    return group.limiter();
+                }
+            }
+        }
+        return defaultLimiter;
+    }
+
+    /**
+     * Limiters by group name, the default group first.
+     */
+    public Map<String, AdaptiveConcurrencyLimiter> getLimiters() {
+        return Collections.unmodifiableMap(limiters);
+    }
+
+    private record Group(List<PathPattern> patterns, AdaptiveConcurrencyLimiter limiter) {
+    }
+}
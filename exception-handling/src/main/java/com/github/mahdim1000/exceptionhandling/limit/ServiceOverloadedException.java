@@ -0,0 +1,19 @@
+package com.github.mahdim1000.exceptionhandling.limit;
+
+import com.github.mahdim1000.exceptionhandling.exception.Stackless;
+import com.github.mahdim1000.exceptionhandling.exception.TechnicalException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Rejection of a request by the {@link ConcurrencyLimitFilter}. Stackless, so creating
+ * one per rejection costs no stack walk.
+ */
+@Stackless
+public class ServiceOverloadedException extends TechnicalException {
+
+    public static final String ERROR_CODE = "SERVICE_OVERLOADED";
+
+    public ServiceOverloadedException() {
+        super(ERROR_CODE, "error.technical.overloaded", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -0,0 +1,219 @@
+package com.github.mahdim1000.exceptionhandling.logging;
+
+import com.github.mahdim1000.exceptionhandling.exception.BaseException;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCategory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limits error logging per error fingerprint.
+ *
+ * An error is fingerprinted by error code, exception class and throw site (the top stack
+ * frame). Within each summary interval the first N occurrences of a fingerprint are logged
+ * in full; further occurrences are only counted, and a single
+ * "suppressed X occurrences of &lt;fingerprint&gt;" line is emitted once the interval is over.
+ *
+ * Counters are lock-free and the number of tracked fingerprints is bounded: once full,
+ * new fingerprints share one overflow entry per category, so they are still rate limited.
+ * Fingerprints without any occurrence during a whole summary interval are evicted.
+ * Summaries are emitted by the request that notices an elapsed interval, with no
+ * background thread; {@link #flush()} emits the pending ones, e.g. on shutdown.
+ */
+public class ErrorLogPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ErrorLogPolicy.class);
+
+    private static final ErrorLogPolicy LOG_ALL = new ErrorLogPolicy(Map.of(), null, 0, System::nanoTime) {
+        @Override
+        public boolean shouldLog(ErrorCategory category, String errorCode, Throwable ex) {
+            return true;
+        }
+    };
+
+    private final Map<ErrorCategory, Limit> limits;
+    private final Limit defaultLimit;
+    private final int maxFingerprints;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<Fingerprint, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<ErrorCategory, Entry> overflow = new EnumMap<>(ErrorCategory.class);
+    private final AtomicLong nextSweep;
+
+    public ErrorLogPolicy(Map<ErrorCategory, Limit> limits, Limit defaultLimit, int maxFingerprints) {
+        this(limits, defaultLimit, maxFingerprints, System::nanoTime);
+    }
+
+    ErrorLogPolicy(Map<ErrorCategory, Limit> limits, Limit defaultLimit, int maxFingerprints, LongSupplier nanoClock) {
+        this.limits = limits.isEmpty() ? Map.of() : new EnumMap<>(limits);
+        this.defaultLimit = defaultLimit;
+        this.maxFingerprints = maxFingerprints;
+        this.nanoClock = nanoClock;
+        this.nextSweep = new AtomicLong(nanoClock.getAsLong());
+        for (ErrorCategory category : ErrorCategory.values()) {
+            Fingerprint fingerprint = new Fingerprint(category, "*", Throwable.class, null);
+            overflow.put(category, new Entry(fingerprint, limit(category), nanoClock.getAsLong()));
+        }
+    }
+
+    /**
+     * A policy that logs every error, as the handler did before rate limiting existed.
+     */
+    public static ErrorLogPolicy logAll() {
+        return LOG_ALL;
+    }
+
+    /**
+     * Record an occurrence and decide whether it is logged in full.
+     */
+    public boolean shouldLog(ErrorCategory category, String errorCode, Throwable ex) {
+        long now = nanoClock.getAsLong();
+        sweep(now);
+        return entry(category, errorCode, ex).record(now);
+    }
+
+    /**
+     * Emit summaries for every fingerprint with suppressed occurrences.
+     */
+    public void flush() {
+        for (Entry entry : entries.values()) {
+            entry.emitSummary();
+        }
+        for (Entry entry : overflow.values()) {
+            entry.emitSummary();
+        }
+    }
+
+    /**
+     * Number of fingerprints currently tracked, not counting the overflow entries.
+     */
+    public int getFingerprintCount() {
+        return entries.size();
+    }
+
+    private Entry entry(ErrorCategory category, String errorCode, Throwable ex) {
+        Fingerprint fingerprint = new Fingerprint(category, errorCode, ex.getClass(), throwSite(ex));
+        Entry entry = entries.get(fingerprint);
+        if (entry != null) {
+            return entry;
+        }
+        if (entries.size() >= maxFingerprints) {
+            return overflow.get(category);
+        }
+        return entries.computeIfAbsent(fingerprint, key -> new Entry(key, limit(category), nanoClock.getAsLong()));
+    }
+
+    private Limit limit(ErrorCategory category) {
+        return limits.getOrDefault(category, defaultLimit);
+    }
+
+    /**
+     * The top stack frame; cached by {@link BaseException}, as {@link Throwable#getStackTrace()}
+     * copies the whole stack trace on every call.
+     */
+    private static StackTraceElement throwSite(Throwable ex) {
+        if (ex instanceof BaseException base) {
+            return base.getThrowSite();
+        }
+        StackTraceElement[] stackTrace = ex.getStackTrace();
+        return stackTrace.length > 0 ? stackTrace[0] : null;
+    }
+
+    /**
+     * Once per shortest interval, close the windows of fingerprints that stopped occurring
+     * so their summaries are not held back until the next occurrence, and evict those
+     * that did not occur at all since the previous sweep.
+     */
+    private void sweep(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || defaultLimit == null) {
+            return;
+        }
+        long interval = defaultLimit.summaryInterval().toNanos();
+        for (Limit limit : limits.values()) {
+            interval = Math.min(interval, limit.summaryInterval().toNanos());
+        }
+        if (!nextSweep.compareAndSet(due, now + interval)) {
+            return;
+        }
+        for (Entry entry : entries.values()) {
+            if (entry.isIdle(now)) {
+                // An occurrence racing with the removal is still rate limited by the evicted entry
+                entries.remove(entry.fingerprint, entry);
+                entry.emitSummary();
+            } else {
+                entry.rollIfElapsed(now);
+            }
+        }
+        for (Entry entry : overflow.values()) {
+            entry.rollIfElapsed(now);
+        }
+    }
+
+    /**
+     * How many occurrences of a fingerprint are logged in full per summary interval.
+     */
+    public record Limit(int fullLogs, Duration summaryInterval) {
+    }
+
+    private record Fingerprint(ErrorCategory category, String errorCode, Class<?> type, StackTraceElement site) {
+
+        @Override
+        public String toString() {
+            return category + " " + errorCode + " " + type.getName() + (site != null ? " at " + site : "");
+        }
+    }
+
+    private static final class Entry {
+
+        private final Fingerprint fingerprint;
+        private final Limit limit;
+        private final AtomicLong windowStart;
+        private final AtomicInteger logged = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        Entry(Fingerprint fingerprint, Limit limit, long now) {
+            this.fingerprint = fingerprint;
+            this.limit = limit;
+            this.windowStart = new AtomicLong(now);
+        }
+
+        boolean record(long now) {
+            rollIfElapsed(now);
+            if (logged.incrementAndGet() <= limit.fullLogs()) {
+                return true;
+            }
+            suppressed.incrementAndGet();
+            return false;
+        }
+
+        /**
+         * Whether the current window is over without any occurrence in it.
+         */
+        boolean isIdle(long now) {
+            return now - windowStart.get() >= limit.summaryInterval().toNanos() && logged.get() == 0;
+        }
+
+        void rollIfElapsed(long now) {
+            long start = windowStart.get();
+            if (now - start >= limit.summaryInterval().toNanos() && windowStart.compareAndSet(start, now)) {
+                logged.set(0);
+                emitSummary();
+            }
+        }
+
+        void emitSummary() {
+            long count = suppressed.getAndSet(0);
+            if (count > 0) {
+                logger.warn("Suppressed {} occurrences of {} in the last {}", count, fingerprint,
+                        limit.summaryInterval());
+            }
+        }
+    }
+}
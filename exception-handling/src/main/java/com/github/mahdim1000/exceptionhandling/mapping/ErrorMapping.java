@@ -0,0 +1,239 @@
+package com.github.mahdim1000.exceptionhandling.mapping;
+
+import com.github.mahdim1000.exceptionhandling.exception.BaseException;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCategory;
+import org.slf4j.event.Level;
+import org.springframework.http.HttpStatus;
+
+import java.util.function.Function;
+
+/**
+ * How an exception type is turned into an error response.
+ *
+ * For {@link BaseException} types the error code, status, message key and message
+ * arguments may be left unset; they are then taken from the exception instance.
+ * Other types need at least an error code, a status and a message key.
+ */
+public final class ErrorMapping {
+
+    private final Class<? extends Throwable> exceptionType;
+    private final String errorCode;
+    private final HttpStatus status;
+    private final String messageKey;
+    private final String defaultMessage;
+    private final Function<Throwable, Object[]> messageArguments;
+    private final String traceIdPrefix;
+    private final ErrorCategory category;
+    private final Level logLevel;
+    private final boolean includeStack;
+
+    private ErrorMapping(Builder builder) {
+        this.exceptionType = builder.exceptionType;
+        this.errorCode = builder.errorCode;
+        this.status = builder.status;
+        this.messageKey = builder.messageKey;
+        this.defaultMessage = builder.defaultMessage;
+        this.messageArguments = builder.messageArguments;
+        this.traceIdPrefix = builder.traceIdPrefix;
+        this.category = builder.category;
+        this.logLevel = builder.logLevel;
+        this.includeStack = builder.includeStack;
+    }
+
+    public static Builder builder(Class<? extends Throwable> exceptionType) {
+        return new Builder(exceptionType);
+    }
+
+    public Class<? extends Throwable> getExceptionType() {
+        return exceptionType;
+    }
+
+    public String getTraceIdPrefix() {
+        return traceIdPrefix;
+    }
+
+    public ErrorCategory getCategory() {
+        return category;
+    }
+
+    public Level getLogLevel() {
+        return logLevel;
+    }
+
+    public boolean isIncludeStack() {
+        return includeStack;
+    }
+
+    public String getDefaultMessage() {
+        return defaultMessage;
+    }
+
+    /**
+     * The configured error code, or {@code null} when taken from the exception.
+     */
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * The configured status, or {@code null} when taken from the exception.
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * The configured message key, or {@code null} when taken from the exception.
+     */
+    public String getMessageKey() {
+        return messageKey;
+    }
+
+    /**
+     * Whether error code, status and message are the same for every exception of this
+     * type: all configured on the mapping and the message takes no arguments.
+     */
+    public boolean isStatic() {
+        return errorCode != null && status != null && messageKey != null && messageArguments == null;
+    }
+
+    public String errorCode(Throwable ex) {
+        return errorCode != null ? errorCode : ((BaseException) ex).getErrorCode();
+    }
+
+    public HttpStatus status(Throwable ex) {
+        return status != null ? status : ((BaseException) ex).getHttpStatus();
+    }
+
+    public String messageKey(Throwable ex) {
+        return messageKey != null ? messageKey : ((BaseException) ex).getMessageKey();
+    }
+
+    public Object[] messageArguments(Throwable ex) {
+        if (messageArguments != null) {
+            return messageArguments.apply(ex);
+        }
+        return messageKey == null ? ((BaseException) ex).getMessageArgs() : null;
+    }
+
+    /**
+     * Whether the stack trace should be logged for this exception.
+     */
+    public boolean includeStack(Throwable ex) {
+        return includeStack && !(ex instanceof BaseException base && base.isStackless());
+    }
+
+    @Override
+    public String toString() {
+        return "ErrorMapping[" + exceptionType.getName() + " -> " + traceIdPrefix + "]";
+    }
+
+    public static class Builder {
+        private final Class<? extends Throwable> exceptionType;
+        private String errorCode;
+        private HttpStatus status;
+        private String messageKey;
+        private String defaultMessage;
+        private Function<Throwable, Object[]> messageArguments;
+        private String traceIdPrefix = "ERR";
+        private ErrorCategory category;
+        private Level logLevel;
+        private Boolean includeStack;
+
+        private Builder(Class<? extends Throwable> exceptionType) {
+            this.exceptionType = exceptionType;
+        }
+
+        public Builder errorCode(String errorCode) {
+            this.errorCode = errorCode;
+            return this;
+        }
+
+        public Builder status(HttpStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder messageKey(String messageKey) {
+            this.messageKey = messageKey;
+            return this;
+        }
+
+        /**
+         * Message used when the key is missing from the bundles.
+         */
+        public Builder defaultMessage(String defaultMessage) {
+            this.defaultMessage = defaultMessage;
+            return this;
+        }
+
+        /**
+         * Extracts the message arguments from the exception.
+         */
+        @SuppressWarnings("unchecked")
+        public <T extends Throwable> Builder messageArguments(Function<T, Object[]> messageArguments) {
+            this.messageArguments = (Function<Throwable, Object[]>) messageArguments;
+            return this;
+        }
+
+        public Builder traceIdPrefix(String traceIdPrefix) {
+            this.traceIdPrefix = traceIdPrefix;
+            return this;
+        }
+
+        /**
+         * Category used by the log policy; defaults from the exception type or status.
+         */
+        public Builder category(ErrorCategory category) {
+            this.category = category;
+            return this;
+        }
+
+        /**
+         * Log level; defaults to ERROR for technical and unexpected errors, WARN otherwise.
+         */
+        public Builder logLevel(Level logLevel) {
+            this.logLevel = logLevel;
+            return this;
+        }
+
+        /**
+         * Whether the stack trace is logged; defaults to true for technical and unexpected errors.
+         */
+        public Builder includeStack(boolean includeStack) {
+            this.includeStack = includeStack;
+            return this;
+        }
+
+        public ErrorMapping build() {
+            boolean baseException = BaseException.class.isAssignableFrom(exceptionType);
+            if (!baseException && (errorCode == null || status == null || messageKey == null)) {
+                throw new IllegalArgumentException("Mapping for " + exceptionType.getName()
+                        + " needs an error code, status and message key");
+            }
+            if (category == null) {
+                category = defaultCategory(baseException);
+            }
+            boolean severe = category == ErrorCategory.TECHNICAL || category == ErrorCategory.UNEXPECTED;
+            if (logLevel == null) {
+                logLevel = severe ? Level.ERROR : Level.WARN;
+            }
+            if (includeStack == null) {
+                includeStack = severe;
+            }
+            return new ErrorMapping(this);
+        }
+
+        private ErrorCategory defaultCategory(boolean baseException) {
+            if (baseException) {
+                for (ErrorCategory candidate : ErrorCategory.values()) {
+                    if (candidate.getExceptionType() != null && candidate.getExceptionType().isAssignableFrom(exceptionType)) {
+                        return candidate;
+                    }
+                }
+                return ErrorCategory.UNEXPECTED;
+            }
+            return status.is5xxServerError() ? ErrorCategory.UNEXPECTED : ErrorCategory.REQUEST;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.github.mahdim1000.exceptionhandling.mapping;
+
+import com.github.mahdim1000.exceptionhandling.exception.BusinessException;
+import com.github.mahdim1000.exceptionhandling.exception.ResourceNotFoundException;
+import com.github.mahdim1000.exceptionhandling.exception.TechnicalException;
+import com.github.mahdim1000.exceptionhandling.exception.ValidationException;
+import com.github.mahdim1000.exceptionhandling.reactive.ReactiveErrorMappings;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.ClassUtils;
+import org.springframework.validation.BindException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.NoHandlerFoundException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps exception types to {@link ErrorMapping}s.
+ *
+ * An exception uses the mapping of its closest mapped superclass. The result of that
+ * walk is cached per exception class, so after the first occurrence lookup is a single
+ * {@link ClassValue} read, also for subclasses that have no mapping of their own.
+ * Mappings are matched on the class hierarchy only, not on interfaces.
+ */
+public class ErrorMappingRegistry {
+
+    /**
+     * Used for exceptions without any mapping in their hierarchy.
+     */
+    public static final ErrorMapping UNEXPECTED = ErrorMapping.builder(Exception.class)
+            .errorCode("INTERNAL_SERVER_ERROR")
+            .status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .messageKey("error.general.internal")
+            .defaultMessage("An internal server error occurred")
+            .traceIdPrefix("ERR")
+            .build();
+
+    private static final boolean WEBFLUX_PRESENT = ClassUtils.isPresent(
+            "org.springframework.web.reactive.DispatcherHandler", ErrorMappingRegistry.class.getClassLoader());
+
+    private final Map<Class<? extends Throwable>, ErrorMapping> mappings;
+
+    private final ClassValue<ErrorMapping> resolved = new ClassValue<>() {
+        @Override
+        protected ErrorMapping computeValue(Class<?> type) {
+            for (Class<?> candidate = type; candidate != null; candidate = candidate.getSuperclass()) {
+                ErrorMapping mapping = mappings.get(candidate);
+                if (mapping != null) {
+                    return mapping;
+                }
+            }
+            return UNEXPECTED;
+        }
+    };
+
+    /**
+     * Create a registry from the given mappings; a later mapping for the same type replaces an earlier one.
+     */
+    public ErrorMappingRegistry(Collection<ErrorMapping> mappings) {
+        Map<Class<? extends Throwable>, ErrorMapping> byType = new LinkedHashMap<>();
+        for (ErrorMapping mapping : mappings) {
+            byType.put(mapping.getExceptionType(), mapping);
+        }
+        this.mappings = Collections.unmodifiableMap(byType);
+    }
+
+    /**
+     * Create a registry with the {@link #defaultMappings() default mappings}, overridden
+     * or extended by the given ones.
+     */
+    public static ErrorMappingRegistry withDefaults(Collection<ErrorMapping> additionalMappings) {
+        List<ErrorMapping> all = new ArrayList<>(defaultMappings());
+        all.addAll(additionalMappings);
+        return new ErrorMappingRegistry(all);
+    }
+
+    /**
+     * Find the mapping for an exception type.
+     */
+    public ErrorMapping find(Class<? extends Throwable> exceptionType) {
+        return resolved.get(exceptionType);
+    }
+
+    /**
+     * The explicitly registered mappings.
+     */
+    public Collection<ErrorMapping> getMappings() {
+        return mappings.values();
+    }
+
+    /**
+     * Mappings for the custom exception hierarchy and the Spring MVC exceptions,
+     * plus the WebFlux exceptions when WebFlux is on the classpath.
+     */
+    public static List<ErrorMapping> defaultMappings() {
+        List<ErrorMapping> mappings = new ArrayList<>(servletMappings());
+        if (WEBFLUX_PRESENT) {
+            mappings.addAll(ReactiveErrorMappings.mappings());
+        }
+        return mappings;
+    }
+
+    private static List<ErrorMapping> servletMappings() {
+        return List.of(
+                ErrorMapping.builder(BusinessException.class)
+                        .traceIdPrefix("BIZ")
+                        .includeStack(true)
+                        .build(),
+                ErrorMapping.builder(TechnicalException.class)
+                        .traceIdPrefix("TECH")
+                        .build(),
+                ErrorMapping.builder(ValidationException.class)
+                        .traceIdPrefix("VAL")
+                        .build(),
+                ErrorMapping.builder(ResourceNotFoundException.class)
+                        .traceIdPrefix("NF")
+                        .build(),
+                ErrorMapping.builder(MethodArgumentNotValidException.class)
+                        .errorCode("VALIDATION_FAILED")
+                        .status(HttpStatus.BAD_REQUEST)
+                        .messageKey("error.validation.failed")
+                        .defaultMessage("Validation failed")
+                        .traceIdPrefix("VALID")
+                        .build(),
+                ErrorMapping.builder(BindException.class)
+                        .errorCode("BINDING_FAILED")
+                        .status(HttpStatus.BAD_REQUEST)
+                        .messageKey("error.validation.binding")
+                        .defaultMessage("Binding validation failed")
+                        .traceIdPrefix("BIND")
+                        .build(),
+                ErrorMapping.builder(HttpRequestMethodNotSupportedException.class)
+                        .errorCode("METHOD_NOT_ALLOWED")
+                        .status(HttpStatus.METHOD_NOT_ALLOWED)
+                        .messageKey("http.405")
+                        .defaultMessage("Method Not Allowed")
+                        .traceIdPrefix("METHOD")
+                        .build(),
+                ErrorMapping.builder(MissingServletRequestParameterException.class)
+                        .errorCode("MISSING_PARAMETER")
+                        .status(HttpStatus.BAD_REQUEST)
+                        .messageKey("error.validation.required")
+                        .<MissingServletRequestParameterException>messageArguments(ex -> new Object[]{ex.getParameterName()})
+                        .traceIdPrefix("PARAM")
+                        .build(),
+                ErrorMapping.builder(MethodArgumentTypeMismatchException.class)
+                        .errorCode("TYPE_MISMATCH")
+                        .status(HttpStatus.BAD_REQUEST)
+                        .messageKey("error.validation.type.mismatch")
+                        .<MethodArgumentTypeMismatchException>messageArguments(ex -> new Object[]{ex.getName(),
+                                ex.getRequiredType() != null ? ex.getRequiredType().getSimpleName() : "?"})
+                        .traceIdPrefix("TYPE")
+                        .build(),
+                ErrorMapping.builder(HttpMessageNotReadableException.class)
+                        .errorCode("MALFORMED_JSON")
+                        .status(HttpStatus.BAD_REQUEST)
+                        .messageKey("error.validation.json.malformed")
+                        .defaultMessage("Malformed JSON request")
+                        .traceIdPrefix("JSON")
+                        .build(),
+                ErrorMapping.builder(NoHandlerFoundException.class)
+                        .errorCode("NOT_FOUND")
+                        .status(HttpStatus.NOT_FOUND)
+                        .messageKey("http.404")
+                        .defaultMessage("Not Found")
+                        .traceIdPrefix("404")
+                        .build(),
+                UNEXPECTED
+        );
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.mahdim1000.exceptionhandling.metrics;
+
+import com.github.mahdim1000.exceptionhandling.limit.AdaptiveConcurrencyLimiter;
+import com.github.mahdim1000.exceptionhandling.limit.ConcurrencyLimits;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+
+/**
+ * Micrometer meters of the {@link ConcurrencyLimits}, tagged with the endpoint group.
+ *
+ * Meters:
+ * - {@code exception.handling.concurrency.limit}: gauge of the current limit
+ * - {@code exception.handling.concurrency.inflight}: gauge of the requests holding a permit
+ * - {@code exception.handling.concurrency.rejected}: function counter of rejected requests
+ */
+public class ConcurrencyLimitMetrics implements MeterBinder {
+
+    private final ConcurrencyLimits limits;
+
+    public ConcurrencyLimitMetrics(ConcurrencyLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Map.Entry<String, AdaptiveConcurrencyLimiter> entry : limits.getLimiters().entrySet()) {
+            AdaptiveConcurrencyLimiter limiter = entry.getValue();
+            Gauge.builder("exception.handling.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Adaptive concurrency limit")
+                    .tag("group", entry.getKey())
+                    .register(registry);
+            Gauge.builder("exception.handling.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+                    .description("Requests holding a concurrency permit")
+                    .tag("group", entry.getKey())
+                    .register(registry);
+            FunctionCounter.builder("exception.handling.concurrency.rejected", limiter,
+                            AdaptiveConcurrencyLimiter::getRejected)
+                    .description("Requests rejected by the concurrency limit")
+                    .tag("group", entry.getKey())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.mahdim1000.exceptionhandling.metrics;
+
+/**
+ * Records metrics for handled errors.
+ * Kept free of Micrometer types so that the handler works without Micrometer on the classpath.
+ */
+public interface ErrorMetrics {
+
+    /**
+     * Metrics that record nothing, used when Micrometer is not available.
+     */
+    ErrorMetrics NOOP = new ErrorMetrics() {
+        @Override
+        public void recordError(String category, String errorCode, int status, long durationNanos) {
+        }
+
+        @Override
+        public void recordFieldErrors(int count) {
+        }
+    };
+
+    /**
+     * Record a handled error.
+     *
+     * @param category trace ID prefix of the handler, e.g. BIZ or TECH
+     * @param durationNanos time spent in the handler
+     */
+    void recordError(String category, String errorCode, int status, long durationNanos);
+
+    /**
+     * Record the number of field errors of a validation failure.
+     */
+    void recordFieldErrors(int count);
+}
@@ -0,0 +1,100 @@
+package com.github.mahdim1000.exceptionhandling.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer based {@link ErrorMetrics}.
+ *
+ * Meters:
+ * - {@code exception.handling.errors}: counter tagged with category, error.code and status
+ * - {@code exception.handling.duration}: timer of the handler tagged with category
+ * - {@code exception.handling.field.errors}: distribution summary of field errors per validation failure
+ *
+ * Only the first {@code maxErrorCodes} distinct error codes get their own tag value;
+ * later ones are counted under {@value #OTHER}, so free-form codes cannot grow the registry
+ * without bound. Meters are cached to keep registry lookups off the error path.
+ */
+public class MicrometerErrorMetrics implements ErrorMetrics {
+
+    public static final String OTHER = "other";
+
+    private final MeterRegistry registry;
+    private final int maxErrorCodes;
+    private final Set<String> errorCodes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger errorCodeCount = new AtomicInteger();
+    private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final DistributionSummary fieldErrors;
+
+    public MicrometerErrorMetrics(MeterRegistry registry, int maxErrorCodes) {
+        this.registry = registry;
+        this.maxErrorCodes = maxErrorCodes;
+        this.fieldErrors = DistributionSummary.builder("exception.handling.field.errors")
+                .description("Field errors per validation failure")
+                .register(registry);
+    }
+
+    @Override
+    public void recordError(String category, String errorCode, int status, long durationNanos) {
+        counters.computeIfAbsent(new CounterKey(category, errorCodeTag(errorCode), status), this::counter).increment();
+        timers.computeIfAbsent(category, this::timer).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordFieldErrors(int count) {
+        fieldErrors.record(count);
+    }
+
+    /**
+     * Number of distinct error codes tracked with their own tag value.
+     */
+    public int getTrackedErrorCodes() {
+        return errorCodes.size();
+    }
+
+    private String errorCodeTag(String errorCode) {
+        if (errorCode == null) {
+            return OTHER;
+        }
+        if (errorCodes.contains(errorCode)) {
+            return errorCode;
+        }
+        // reserve a slot first, so concurrent new codes cannot exceed the limit
+        if (errorCodeCount.incrementAndGet() > maxErrorCodes) {
+            errorCodeCount.decrementAndGet();
+            return OTHER;
+        }
+        if (!errorCodes.add(errorCode)) {
+            errorCodeCount.decrementAndGet();
+        }
+        return errorCode;
+    }
+
+    private Counter counter(CounterKey key) {
+        return Counter.builder("exception.handling.errors")
+                .description("Errors handled by the global exception handler")
+                .tag("category", key.category())
+                .tag("error.code", key.errorCode())
+                .tag("status", String.valueOf(key.status()))
+                .register(registry);
+    }
+
+    private Timer timer(String category) {
+        return Timer.builder("exception.handling.duration")
+                .description("Time spent resolving, logging and building error responses")
+                .tag("category", category)
+                .register(registry);
+    }
+
+    private record CounterKey(String category, String errorCode, int status) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.mahdim1000.exceptionhandling.metrics;
+
+import com.github.mahdim1000.exceptionhandling.cache.NotFoundCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Micrometer meters of a {@link NotFoundCache}.
+ *
+ * Meters:
+ * - {@code exception.handling.not.found.cache.lookups}: function counter tagged with result hit or miss
+ * - {@code exception.handling.not.found.cache.hit.ratio}: gauge of hits per lookup since startup
+ * - {@code exception.handling.not.found.cache.size}: gauge of cached resources
+ */
+public class NotFoundCacheMetrics implements MeterBinder {
+
+    private final NotFoundCache cache;
+
+    public NotFoundCacheMetrics(NotFoundCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("exception.handling.not.found.cache.lookups", cache, NotFoundCache::getHits)
+                .description("Lookups of handler methods with cached not found results")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("exception.handling.not.found.cache.lookups", cache, NotFoundCache::getMisses)
+                .description("Lookups of handler methods with cached not found results")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("exception.handling.not.found.cache.hit.ratio", cache, NotFoundCache::getHitRatio)
+                .description("Hits per lookup of the not found cache")
+                .register(registry);
+        Gauge.builder("exception.handling.not.found.cache.size", cache, NotFoundCache::size)
+                .description("Resources in the not found cache")
+                .register(registry);
+    }
+}
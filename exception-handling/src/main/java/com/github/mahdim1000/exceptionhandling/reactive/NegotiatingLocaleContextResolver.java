@@ -0,0 +1,34 @@
+package com.github.mahdim1000.exceptionhandling.reactive;
+
+import com.github.mahdim1000.exceptionhandling.context.LocaleNegotiator;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.SimpleLocaleContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.i18n.LocaleContextResolver;
+
+/**
+ * {@link LocaleContextResolver} negotiating the {@code Accept-Language} header against the
+ * supported message bundles with a {@link LocaleNegotiator}. Like Spring's
+ * {@code AcceptHeaderLocaleContextResolver}, the locale cannot be changed per exchange.
+ */
+public class NegotiatingLocaleContextResolver implements LocaleContextResolver {
+
+    private final LocaleNegotiator negotiator;
+
+    public NegotiatingLocaleContextResolver(LocaleNegotiator negotiator) {
+        this.negotiator = negotiator;
+    }
+
+    @Override
+    public LocaleContext resolveLocaleContext(ServerWebExchange exchange) {
+        return new SimpleLocaleContext(negotiator.resolve(
+                exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_LANGUAGE)));
+    }
+
+    @Override
+    public void setLocaleContext(ServerWebExchange exchange, LocaleContext localeContext) {
+        throw new UnsupportedOperationException(
+                "Cannot change the Accept-Language header based locale - use a different locale resolution strategy");
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.mahdim1000.exceptionhandling.reactive;
+
+import com.github.mahdim1000.exceptionhandling.mapping.ErrorMapping;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.resource.NoResourceFoundException;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.MissingRequestValueException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.List;
+
+/**
+ * Error mappings for the WebFlux exceptions, using the same error codes, messages and
+ * trace ID prefixes as their servlet counterparts.
+ */
+public final class ReactiveErrorMappings {
+
+    private ReactiveErrorMappings() {
+    }
+
+    public static List<ErrorMapping> mappings() {
+        return List.of(
+                ErrorMapping.builder(WebExchangeBindException.class)
+                        .errorCode("VALIDATION_FAILED")
+                        .status(HttpStatus.BAD_REQUEST)
+                        .messageKey("error.validation.failed")
+                        .defaultMessage("Validation failed")
+                        .traceIdPrefix("VALID")
+                        .build(),
+                ErrorMapping.builder(MissingRequestValueException.class)
+                        .errorCode("MISSING_PARAMETER")
+                        .status(HttpStatus.BAD_REQUEST)
+                        .messageKey("error.validation.required")
+                        .<MissingRequestValueException>messageArguments(ex -> new Object[]{ex.getName()})
+                        .traceIdPrefix("PARAM")
+                        .build(),
+                ErrorMapping.builder(DecodingException.class)
+                        .errorCode("MALFORMED_JSON")
+                        .status(HttpStatus.BAD_REQUEST)
+                        .messageKey("error.validation.json.malformed")
+                        .defaultMessage("Malformed JSON request")
+                        .traceIdPrefix("JSON")
+                        .build(),
+                ErrorMapping.builder(ServerWebInputException.class)
+                        .errorCode("INVALID_REQUEST")
+                        .status(HttpStatus.BAD_REQUEST)
+                        .messageKey("error.general.badrequest")
+                        .defaultMessage("Invalid request")
+                        .traceIdPrefix("REQ")
+                        .build(),
+                ErrorMapping.builder(MethodNotAllowedException.class)
+                        .errorCode("METHOD_NOT_ALLOWED")
+                        .status(HttpStatus.METHOD_NOT_ALLOWED)
+                        .messageKey("http.405")
+                        .defaultMessage("Method Not Allowed")
+                        .traceIdPrefix("METHOD")
+                        .build(),
+                ErrorMapping.builder(NoResourceFoundException.class)
+                        .errorCode("NOT_FOUND")
+                        .status(HttpStatus.NOT_FOUND)
+                        .messageKey("http.404")
+                        .defaultMessage("Not Found")
+                        .traceIdPrefix("404")
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.mahdim1000.exceptionhandling.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mahdim1000.exceptionhandling.codec.ErrorResponseCodec;
+import com.github.mahdim1000.exceptionhandling.codec.ErrorResponseFormat;
+import com.github.mahdim1000.exceptionhandling.context.TraceContextExtractor;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.handler.ErrorResponseFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reactive counterpart of {@code GlobalExceptionHandler} for WebFlux applications.
+ *
+ * Produces the same {@link ErrorResponse} through the shared {@link ErrorResponseFactory}.
+ * The locale comes from the exchange rather than a thread-local, and nothing here blocks:
+ * the body is serialized in memory and written as a single buffer. Error events should be
+ * published asynchronously, which is the default in reactive applications. The body is
+ * JSON unless the client prefers one of the binary formats of the {@link ErrorResponseCodec}.
+ * The trace ID of the response reuses the caller's one, extracted from the request headers
+ * by {@link TraceContextExtractor}.
+ *
+ * Runs before Spring Boot's default error handler.
+ */
+public class ReactiveGlobalExceptionHandler implements WebExceptionHandler, Ordered {
+
+    public static final int ORDER = -2;
+
+    private final ErrorResponseFactory errorResponseFactory;
+    private final ErrorResponseCodec codec;
+    private final String traceIdHeader;
+    private final boolean traceparent;
+
+    public ReactiveGlobalExceptionHandler(ErrorResponseFactory errorResponseFactory, ObjectMapper objectMapper) {
+        this(errorResponseFactory, new ErrorResponseCodec(objectMapper, List.of()));
+    }
+
+    public ReactiveGlobalExceptionHandler(ErrorResponseFactory errorResponseFactory, ErrorResponseCodec codec) {
+        this(errorResponseFactory, codec, TraceContextExtractor.DEFAULT_REQUEST_ID_HEADER, true);
+    }
+
+    /**
+     * @param traceIdHeader request header carrying the caller's trace ID
+     * @param traceparent whether the trace ID of a {@code traceparent} header takes precedence
+     */
+    public ReactiveGlobalExceptionHandler(ErrorResponseFactory errorResponseFactory, ErrorResponseCodec codec,
+                                          String traceIdHeader, boolean traceparent) {
+        this.errorResponseFactory = errorResponseFactory;
+        this.codec = codec;
+        this.traceIdHeader = traceIdHeader;
+        this.traceparent = traceparent;
+    }
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            return Mono.error(ex);
+        }
+
+        ErrorResponse errorResponse = errorResponseFactory.create(unwrap(ex),
+                exchange.getRequest().getPath().value(), locale(exchange), incomingTraceId(exchange));
+        ErrorResponseFormat format = codec.negotiate(accept(exchange));
+        byte[] body;
+        try {
+            body = codec.encode(errorResponse, format);
+        } catch (IOException e) {
+            return Mono.error(e);
+        }
+
+        response.setStatusCode(HttpStatusCode.valueOf(errorResponse.status()));
+        response.getHeaders().setContentType(format.getMediaType());
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * WebFlux reports unreadable request bodies as a generic input error; map them by
+     * the decoding failure, like malformed JSON in the servlet stack.
+     */
+    private static Throwable unwrap(Throwable ex) {
+        if (ex instanceof ServerWebInputException && ex.getCause() instanceof DecodingException decodingException) {
+            return decodingException;
+        }
+        return ex;
+    }
+
+    /**
+     * The accepted media types; none, so JSON, when the header cannot be parsed.
+     */
+    private static List<MediaType> accept(ServerWebExchange exchange) {
+        try {
+            return exchange.getRequest().getHeaders().getAccept();
+        } catch (InvalidMediaTypeException e) {
+            return List.of();
+        }
+    }
+
+    private String incomingTraceId(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        return TraceContextExtractor.extract(traceparent ? headers.getFirst(TraceContextExtractor.TRACEPARENT) : null,
+                headers.getFirst(traceIdHeader));
+    }
+
+    private static Locale locale(ServerWebExchange exchange) {
+        Locale locale = exchange.getLocaleContext().getLocale();
+        return locale != null ? locale : Locale.getDefault();
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.mahdim1000.exceptionhandling.render;
+
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes {@link ErrorResponse} bodies through an {@link ErrorResponseRenderer},
+ * straight to the response output stream.
+ *
+ * Registered ahead of the Jackson converter it wraps; responses that cannot be
+ * rendered from a template (field errors, unusual characters) and every other
+ * type are left to Jackson.
+ */
+public class ErrorResponseHttpMessageConverter implements HttpMessageConverter<ErrorResponse> {
+
+    private final ErrorResponseRenderer renderer;
+    private final HttpMessageConverter<Object> delegate;
+
+    public ErrorResponseHttpMessageConverter(ErrorResponseRenderer renderer, HttpMessageConverter<Object> delegate) {
+        this.renderer = renderer;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return ErrorResponse.class == clazz && delegate.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return delegate.getSupportedMediaTypes();
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return delegate.getSupportedMediaTypes(clazz);
+    }
+
+    @Override
+    public ErrorResponse read(Class<? extends ErrorResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ErrorResponse is write-only", inputMessage);
+    }
+
+    @Override
+    public void write(ErrorResponse errorResponse, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (renderer.canRender(errorResponse)) {
+            HttpHeaders headers = outputMessage.getHeaders();
+            if (headers.getContentType() == null) {
+                headers.setContentType(contentType == null || !contentType.isConcrete()
+                        ? MediaType.APPLICATION_JSON
+                        : contentType);
+            }
+            OutputStream body = outputMessage.getBody();
+            renderer.write(errorResponse, body);
+            body.flush();
+            return;
+        }
+        delegate.write(errorResponse, contentType, outputMessage);
+    }
+}
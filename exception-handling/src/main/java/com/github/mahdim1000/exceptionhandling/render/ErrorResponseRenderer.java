@@ -0,0 +1,252 @@
+package com.github.mahdim1000.exceptionhandling.render;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponseModule;
+import com.github.mahdim1000.exceptionhandling.dto.TimestampSerializer;
+import com.github.mahdim1000.exceptionhandling.mapping.ErrorMapping;
+import com.github.mahdim1000.exceptionhandling.util.CoarseClock;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes {@link ErrorResponse}s without field errors from pre-rendered templates.
+ *
+ * The constant part of each (errorCode, status, message) response is encoded to UTF-8
+ * once; per request only {@code path}, {@code timestamp} and {@code traceId} are escaped
+ * and spliced in. Templates exist only for the responses {@link #prepare prepared} at
+ * startup, typically the {@link ErrorMapping#isStatic() static} mappings per locale;
+ * responses with messages built from arguments are left to Jackson. Output is byte-for-byte identical to the given {@link ObjectMapper}:
+ * on creation the renderer compares itself against Jackson for a set of probe responses
+ * and disables itself on any difference, e.g. when dates are written as timestamps.
+ */
+public class ErrorResponseRenderer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ErrorResponseRenderer.class);
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private final ObjectMapper objectMapper;
+    private final TimestampSerializer.Format timestampFormat;
+    private final Map<TemplateKey, ErrorResponseTemplate> templates = new ConcurrentHashMap<>();
+    private final boolean enabled;
+
+    public ErrorResponseRenderer(ObjectMapper objectMapper) {
+        this(objectMapper, TimestampSerializer.Format.ISO);
+    }
+
+    /**
+     * @param timestampFormat format the object mapper writes timestamps in, see {@link ErrorResponseModule}
+     */
+    public ErrorResponseRenderer(ObjectMapper objectMapper, TimestampSerializer.Format timestampFormat) {
+        this.objectMapper = objectMapper;
+        this.timestampFormat = timestampFormat;
+        this.enabled = matchesJackson();
+    }
+
+    /**
+     * Whether responses are rendered from templates; {@code false} when the object mapper
+     * configuration cannot be reproduced.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Pre-render the template for a response, e.g. at startup for every supported locale.
+     */
+    public void prepare(String errorCode, int status, String message) {
+        if (enabled) {
+            templates.computeIfAbsent(new TemplateKey(errorCode, status, message), this::createTemplate);
+        }
+    }
+
+    /**
+     * Pre-render the templates of the {@link ErrorMapping#isStatic() static} mappings,
+     * with their messages resolved for the given locale as the error response factory does.
+     */
+    public void prepare(Collection<ErrorMapping> mappings, MessageResolver messageResolver, Locale locale) {
+        for (ErrorMapping mapping : mappings) {
+            if (mapping.isStatic()) {
+                String message = messageResolver.resolve(mapping.getMessageKey(), null, mapping.getDefaultMessage(),
+                        locale);
+                prepare(mapping.getErrorCode(), mapping.getStatus().value(),
+                        message != null ? message : mapping.getMessageKey());
+            }
+        }
+    }
+
+    /**
+     * Whether the response has a prepared template. Responses with field errors,
+     * missing fields or surrogate characters in variable fields are left to Jackson.
+     */
+    public boolean canRender(ErrorResponse response) {
+        return enabled
+                && response.fieldErrors() == null
+                && response.truncated() == null
+                && response.totalErrors() == null
+                && response.errorCode() != null
+                && response.message() != null
+                && response.timestamp() != null
+                && isEncodable(response.path())
+                && isEncodable(response.traceId())
+                && templates.containsKey(TemplateKey.of(response));
+    }
+
+    /**
+     * Write a response accepted by {@link #canRender(ErrorResponse)} from its template.
+     */
+    public void write(ErrorResponse response, OutputStream out) throws IOException {
+        write(templates.get(TemplateKey.of(response)), response, out);
+    }
+
+    private void write(ErrorResponseTemplate template, ErrorResponse response, OutputStream out) throws IOException {
+        template.write(out, encodeString(response.path()), encodeTimestamp(response.timestamp()),
+                encodeString(response.traceId()));
+    }
+
+    private ErrorResponseTemplate createTemplate(TemplateKey key) {
+        try {
+            byte[] timestamp = timestampFormat == TimestampSerializer.Format.EPOCH_MILLIS
+                    ? encodeTimestamp(ErrorResponseTemplate.TIMESTAMP_PLACEHOLDER)
+                    : objectMapper.writeValueAsBytes(ErrorResponseTemplate.TIMESTAMP_PLACEHOLDER);
+            return ErrorResponseTemplate.create(objectMapper, timestamp, key.errorCode(), key.status(), key.message());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Render probe responses both ways and compare the bytes.
+     */
+    private boolean matchesJackson() {
+        List<ErrorResponse> probes = List.of(
+                new ErrorResponse("NOT_FOUND", "Not Found", "/api/users/42", 404,
+                        LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_000_000), null, "404-0123456789abcdef"),
+                new ErrorResponse("CODE \"quoted\"", "یافت نشد \\  ", "/a\"b\\c\n\r\t\b\f\u0001\u001f\u007f/ü/中",
+                        500, LocalDateTime.of(2024, 1, 2, 3, 4, 0), null, "ERR-\u0000"),
+                new ErrorResponse("INTERNAL_SERVER_ERROR", "An internal server error occurred", "/", 500,
+                        LocalDateTime.of(2024, 12, 31, 23, 59, 59, 123_456_789), null, "ERR-1"),
+                new ErrorResponse("BAD_REQUEST", "Bad Request", "", 400,
+                        LocalDateTime.of(2024, 6, 1, 0, 0, 0, 1_000), null, ""));
+        try {
+            for (ErrorResponse probe : probes) {
+                ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+                byte[] expected = objectMapper.writeValueAsBytes(probe);
+                write(createTemplate(TemplateKey.of(probe)), probe, rendered);
+                if (!Arrays.equals(expected, rendered.toByteArray())) {
+                    logger.warn("Fast error rendering disabled: output differs from the configured ObjectMapper: {}",
+                            new String(expected, StandardCharsets.UTF_8));
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Fast error rendering disabled: {}", e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Encode a timestamp as {@link TimestampSerializer} writes it.
+     */
+    private byte[] encodeTimestamp(LocalDateTime timestamp) {
+        if (timestampFormat == TimestampSerializer.Format.EPOCH_MILLIS) {
+            return Long.toString(CoarseClock.toEpochMillis(timestamp)).getBytes(StandardCharsets.US_ASCII);
+        }
+        return ('"' + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp) + '"')
+                .getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static boolean isEncodable(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isSurrogate(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encode a JSON string value, without surrogates, with the escaping Jackson applies by default.
+     */
+    static byte[] encodeString(String value) {
+        int length = value.length();
+        boolean plain = true;
+        for (int i = 0; i < length && plain; i++) {
+            char c = value.charAt(i);
+            plain = c >= 0x20 && c != '"' && c != '\\' && c < 0x80;
+        }
+        if (plain) {
+            byte[] bytes = new byte[length + 2];
+            bytes[0] = '"';
+            for (int i = 0; i < length; i++) {
+                bytes[i + 1] = (byte) value.charAt(i);
+            }
+            bytes[length + 1] = '"';
+            return bytes;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length + 16);
+        out.write('"');
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                out.write(0xE0 | c >> 12);
+                out.write(0x80 | c >> 6 & 0x3F);
+                out.write(0x80 | c & 0x3F);
+            } else if (c >= 0x80) {
+                out.write(0xC0 | c >> 6);
+                out.write(0x80 | c & 0x3F);
+            } else if (c == '"' || c == '\\') {
+                out.write('\\');
+                out.write(c);
+            } else if (c >= 0x20) {
+                out.write(c);
+            } else {
+                out.write('\\');
+                switch (c) {
+                    case '\b' -> out.write('b');
+                    case '\t' -> out.write('t');
+                    case '\n' -> out.write('n');
+                    case '\f' -> out.write('f');
+                    case '\r' -> out.write('r');
+                    default -> {
+                        out.write('u');
+                        out.write('0');
+                        out.write('0');
+                        out.write(HEX[c >> 4]);
+                        out.write(HEX[c & 0xF]);
+                    }
+                }
+            }
+        }
+        out.write('"');
+        return out.toByteArray();
+    }
+
+    private record TemplateKey(String errorCode, int status, String message) {
+
+        static TemplateKey of(ErrorResponse response) {
+            return new TemplateKey(response.errorCode(), response.status(), response.message());
+        }
+    }
+}
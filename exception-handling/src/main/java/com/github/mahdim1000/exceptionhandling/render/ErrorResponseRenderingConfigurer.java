@@ -0,0 +1,33 @@
+package com.github.mahdim1000.exceptionhandling.render;
+
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers an {@link ErrorResponseHttpMessageConverter} right before the
+ * Jackson converter it falls back to.
+ */
+public class ErrorResponseRenderingConfigurer implements WebMvcConfigurer {
+
+    private final ErrorResponseRenderer renderer;
+
+    public ErrorResponseRenderingConfigurer(ErrorResponseRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (!renderer.isEnabled()) {
+            return;
+        }
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson) {
+                converters.add(i, new ErrorResponseHttpMessageConverter(renderer, jackson));
+                return;
+            }
+        }
+    }
+}
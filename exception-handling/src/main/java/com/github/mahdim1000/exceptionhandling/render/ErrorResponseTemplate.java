@@ -0,0 +1,107 @@
+package com.github.mahdim1000.exceptionhandling.render;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * UTF-8 bytes of an {@link ErrorResponse} without {@code path}, {@code timestamp}
+ * and {@code traceId}, split around the places where those fields go.
+ *
+ * Built by serializing a probe response with placeholder values through the
+ * application's {@link ObjectMapper}, so property order, naming and inclusion are
+ * exactly what Jackson produces.
+ */
+final class ErrorResponseTemplate {
+
+    static final String PATH_PLACEHOLDER = "__eh_path_placeholder__";
+    static final String TRACE_ID_PLACEHOLDER = "__eh_trace_id_placeholder__";
+    static final LocalDateTime TIMESTAMP_PLACEHOLDER = LocalDateTime.of(1999, 12, 31, 23, 59, 58, 987654321);
+
+    private final byte[][] segments;
+    private final Field[] fields;
+
+    private ErrorResponseTemplate(byte[][] segments, Field[] fields) {
+        this.segments = segments;
+        this.fields = fields;
+    }
+
+    /**
+     * Pre-render the constant part of a response with the given error code, status and message.
+     *
+     * @param timestamp encoded {@link #TIMESTAMP_PLACEHOLDER}, as the object mapper writes it
+     */
+    static ErrorResponseTemplate create(ObjectMapper objectMapper, byte[] timestamp, String errorCode, int status,
+                                        String message) throws JsonProcessingException {
+        ErrorResponse probe = new ErrorResponse(errorCode, message, PATH_PLACEHOLDER, status,
+                TIMESTAMP_PLACEHOLDER, null, TRACE_ID_PLACEHOLDER);
+        byte[] json = objectMapper.writeValueAsBytes(probe);
+
+        Marker[] markers = {
+                new Marker(Field.PATH, find(json, quoted(PATH_PLACEHOLDER)), quoted(PATH_PLACEHOLDER).length),
+                new Marker(Field.TIMESTAMP, find(json, timestamp), timestamp.length),
+                new Marker(Field.TRACE_ID, find(json, quoted(TRACE_ID_PLACEHOLDER)), quoted(TRACE_ID_PLACEHOLDER).length)
+        };
+        Arrays.sort(markers, (a, b) -> Integer.compare(a.offset, b.offset));
+
+        byte[][] segments = new byte[markers.length + 1][];
+        Field[] fields = new Field[markers.length];
+        int start = 0;
+        for (int i = 0; i < markers.length; i++) {
+            if (markers[i].offset < start) {
+                throw new IllegalStateException("Cannot locate " + markers[i].field + " in " + new String(json,
+                        StandardCharsets.UTF_8));
+            }
+            segments[i] = Arrays.copyOfRange(json, start, markers[i].offset);
+            fields[i] = markers[i].field;
+            start = markers[i].offset + markers[i].length;
+        }
+        segments[markers.length] = Arrays.copyOfRange(json, start, json.length);
+        return new ErrorResponseTemplate(segments, fields);
+    }
+
+    /**
+     * Write the response, splicing in the already encoded variable fields.
+     */
+    void write(OutputStream out, byte[] path, byte[] timestamp, byte[] traceId) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            out.write(segments[i]);
+            out.write(switch (fields[i]) {
+                case PATH -> path;
+                case TIMESTAMP -> timestamp;
+                case TRACE_ID -> traceId;
+            });
+        }
+        out.write(segments[fields.length]);
+    }
+
+    private static byte[] quoted(String value) {
+        return ('"' + value + '"').getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int find(byte[] json, byte[] value) {
+        outer:
+        for (int i = 0; i <= json.length - value.length; i++) {
+            for (int j = 0; j < value.length; j++) {
+                if (json[i + j] != value[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private enum Field {
+        PATH, TIMESTAMP, TRACE_ID
+    }
+
+    private record Marker(Field field, int offset, int length) {
+    }
+}
@@ -0,0 +1,285 @@
+package com.github.mahdim1000.exceptionhandling.storm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Detects error storms per error code and switches the code into degraded mode.
+ *
+ * Each error code has a sliding window of buckets, each a striped {@link LongAdder}, so
+ * concurrent errors of the same code do not contend on one counter. When a bucket rolls
+ * over, the thread that rolls it compares the rate over the window with the thresholds:
+ * at or above {@code threshold} errors per second the code is degraded, and below
+ * {@code recoveryThreshold} it is back to normal. A storm is therefore noticed within
+ * one bucket, and the gap between both thresholds keeps the state from flapping.
+ *
+ * While a code is degraded the handler skips stack traces, reuses the message resolved
+ * for the first error of the storm per locale and publishes only every
+ * {@code logSampleRate}-th error event. State changes are logged.
+ *
+ * At most {@code maxErrorCodes} codes are tracked; further codes are never degraded.
+ */
+public class ErrorStormDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(ErrorStormDetector.class);
+
+    private static final ErrorStormDetector DISABLED = new ErrorStormDetector(
+            new Settings(Integer.MAX_VALUE, 0, Duration.ofSeconds(1), 2, 1, 0), System::nanoTime) {
+        @Override
+        public Tracker record(String errorCode) {
+            return null;
+        }
+    };
+
+    private final Settings settings;
+    private final LongSupplier nanoClock;
+    private final long bucketNanos;
+    private final ConcurrentHashMap<String, Tracker> trackers = new ConcurrentHashMap<>();
+    private final AtomicInteger trackerCount = new AtomicInteger();
+
+    public ErrorStormDetector(Settings settings) {
+        this(settings, System::nanoTime);
+    }
+
+    ErrorStormDetector(Settings settings, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.bucketNanos = Math.max(1, settings.window().toNanos() / settings.buckets());
+    }
+
+    /**
+     * A detector that never degrades, used when storm detection is disabled.
+     */
+    public static ErrorStormDetector disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Record an occurrence of the error code.
+     *
+     * @return the tracker of the code, or {@code null} when the code is not tracked
+     */
+    public Tracker record(String errorCode) {
+        if (errorCode == null) {
+            return null;
+        }
+        Tracker tracker = tracker(errorCode);
+        if (tracker != null) {
+            tracker.record(nanoClock.getAsLong());
+        }
+        return tracker;
+    }
+
+    /**
+     * Current state of every tracked code, degraded codes and highest rates first.
+     * Codes whose storm has passed without further errors are switched back first.
+     */
+    public List<Status> snapshot() {
+        long now = nanoClock.getAsLong();
+        List<Status> statuses = new ArrayList<>(trackers.size());
+        for (Tracker tracker : trackers.values()) {
+            tracker.evaluate(now);
+            statuses.add(tracker.status(now));
+        }
+        statuses.sort(Comparator.comparing(Status::degraded).reversed()
+                .thenComparing(Comparator.comparingDouble(Status::ratePerSecond).reversed()));
+        return statuses;
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    private Tracker tracker(String errorCode) {
+        Tracker tracker = trackers.get(errorCode);
+        if (tracker != null) {
+            return tracker;
+        }
+        // reserve a slot first, so concurrent new codes cannot exceed the limit
+        if (trackerCount.incrementAndGet() > settings.maxErrorCodes()) {
+            trackerCount.decrementAndGet();
+            return null;
+        }
+        Tracker created = new Tracker(errorCode, nanoClock.getAsLong());
+        tracker = trackers.putIfAbsent(errorCode, created);
+        if (tracker != null) {
+            trackerCount.decrementAndGet();
+            return tracker;
+        }
+        return created;
+    }
+
+    /**
+     * Storm detection settings.
+     *
+     * @param threshold errors per second of one code at which it is degraded
+     * @param recoveryThreshold errors per second below which a degraded code is back to normal
+     * @param window length of the sliding window the rate is measured over
+     * @param buckets number of buckets of the window
+     * @param logSampleRate while degraded, one in this many error events is published
+     * @param maxErrorCodes maximum number of error codes tracked
+     */
+    public record Settings(int threshold, int recoveryThreshold, Duration window, int buckets, int logSampleRate,
+                           int maxErrorCodes) {
+
+        public Settings {
+            if (recoveryThreshold > threshold) {
+                throw new IllegalArgumentException("recoveryThreshold must not exceed threshold: "
+                        + recoveryThreshold + " > " + threshold);
+            }
+            if (buckets < 2 || logSampleRate < 1 || window.isNegative() || window.isZero()) {
+                throw new IllegalArgumentException("window and logSampleRate must be positive, with at least 2 buckets");
+            }
+        }
+    }
+
+    /**
+     * State of one error code.
+     *
+     * @param degradedSince start of the current storm, or {@code null} when not degraded
+     * @param storms number of storms of this code so far
+     * @param suppressedEvents error events not published in degraded mode so far
+     */
+    public record Status(String errorCode, boolean degraded, double ratePerSecond, Instant degradedSince,
+                         long storms, long suppressedEvents) {
+    }
+
+    /**
+     * Sliding window rate and degraded state of one error code.
+     */
+    public final class Tracker {
+
+        private final String errorCode;
+        private final AtomicLongArray bucketEpochs;
+        private final LongAdder[] counts;
+        private final AtomicLong evaluatedEpoch;
+        private final AtomicLong occurrences = new AtomicLong();
+        private final AtomicLong storms = new AtomicLong();
+        private final AtomicLong suppressedEvents = new AtomicLong();
+        private final Map<Locale, CachedMessage> messages = new ConcurrentHashMap<>();
+        private volatile Instant degradedSince;
+
+        private Tracker(String errorCode, long now) {
+            this.errorCode = errorCode;
+            this.bucketEpochs = new AtomicLongArray(settings.buckets());
+            this.counts = new LongAdder[settings.buckets()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+                bucketEpochs.set(i, Long.MIN_VALUE);
+            }
+            this.evaluatedEpoch = new AtomicLong(now / bucketNanos);
+        }
+
+        /**
+         * Whether the code is in degraded mode.
+         */
+        public boolean isDegraded() {
+            return degradedSince != null;
+        }
+
+        /**
+         * The message of this code for the message key and locale, resolved once per storm.
+         * Only for messages without arguments: the cached message is returned for every
+         * later error of the code with the same key.
+         */
+        public String message(String messageKey, Locale locale, Supplier<String> resolver) {
+            CachedMessage cached = messages.get(locale);
+            if (cached != null && Objects.equals(cached.messageKey(), messageKey)) {
+                return cached.message();
+            }
+            String message = resolver.get();
+            messages.put(locale, new CachedMessage(messageKey, message));
+            return message;
+        }
+
+        /**
+         * Whether the current error event is published: always when normal, and
+         * one in {@code logSampleRate} while degraded.
+         */
+        public boolean sample() {
+            if (!isDegraded() || occurrences.get() % settings.logSampleRate() == 0) {
+                return true;
+            }
+            suppressedEvents.incrementAndGet();
+            return false;
+        }
+
+        private void record(long now) {
+            long epoch = now / bucketNanos;
+            int slot = slot(epoch);
+            long bucketEpoch = bucketEpochs.get(slot);
+            if (bucketEpoch != epoch && bucketEpochs.compareAndSet(slot, bucketEpoch, epoch)) {
+                // increments racing with the reset may be lost; the rate is an estimate
+                counts[slot].reset();
+            }
+            counts[slot].increment();
+            occurrences.incrementAndGet();
+            evaluate(now);
+        }
+
+        private void evaluate(long now) {
+            long epoch = now / bucketNanos;
+            long evaluated = evaluatedEpoch.get();
+            if (epoch == evaluated || !evaluatedEpoch.compareAndSet(evaluated, epoch)) {
+                return;
+            }
+            double rate = rate(epoch);
+            if (!isDegraded() && rate >= settings.threshold()) {
+                degradedSince = Instant.now();
+                storms.incrementAndGet();
+                logger.warn("Error storm for {}: {} errors/s, switched to degraded mode", errorCode,
+                        String.format(Locale.ROOT, "%.1f", rate));
+            } else if (isDegraded() && rate < settings.recoveryThreshold()) {
+                Duration duration = Duration.between(degradedSince, Instant.now());
+                degradedSince = null;
+                messages.clear();
+                logger.info("Error storm for {} is over: {} errors/s, degraded for {}, {} events suppressed so far",
+                        errorCode, String.format(Locale.ROOT, "%.1f", rate), duration, suppressedEvents.get());
+            }
+        }
+
+        /**
+         * Errors per second over the complete buckets of the window before the given one.
+         * Once the current bucket is in use it has replaced the oldest one, which is then missing.
+         */
+        private double rate(long epoch) {
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                long bucketEpoch = bucketEpochs.get(i);
+                if (bucketEpoch < epoch && bucketEpoch >= epoch - counts.length) {
+                    total += counts[i].sum();
+                }
+            }
+            int complete = bucketEpochs.get(slot(epoch)) == epoch ? counts.length - 1 : counts.length;
+            return total / (complete * bucketNanos / 1e9);
+        }
+
+        private int slot(long epoch) {
+            return (int) Math.floorMod(epoch, (long) counts.length);
+        }
+
+        private Status status(long now) {
+            return new Status(errorCode, isDegraded(), rate(now / bucketNanos), degradedSince, storms.get(),
+                    suppressedEvents.get());
+        }
+    }
+
+    private record CachedMessage(String messageKey, String message) {
+    }
+}
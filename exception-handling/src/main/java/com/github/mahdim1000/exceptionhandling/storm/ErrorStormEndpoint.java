@@ -0,0 +1,35 @@
+package com.github.mahdim1000.exceptionhandling.storm;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/errorstorm}: the storm detection settings and the
+ * state of every tracked error code, so operators can see when and for which codes the
+ * handler switched to degraded mode.
+ */
+@Endpoint(id = "errorstorm")
+public class ErrorStormEndpoint {
+
+    private final ErrorStormDetector detector;
+
+    public ErrorStormEndpoint(ErrorStormDetector detector) {
+        this.detector = detector;
+    }
+
+    @ReadOperation
+    public Report report() {
+        List<ErrorStormDetector.Status> codes = detector.snapshot();
+        long degraded = codes.stream().filter(ErrorStormDetector.Status::degraded).count();
+        return new Report(detector != ErrorStormDetector.disabled(), detector.getSettings(), degraded, codes);
+    }
+
+    /**
+     * @param degraded number of error codes currently in degraded mode
+     */
+    public record Report(boolean enabled, ErrorStormDetector.Settings settings, long degraded,
+                         List<ErrorStormDetector.Status> codes) {
+    }
+}
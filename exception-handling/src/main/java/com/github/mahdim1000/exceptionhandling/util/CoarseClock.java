@@ -0,0 +1,73 @@
+package com.github.mahdim1000.exceptionhandling.util;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Shared millisecond clock for error timestamps.
+ *
+ * Error responses use it only with coarse timestamps enabled, see
+ * {@link com.github.mahdim1000.exceptionhandling.handler.ErrorResponseFactory.Builder#coarseTimestamps}.
+ *
+ * Every call reads {@link System#currentTimeMillis()}. The {@link LocalDateTime} of a
+ * millisecond is created by a caller that sees it first and reused by the other errors of
+ * the same millisecond, so bursts of errors skip the allocation and time zone conversion
+ * of {@code LocalDateTime.now()}. Errors more than a millisecond apart each still create
+ * one, and threads racing on a new millisecond may each create one too. Timestamps have
+ * millisecond instead of microsecond resolution.
+ *
+ * There is deliberately no background thread advancing the clock: it would wake up every
+ * millisecond on every node to serve errors that are rare between bursts.
+ */
+public final class CoarseClock {
+
+    private static volatile Tick tick = tick(System.currentTimeMillis());
+
+    private CoarseClock() {
+    }
+
+    /**
+     * The current time in the system default time zone, truncated to milliseconds.
+     */
+    public static LocalDateTime now() {
+        return current().dateTime();
+    }
+
+    /**
+     * The current time in milliseconds since the epoch, consistent with {@link #now()}.
+     */
+    public static long millis() {
+        return current().millis();
+    }
+
+    /**
+     * Milliseconds since the epoch of a date-time in the system default time zone.
+     * Free for date-times returned by {@link #now()} within the same millisecond.
+     */
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        Tick current = tick;
+        if (current.dateTime() == dateTime) {
+            return current.millis();
+        }
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static Tick current() {
+        long millis = System.currentTimeMillis();
+        Tick current = tick;
+        if (current.millis() != millis) {
+            // Racing threads may each create the tick; they are equal, so the last write wins
+            current = tick(millis);
+            tick = current;
+        }
+        return current;
+    }
+
+    private static Tick tick(long millis) {
+        return new Tick(millis, LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()));
+    }
+
+    private record Tick(long millis, LocalDateTime dateTime) {
+    }
+}
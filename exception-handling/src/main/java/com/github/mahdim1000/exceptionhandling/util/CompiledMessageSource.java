@@ -0,0 +1,82 @@
+package com.github.mahdim1000.exceptionhandling.util;
+
+import org.springframework.context.support.AbstractMessageSource;
+
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link org.springframework.context.MessageSource} backed by message bundles compiled
+ * into Java lookup tables at build time, see {@code src/build/java/MessageBundleCompiler.java}.
+ *
+ * No resource is loaded at startup: the tables are class constants and every pattern is
+ * parsed into a {@link MessageFormat} once, on construction. A locale falls back to its
+ * language and then to the default bundle, like a {@link java.util.ResourceBundle} without
+ * the system locale fallback. Codes missing from every bundle are resolved by the parent
+ * message source, if any.
+ */
+public class CompiledMessageSource extends AbstractMessageSource {
+
+    private final Map<Locale, Map<String, Message>> bundles;
+
+    /**
+     * A message source over the bundles compiled from {@code messages/messages*.properties}.
+     */
+    public CompiledMessageSource() {
+        this(CompiledMessageBundles.BUNDLES);
+    }
+
+    /**
+     * @param bundles messages per locale, with {@link Locale#ROOT} for the default bundle
+     */
+    public CompiledMessageSource(Map<Locale, Map<String, String>> bundles) {
+        Map<Locale, Map<String, Message>> compiled = new HashMap<>();
+        bundles.forEach((locale, messages) -> {
+            Map<String, Message> table = new HashMap<>(messages.size() * 2);
+            messages.forEach((code, pattern) -> table.put(code, new Message(pattern, new MessageFormat(pattern, locale))));
+            compiled.put(locale, Map.copyOf(table));
+        });
+        this.bundles = Map.copyOf(compiled);
+    }
+
+    /**
+     * Locales with a bundle, {@link Locale#ROOT} for the default one.
+     */
+    public Set<Locale> getLocales() {
+        return bundles.keySet();
+    }
+
+    @Override
+    protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        Message message = find(code, locale);
+        return message != null ? message.pattern() : null;
+    }
+
+    @Override
+    protected MessageFormat resolveCode(String code, Locale locale) {
+        Message message = find(code, locale);
+        return message != null ? message.format() : null;
+    }
+
+    private Message find(String code, Locale locale) {
+        Message message = find(code, bundles.get(locale));
+        if (message == null && (!locale.getCountry().isEmpty() || !locale.getVariant().isEmpty()
+                || !locale.getScript().isEmpty())) {
+            message = find(code, bundles.get(Locale.of(locale.getLanguage())));
+        }
+        return message != null ? message : find(code, bundles.get(Locale.ROOT));
+    }
+
+    private static Message find(String code, Map<String, Message> table) {
+        return table != null ? table.get(code) : null;
+    }
+
+    /**
+     * A message pattern and its parsed format; Spring synchronizes on the format when formatting.
+     */
+    private record Message(String pattern, MessageFormat format) {
+    }
+}
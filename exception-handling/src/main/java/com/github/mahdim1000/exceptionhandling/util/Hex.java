@@ -0,0 +1,22 @@
+package com.github.mahdim1000.exceptionhandling.util;
+
+/**
+ * Lower-case hex encoding without intermediate strings.
+ */
+final class Hex {
+
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    private Hex() {
+    }
+
+    /**
+     * Write all 16 hex digits of {@code value} into {@code buffer} at {@code offset}.
+     */
+    static void write(long value, char[] buffer, int offset) {
+        for (int i = offset + 15; i >= offset; i--) {
+            buffer[i] = DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -1,36 +1,54 @@
 package com.github.mahdim1000.exceptionhandling.util;
 
+import com.github.mahdim1000.exceptionhandling.context.RequestContextScope;
 import org.springframework.context.MessageSource;
-import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.stereotype.Component;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ObjectUtils;
 
+import java.text.MessageFormat;
 import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Utility class for resolving internationalized messages.
  * Provides a simple interface for message resolution with locale support.
+ *
+ * Messages are compiled once per (message key, locale) and kept in a bounded LRU cache:
+ * a {@link MessageFormat} for patterns that take arguments, the raw text otherwise,
+ * or a negative entry for keys missing from every bundle. Cache hits do not touch
+ * the {@link MessageSource} and missing keys never throw.
  */
-@Component
 public class MessageResolver {
-    
+
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
     private final MessageSource messageSource;
+    private final ConcurrentLruCache<CacheKey, CompiledMessage> cache;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
     public MessageResolver(MessageSource messageSource) {
+        this(messageSource, DEFAULT_CACHE_SIZE);
+    }
+
+    public MessageResolver(MessageSource messageSource, int cacheSize) {
         this.messageSource = messageSource;
+        this.cache = new ConcurrentLruCache<>(cacheSize, this::compile);
     }
 
     /**
      * Resolve message for the current locale context.
      */
     public String resolve(String messageKey) {
-        return resolve(messageKey, null, LocaleContextHolder.getLocale());
+        return resolve(messageKey, null, RequestContextScope.currentLocale());
     }
 
     /**
      * Resolve message with arguments for the current locale context.
      */
     public String resolve(String messageKey, Object[] args) {
-        return resolve(messageKey, args, LocaleContextHolder.getLocale());
+        return resolve(messageKey, args, RequestContextScope.currentLocale());
     }
 
     /**
@@ -42,31 +60,124 @@ public class MessageResolver {
 
     /**
      * Resolve message with arguments for a specific locale.
+     * Falls back to the message key itself if it cannot be resolved.
      */
     public String resolve(String messageKey, Object[] args, Locale locale) {
-        try {
-            return messageSource.getMessage(messageKey, args, locale);
-        } catch (Exception e) {
-            // Fallback to the message key itself if resolution fails
-            return messageKey;
-        }
+        String message = resolve(messageKey, args, null, locale);
+        return message != null ? message : messageKey;
     }
 
     /**
      * Resolve message with default fallback.
      */
     public String resolve(String messageKey, String defaultMessage) {
-        return resolve(messageKey, null, defaultMessage, LocaleContextHolder.getLocale());
+        return resolve(messageKey, null, defaultMessage, RequestContextScope.currentLocale());
     }
 
     public String resolve(String messageKey, Object[] args, String defaultMessage) {
-        return resolve(messageKey, args, defaultMessage, LocaleContextHolder.getLocale());
+        return resolve(messageKey, args, defaultMessage, RequestContextScope.currentLocale());
     }
 
     /**
      * Resolve message with arguments and default fallback.
      */
     public String resolve(String messageKey, Object[] args, String defaultMessage, Locale locale) {
-        return messageSource.getMessage(messageKey, args, defaultMessage, locale);
+        if (messageKey != null) {
+            lookups.increment();
+            CompiledMessage message = cache.get(new CacheKey(messageKey, locale));
+            if (message != CompiledMessage.MISSING) {
+                return message.format(resolveArguments(args, locale));
+            }
+        }
+        return formatDefault(defaultMessage, args, locale);
+    }
+
+    /**
+     * Drop all compiled messages, e.g. after the underlying bundles were reloaded.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Number of lookups answered from the cache.
+     */
+    public long getCacheHits() {
+        return lookups.sum() - misses.sum();
+    }
+
+    /**
+     * Number of lookups that had to consult the {@link MessageSource}.
+     */
+    public long getCacheMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of (message key, locale) entries currently cached, negative entries included.
+     */
+    public int getCachedMessageCount() {
+        return cache.size();
+    }
+
+    private CompiledMessage compile(CacheKey key) {
+        misses.increment();
+        // A null default makes the message source return null instead of throwing for missing keys
+        String pattern = messageSource.getMessage(key.messageKey(), null, null, key.locale());
+        if (pattern == null) {
+            return CompiledMessage.MISSING;
+        }
+        if (pattern.indexOf('{') < 0 && pattern.indexOf('\'') < 0) {
+            return new CompiledMessage(pattern, null);
+        }
+        return new CompiledMessage(pattern, new MessageFormat(pattern, key.locale()));
+    }
+
+    private String formatDefault(String defaultMessage, Object[] args, Locale locale) {
+        if (defaultMessage == null || ObjectUtils.isEmpty(args)) {
+            return defaultMessage;
+        }
+        return new MessageFormat(defaultMessage, locale).format(resolveArguments(args, locale));
+    }
+
+    /**
+     * Resolve nested {@link MessageSourceResolvable} arguments, such as the field name
+     * Bean Validation passes as first argument, the same way the message source does.
+     */
+    private Object[] resolveArguments(Object[] args, Locale locale) {
+        if (ObjectUtils.isEmpty(args)) {
+            return args;
+        }
+        Object[] resolved = args;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof MessageSourceResolvable resolvable) {
+                if (resolved == args) {
+                    resolved = args.clone();
+                }
+                resolved[i] = messageSource.getMessage(resolvable, locale);
+            }
+        }
+        return resolved;
+    }
+
+    private record CacheKey(String messageKey, Locale locale) {
+    }
+
+    /**
+     * A message pattern, pre-parsed when it contains format elements or quotes.
+     */
+    private record CompiledMessage(String pattern, MessageFormat format) {
+
+        static final CompiledMessage MISSING = new CompiledMessage(null, null);
+
+        String format(Object[] args) {
+            if (format == null || ObjectUtils.isEmpty(args)) {
+                return pattern;
+            }
+            // MessageFormat is not thread-safe; the lock is per message, never per bundle
+            synchronized (format) {
+                return format.format(args);
+            }
+        }
     }
 }
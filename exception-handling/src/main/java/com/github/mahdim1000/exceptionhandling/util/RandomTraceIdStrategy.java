@@ -0,0 +1,25 @@
+package com.github.mahdim1000.exceptionhandling.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random trace IDs of 16 hex digits drawn from {@link ThreadLocalRandom}.
+ *
+ * Each thread has its own generator, so there is nothing to contend on and no
+ * configuration is needed; the 64 random bits are encoded straight into the buffer.
+ * IDs are not guaranteed unique: among a billion IDs a collision has a chance of about
+ * 3%, which is fine for correlating errors. Use {@link TimeBasedTraceIdStrategy} where
+ * each node can be given a distinct node ID and IDs must never repeat.
+ */
+public class RandomTraceIdStrategy implements TraceIdStrategy {
+
+    @Override
+    public int length() {
+        return 16;
+    }
+
+    @Override
+    public void write(char[] buffer, int offset) {
+        Hex.write(ThreadLocalRandom.current().nextLong(), buffer, offset);
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.mahdim1000.exceptionhandling.util;
+
+/**
+ * Length limits for text echoed back to clients or written to logs.
+ */
+public final class TextTruncation {
+
+    public static final String ELLIPSIS = "...";
+
+    private TextTruncation() {
+    }
+
+    /**
+     * Cut the text to at most {@code maxLength} characters plus an ellipsis, without splitting a surrogate pair.
+     */
+    public static String truncate(CharSequence text, int maxLength) {
+        if (text.length() <= maxLength) {
+            return text.toString();
+        }
+        int end = maxLength;
+        if (end > 0 && Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.subSequence(0, end) + ELLIPSIS;
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.mahdim1000.exceptionhandling.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Trace IDs built from time, node and sequence, encoded as 16 hex digits.
+ *
+ * Layout of the 64 bits, most significant first:
+ * <pre>
+ * | 42 bits millis since 2024-01-01 | 10 bits node | 4 bits stripe | 8 bits sequence |
+ * </pre>
+ *
+ * Threads are spread over 16 independent stripes, each a padded slot holding the last
+ * issued (millis, sequence) pair, advanced with a single CAS. There is no shared lock
+ * and no {@code SecureRandom}. When a stripe issues more than 256 IDs within one
+ * millisecond it borrows from the next millisecond, so IDs stay unique and increasing.
+ *
+ * IDs are unique across nodes as long as every node uses a distinct node ID (0-1023).
+ * There is no default node ID: one derived from the host name collides between nodes
+ * long before 1024 of them. Within a JVM there is one instance per node ID, see
+ * {@link #forNode(int)}, since two instances with the same node ID would issue the
+ * same IDs.
+ */
+public class TimeBasedTraceIdStrategy implements TraceIdStrategy {
+
+    public static final int MAX_NODE_ID = 1023;
+
+    /** 2024-01-01T00:00:00Z */
+    private static final long EPOCH = 1704067200000L;
+
+    private static final int SEQUENCE_BITS = 8;
+    private static final int STRIPE_BITS = 4;
+    private static final int NODE_BITS = 10;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /** One slot per 64-byte cache line to avoid false sharing between stripes. */
+    private static final int PADDING = 8;
+
+    private static final AtomicReferenceArray<TimeBasedTraceIdStrategy> nodes =
+            new AtomicReferenceArray<>(MAX_NODE_ID + 1);
+
+    private final long node;
+    private final LongSupplier clock;
+    private final AtomicLongArray stripes = new AtomicLongArray(STRIPES * PADDING);
+
+    private TimeBasedTraceIdStrategy(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    TimeBasedTraceIdStrategy(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.node = (long) nodeId << (STRIPE_BITS + SEQUENCE_BITS);
+        this.clock = clock;
+    }
+
+    /**
+     * The strategy for the given node ID, shared by all callers in this JVM.
+     */
+    public static TimeBasedTraceIdStrategy forNode(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        TimeBasedTraceIdStrategy strategy = nodes.get(nodeId);
+        if (strategy == null) {
+            nodes.compareAndSet(nodeId, null, new TimeBasedTraceIdStrategy(nodeId));
+            strategy = nodes.get(nodeId);
+        }
+        return strategy;
+    }
+
+    @Override
+    public int length() {
+        return 16;
+    }
+
+    @Override
+    public void write(char[] buffer, int offset) {
+        Hex.write(next(), buffer, offset);
+    }
+
+    long next() {
+        long stripe = Thread.currentThread().threadId() & (STRIPES - 1);
+        int slot = (int) stripe * PADDING;
+        long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+        long last;
+        long next;
+        do {
+            last = stripes.get(slot);
+            next = Math.max(last + 1, now);
+        } while (!stripes.compareAndSet(slot, last, next));
+
+        long millis = next >>> SEQUENCE_BITS;
+        return millis << (NODE_BITS + STRIPE_BITS + SEQUENCE_BITS)
+                | node
+                | stripe << SEQUENCE_BITS
+                | next & SEQUENCE_MASK;
+    }
+}
@@ -1,23 +1,35 @@
 package com.github.mahdim1000.exceptionhandling.util;
 
-import org.springframework.stereotype.Component;
-
-import java.util.UUID;
+import org.springframework.lang.Nullable;
 
 /**
  * Utility class for generating trace IDs for error tracking.
  * Provides unique identifiers for correlating errors across logs and responses.
+ *
+ * The unique part comes from a pluggable {@link TraceIdStrategy}; the default is
+ * {@link RandomTraceIdStrategy}, as {@link TimeBasedTraceIdStrategy} needs a node ID
+ * that is distinct per node. Can be replaced with more sophisticated
+ * tracing systems like Zipkin, Jaeger, or OpenTelemetry.
  */
-@Component
 public class TraceIdGenerator {
 
+    private final TraceIdStrategy strategy;
+
+    public TraceIdGenerator() {
+        this(new RandomTraceIdStrategy());
+    }
+
+    public TraceIdGenerator(TraceIdStrategy strategy) {
+        this.strategy = strategy;
+    }
+
     /**
      * Generate a unique trace ID.
-     * Uses UUID for simplicity, but can be replaced with more sophisticated
-     * tracing systems like Zipkin, Jaeger, or OpenTelemetry.
      */
     public String generate() {
-        return UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        char[] buffer = new char[strategy.length()];
+        strategy.write(buffer, 0);
+        return new String(buffer);
     }
 
     /**
@@ -25,6 +37,27 @@ public class TraceIdGenerator {
      * Useful for categorizing different types of operations.
      */
     public String generate(String prefix) {
-        return prefix + "-" + generate();
+        int prefixLength = prefix.length();
+        char[] buffer = new char[prefixLength + 1 + strategy.length()];
+        prefix.getChars(0, prefixLength, buffer, 0);
+        buffer[prefixLength] = '-';
+        strategy.write(buffer, prefixLength + 1);
+        return new String(buffer);
+    }
+
+    /**
+     * Trace ID with a prefix for an incoming trace ID, e.g. from a {@code traceparent}
+     * header; a new one is generated only when there is none.
+     */
+    public String generate(String prefix, @Nullable String incomingTraceId) {
+        if (incomingTraceId == null) {
+            return generate(prefix);
+        }
+        int prefixLength = prefix.length();
+        char[] buffer = new char[prefixLength + 1 + incomingTraceId.length()];
+        prefix.getChars(0, prefixLength, buffer, 0);
+        buffer[prefixLength] = '-';
+        incomingTraceId.getChars(0, incomingTraceId.length(), buffer, prefixLength + 1);
+        return new String(buffer);
     }
 }
@@ -0,0 +1,20 @@
+package com.github.mahdim1000.exceptionhandling.util;
+
+/**
+ * Strategy for producing the unique part of a trace ID.
+ *
+ * IDs are written straight into a caller-provided buffer so that
+ * {@link TraceIdGenerator} can assemble prefix and ID in a single {@code char[]}.
+ */
+public interface TraceIdStrategy {
+
+    /**
+     * Number of characters written by {@link #write(char[], int)}.
+     */
+    int length();
+
+    /**
+     * Write the next ID into {@code buffer}, starting at {@code offset}.
+     */
+    void write(char[] buffer, int offset);
+}
@@ -0,0 +1,24 @@
+package com.github.mahdim1000.exceptionhandling.util;
+
+import java.util.UUID;
+
+/**
+ * Random trace IDs taken from {@link UUID#randomUUID()}.
+ *
+ * Produces the same IDs as the original implementation (the first 16 hex digits of
+ * a random UUID) but still draws from the shared {@code SecureRandom}, so it
+ * contends under load. Prefer {@link RandomTraceIdStrategy}, or {@link TimeBasedTraceIdStrategy}
+ * where each node can be given a distinct node ID.
+ */
+public class UuidTraceIdStrategy implements TraceIdStrategy {
+
+    @Override
+    public int length() {
+        return 16;
+    }
+
+    @Override
+    public void write(char[] buffer, int offset) {
+        Hex.write(UUID.randomUUID().getMostSignificantBits(), buffer, offset);
+    }
+}
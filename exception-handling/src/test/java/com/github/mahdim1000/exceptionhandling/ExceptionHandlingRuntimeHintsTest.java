@@ -0,0 +1,47 @@
+package com.github.mahdim1000.exceptionhandling;
+
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.dto.FieldError;
+import com.github.mahdim1000.exceptionhandling.dto.TimestampSerializer;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCatalog;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCategory;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorSpec;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExceptionHandlingRuntimeHintsTest {
+
+    @Test
+    void registersBundlesAndResponseBinding() {
+        RuntimeHints hints = new RuntimeHints();
+        new ExceptionHandlingRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.resource().forResource("messages/messages.properties")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("messages/messages_fa.properties")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ErrorResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(FieldError.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(TimestampSerializer.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+    }
+
+    @Test
+    void registersCatalogFields() {
+        RuntimeHints hints = new RuntimeHints();
+        ExceptionHandlingRuntimeHints.registerCatalog(hints, SampleErrors.class);
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(SampleErrors.class)
+                .withMemberCategory(MemberCategory.PUBLIC_FIELDS)).accepts(hints);
+    }
+
+    enum SampleErrors implements ErrorCatalog {
+
+        @ErrorSpec(messageKey = "error.general.internal", status = HttpStatus.INTERNAL_SERVER_ERROR,
+                category = ErrorCategory.UNEXPECTED)
+        FAILED
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.mahdim1000.exceptionhandling.aggregation;
+
+import com.github.mahdim1000.exceptionhandling.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorAggregatorTest {
+
+    private static final String PACKAGE = ErrorAggregatorTest.class.getPackageName() + ".";
+
+    private final AtomicLong millis = new AtomicLong(1_700_000_000_000L);
+
+    @Test
+    void fingerprintsByTypeErrorCodeAndApplicationFrames() {
+        ErrorAggregator aggregator = aggregator(100);
+
+        for (int i = 0; i < 3; i++) {
+            aggregator.record(siteA(), "DB_DOWN", "T-" + i);
+            aggregator.record(siteB(), "DB_DOWN", "T-b");
+            aggregator.record(siteA(), "CACHE_DOWN", "T-c");
+        }
+        aggregator.record(new IllegalStateException(), "DB_DOWN", "T-x");
+
+        List<ErrorAggregator.Summary> top = aggregator.top(Duration.ofMinutes(5), 10);
+        assertThat(top).hasSize(4);
+        assertThat(top).extracting(ErrorAggregator.Summary::count).containsExactly(3L, 3L, 3L, 1L);
+        assertThat(top).filteredOn(summary -> summary.errorCode().equals("DB_DOWN")
+                        && summary.exception().equals(RuntimeException.class.getName())
+                        && summary.frames().getFirst().contains("siteA"))
+                .singleElement()
+                .satisfies(summary -> assertThat(summary.sampleTraceId()).startsWith("T-"));
+    }
+
+    @Test
+    void fingerprintsBaseExceptionsByThrowSite() {
+        ErrorAggregator aggregator = aggregator(100);
+        BusinessException first = siteC();
+
+        aggregator.record(first, "ORDER_REJECTED", "T-1");
+        aggregator.record(siteC(), "ORDER_REJECTED", "T-2");
+        aggregator.record(new BusinessException("ORDER_REJECTED", "error.business.rule"), "ORDER_REJECTED", "T-3");
+
+        List<ErrorAggregator.Summary> top = aggregator.top(Duration.ofMinutes(5), 10);
+        assertThat(top).extracting(ErrorAggregator.Summary::count).containsExactly(2L, 1L);
+        assertThat(top.getFirst().frames()).containsExactly(first.getThrowSite().toString());
+    }
+
+    @Test
+    void countsPerTimeBucket() {
+        ErrorAggregator aggregator = aggregator(100);
+
+        recordDatabaseDown(aggregator, "T-1");
+        millis.addAndGet(Duration.ofMinutes(10).toMillis());
+        recordDatabaseDown(aggregator, "T-2");
+        recordDatabaseDown(aggregator, "T-3");
+
+        ErrorAggregator.Summary summary = aggregator.top(Duration.ofMinutes(5), 10).getFirst();
+        assertThat(summary.count()).isEqualTo(2);
+        assertThat(summary.total()).isEqualTo(3);
+        assertThat(Duration.between(summary.firstSeen(), summary.lastSeen())).isEqualTo(Duration.ofMinutes(10));
+        assertThat(aggregator.top(Duration.ofMinutes(30), 10).getFirst().count()).isEqualTo(3);
+    }
+
+    @Test
+    void evictsLeastFrequentFingerprintsOnceFull() {
+        ErrorAggregator aggregator = aggregator(10);
+        for (int i = 0; i < 5; i++) {
+            aggregator.record(siteA(), "FREQUENT", "T-1");
+        }
+
+        for (int i = 0; i < 100; i++) {
+            aggregator.record(siteA(), "RARE_" + i, "T-2");
+        }
+
+        assertThat(aggregator.size()).isLessThanOrEqualTo(10);
+        assertThat(aggregator.top(Duration.ofMinutes(5), 1).getFirst().errorCode()).isEqualTo("FREQUENT");
+        assertThat(aggregator.top(Duration.ofMinutes(5), 20)).extracting(ErrorAggregator.Summary::errorCode)
+                .contains("RARE_99");
+    }
+
+    private ErrorAggregator aggregator(int maxFingerprints) {
+        return new ErrorAggregator(new ErrorAggregator.Settings(maxFingerprints, 2, Duration.ofMinutes(1), 60,
+                List.of(PACKAGE)), millis::get);
+    }
+
+    /**
+     * Records from a single call site, the fingerprint includes the line numbers of the caller.
+     */
+    private static void recordDatabaseDown(ErrorAggregator aggregator, String traceId) {
+        aggregator.record(siteA(), "DB_DOWN", traceId);
+    }
+
+    private static RuntimeException siteA() {
+        return new RuntimeException("a");
+    }
+
+    private static RuntimeException siteB() {
+        return new RuntimeException("b");
+    }
+
+    private static BusinessException siteC() {
+        return new BusinessException("ORDER_REJECTED", "error.business.rule");
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.mahdim1000.exceptionhandling.cache;
+
+import com.github.mahdim1000.exceptionhandling.exception.ResourceNotFoundException;
+import com.github.mahdim1000.exceptionhandling.handler.ErrorResponseFactory;
+import com.github.mahdim1000.exceptionhandling.handler.GlobalExceptionHandler;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class NotFoundCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final NotFoundCache cache = new NotFoundCache(Duration.ofSeconds(30), 2, now::get);
+    private final ResourceNotFoundException notFound = new ResourceNotFoundException("USER_NOT_FOUND",
+            "error.business.user.notfound", new Object[]{42});
+
+    @Test
+    void expiresEntries() {
+        cache.put("user", "42", notFound);
+
+        assertThat(cache.lookup("user", "42")).isSameAs(notFound);
+        assertThat(cache.lookup("order", "42")).isNull();
+        now.addAndGet(30_000);
+        assertThat(cache.lookup("user", "42")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.getHitRatio()).isEqualTo(1 / 3.0);
+    }
+
+    @Test
+    void staysWithinMaximumSize() {
+        assertThat(cache.put("user", "1", notFound)).isTrue();
+        now.addAndGet(10_000);
+        assertThat(cache.put("user", "2", notFound)).isTrue();
+        assertThat(cache.put("user", "3", notFound)).isFalse();
+
+        now.addAndGet(20_000);
+        assertThat(cache.put("user", "3", notFound)).isTrue();
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.lookup("user", "1")).isNull();
+        assertThat(cache.lookup("user", "3")).isSameAs(notFound);
+    }
+
+    @Test
+    void invalidatesEntries() {
+        cache.put("user", "42", notFound);
+        cache.put("order", "7", notFound);
+
+        cache.invalidate("user", 42L);
+        assertThat(cache.lookup("user", "42")).isNull();
+        cache.invalidateAll("order");
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void answersRepeatedMissesBeforeTheController() throws Exception {
+        NotFoundCache cache = new NotFoundCache(Duration.ofSeconds(30), 16, now::get);
+        UserController controller = new UserController();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler(errorResponseFactory()))
+                .addInterceptors(new NotFoundCacheInterceptor(cache))
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/users/42"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.errorCode").value("USER_NOT_FOUND"))
+                    .andExpect(jsonPath("$.path").value("/users/42"));
+        }
+        assertThat(controller.lookups).hasValue(1);
+
+        mockMvc.perform(get("/users/7")).andExpect(status().isNotFound());
+        assertThat(controller.lookups).hasValue(2);
+
+        cache.invalidate("user", 42);
+        mockMvc.perform(get("/users/42")).andExpect(status().isNotFound());
+        assertThat(controller.lookups).hasValue(3);
+
+        mockMvc.perform(get("/orders").param("id", "9")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/orders").param("id", "9")).andExpect(status().isNotFound());
+        assertThat(controller.lookups).hasValue(4);
+
+        mockMvc.perform(get("/products/1")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/products/1")).andExpect(status().isNotFound());
+        assertThat(controller.lookups).hasValue(6);
+    }
+
+    @Test
+    void throwsAStacklessCopyOfTheCachedExceptionForEachHit() throws Exception {
+        UserController controller = new UserController();
+        NotFoundCacheInterceptor interceptor = new NotFoundCacheInterceptor(cache);
+        HandlerMethod handler = new HandlerMethod(controller,
+                UserController.class.getDeclaredMethod("user", String.class));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/42");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "42"));
+        cache.put("user", "42", notFound);
+
+        Throwable first = catchThrowable(() -> interceptor.preHandle(request, new MockHttpServletResponse(), handler));
+        Throwable second = catchThrowable(() -> interceptor.preHandle(request, new MockHttpServletResponse(), handler));
+
+        assertThat(first).isInstanceOf(ResourceNotFoundException.class).isNotSameAs(notFound).isNotSameAs(second);
+        assertThat(first.getStackTrace()).isEmpty();
+        ResourceNotFoundException copy = (ResourceNotFoundException) first;
+        assertThat(copy.getErrorCode()).isEqualTo(notFound.getErrorCode());
+        assertThat(copy.getMessageKey()).isEqualTo(notFound.getMessageKey());
+        assertThat(copy.getMessageArgs()).isEqualTo(notFound.getMessageArgs());
+        assertThat(copy.isStackless()).isTrue();
+    }
+
+    private static ErrorResponseFactory errorResponseFactory() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        return new ErrorResponseFactory(new MessageResolver(messageSource), new TraceIdGenerator());
+    }
+
+    @RestController
+    static class UserController {
+
+        final AtomicInteger lookups = new AtomicInteger();
+
+        @GetMapping("/users/{id}")
+        @NotFoundCacheable(resource = "user")
+        String user(@PathVariable("id") String id) {
+            lookups.incrementAndGet();
+            throw new ResourceNotFoundException("USER_NOT_FOUND", "error.business.user.notfound", new Object[]{id});
+        }
+
+        @GetMapping("/orders")
+        @NotFoundCacheable(resource = "order", key = "id")
+        String order(@RequestParam("id") String id) {
+            lookups.incrementAndGet();
+            throw new ResourceNotFoundException("ORDER_NOT_FOUND", "error.business.user.notfound", new Object[]{id});
+        }
+
+        @GetMapping("/products/{id}")
+        String product(@PathVariable("id") String id) {
+            lookups.incrementAndGet();
+            throw new ResourceNotFoundException("PRODUCT_NOT_FOUND", "error.business.user.notfound", new Object[]{id});
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.mahdim1000.exceptionhandling.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponseModule;
+import com.github.mahdim1000.exceptionhandling.dto.FieldError;
+import com.github.mahdim1000.exceptionhandling.dto.RejectedValueSerializer;
+import com.github.mahdim1000.exceptionhandling.dto.TimestampSerializer;
+import com.github.mahdim1000.exceptionhandling.exception.ResourceNotFoundException;
+import com.github.mahdim1000.exceptionhandling.handler.ErrorResponseFactory;
+import com.github.mahdim1000.exceptionhandling.handler.GlobalExceptionHandler;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class ErrorResponseCodecTest {
+
+    private static final MediaType SMILE = ErrorResponseFormat.SMILE.getMediaType();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ErrorResponseCodec codec = ErrorResponseCodec.allAvailable(objectMapper);
+
+    private final ErrorResponse validation = new ErrorResponse("VALIDATION_FAILED", "Validation failed",
+            "/api/users", 400, LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_000_000),
+            List.of(new FieldError("email", "not-an-email", "Invalid format"),
+                    new FieldError("tags", List.of("a", 1, Map.of("k", true)), "Too many tags")),
+            true, 7, "VAL-0123456789abcdef");
+
+    @ParameterizedTest
+    @EnumSource(ErrorResponseFormat.class)
+    void roundTripsEveryFormat(ErrorResponseFormat format) throws Exception {
+        assertThat(codec.decode(codec.encode(validation, format), format)).isEqualTo(validation);
+
+        ErrorResponseCodec epochMillis = ErrorResponseCodec.allAvailable(objectMapper.copy()
+                .registerModule(new ErrorResponseModule(TimestampSerializer.Format.EPOCH_MILLIS,
+                        RejectedValueSerializer.Limits.DEFAULT)));
+        assertThat(epochMillis.decode(epochMillis.encode(validation, format), format)).isEqualTo(validation);
+    }
+
+    @Test
+    void binaryFormatsAreSmallerThanJson() throws Exception {
+        int json = codec.encode(validation, ErrorResponseFormat.JSON).length;
+
+        assertThat(codec.encode(validation, ErrorResponseFormat.CBOR)).hasSizeLessThan(json);
+        assertThat(codec.encode(validation, ErrorResponseFormat.SMILE)).hasSizeLessThan(json);
+    }
+
+    @Test
+    void negotiatesJsonUnlessBinaryIsPreferred() {
+        assertThat(codec.negotiate(List.of())).isEqualTo(ErrorResponseFormat.JSON);
+        assertThat(codec.negotiate(MediaType.parseMediaTypes("*/*"))).isEqualTo(ErrorResponseFormat.JSON);
+        assertThat(codec.negotiate(MediaType.parseMediaTypes("text/html"))).isEqualTo(ErrorResponseFormat.JSON);
+        assertThat(codec.negotiate(MediaType.parseMediaTypes("application/cbor"))).isEqualTo(ErrorResponseFormat.CBOR);
+        assertThat(codec.negotiate(MediaType.parseMediaTypes("application/json;q=0.5, application/x-jackson-smile")))
+                .isEqualTo(ErrorResponseFormat.SMILE);
+        assertThat(codec.negotiate(MediaType.parseMediaTypes("application/cbor;q=0.5, application/*")))
+                .isEqualTo(ErrorResponseFormat.JSON);
+    }
+
+    @Test
+    void leavesOutFormatsNotRequested() {
+        ErrorResponseCodec jsonOnly = new ErrorResponseCodec(objectMapper, List.of());
+
+        assertThat(jsonOnly.supportsBinary()).isFalse();
+        assertThat(jsonOnly.negotiate(MediaType.parseMediaTypes("application/cbor"))).isEqualTo(ErrorResponseFormat.JSON);
+        assertThat(jsonOnly.format(MediaType.APPLICATION_CBOR)).isNull();
+        assertThatThrownBy(() -> jsonOnly.encode(validation, ErrorResponseFormat.CBOR))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void servletHandlerWritesTheAcceptedFormat() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new FailingController())
+                .setControllerAdvice(new GlobalExceptionHandler(errorResponseFactory()))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper),
+                        new BinaryErrorResponseHttpMessageConverter(codec))
+                .build();
+        ErrorResponseDecoder decoder = new ErrorResponseDecoder(codec);
+
+        MockHttpServletResponse json = mockMvc.perform(get("/fail")).andReturn().getResponse();
+        MockHttpServletResponse binary = mockMvc.perform(get("/fail")
+                .header(HttpHeaders.ACCEPT, decoder.getAcceptHeader())).andReturn().getResponse();
+        MockHttpServletResponse smile = mockMvc.perform(get("/fail").accept(SMILE)).andReturn().getResponse();
+
+        assertThat(MediaType.parseMediaType(json.getContentType()).isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(binary.getContentType()).isEqualTo(MediaType.APPLICATION_CBOR_VALUE);
+        assertThat(smile.getContentType()).isEqualTo(SMILE.toString());
+
+        ErrorResponse fromJson = decoder.decode(json.getContentAsByteArray(), MediaType.parseMediaType(json.getContentType()));
+        ErrorResponse fromCbor = decoder.decode(binary.getContentAsByteArray(), MediaType.APPLICATION_CBOR);
+        ErrorResponse fromSmile = decoder.decode(smile.getContentAsByteArray(), SMILE);
+        assertThat(fromCbor.status()).isEqualTo(404);
+        assertThat(fromCbor.message()).isEqualTo(fromJson.message()).isEqualTo(fromSmile.message());
+        assertThat(fromCbor.errorCode()).isEqualTo("ITEM_NOT_FOUND");
+    }
+
+    @Test
+    void decoderPrefersBinaryAndRejectsUnknownContentTypes() {
+        ErrorResponseDecoder decoder = new ErrorResponseDecoder(objectMapper);
+
+        assertThat(decoder.getAcceptHeader())
+                .isEqualTo("application/cbor, application/x-jackson-smile, application/json;q=0.5");
+        assertThatThrownBy(() -> decoder.decode(new byte[0], MediaType.TEXT_HTML))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ErrorResponseFactory errorResponseFactory() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        return new ErrorResponseFactory(new MessageResolver(messageSource), new TraceIdGenerator());
+    }
+
+    @RestController
+    static class FailingController {
+
+        @GetMapping("/fail")
+        String fail() {
+            throw new ResourceNotFoundException("ITEM_NOT_FOUND", "error.business.user.notfound", new Object[]{42});
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.mahdim1000.exceptionhandling.context;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocaleNegotiatorTest {
+
+    private static final Locale FA = Locale.of("fa");
+
+    private final LocaleNegotiator negotiator = new LocaleNegotiator(Locale.ENGLISH, List.of(FA), 16);
+
+    @Test
+    void picksTheBestSupportedLocale() {
+        assertThat(negotiator.resolve("fa-IR,fa;q=0.9,en;q=0.8")).isEqualTo(FA);
+        assertThat(negotiator.resolve("de-DE,de;q=0.9,fa;q=0.5")).isEqualTo(FA);
+        assertThat(negotiator.resolve("en-US")).isEqualTo(Locale.ENGLISH);
+    }
+
+    @Test
+    void fallsBackToTheDefaultLocale() {
+        assertThat(negotiator.resolve(null)).isEqualTo(Locale.ENGLISH);
+        assertThat(negotiator.resolve(" ")).isEqualTo(Locale.ENGLISH);
+        assertThat(negotiator.resolve("de-DE")).isEqualTo(Locale.ENGLISH);
+        assertThat(negotiator.resolve("fa;q=nonsense")).isEqualTo(Locale.ENGLISH);
+    }
+
+    @Test
+    void cachesRepeatedHeadersOnly() {
+        negotiator.resolve("fa-IR,fa;q=0.9");
+        negotiator.resolve("fa-IR,fa;q=0.9");
+        assertThat(negotiator.getCacheSize()).isEqualTo(1);
+
+        String longHeader = "fa," + "de;q=0.1,".repeat(LocaleNegotiator.MAX_CACHED_HEADER_LENGTH / 8) + "en;q=0.1";
+        assertThat(negotiator.resolve(longHeader)).isEqualTo(FA);
+        assertThat(negotiator.getCacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    void detectsTheBundleLocales() {
+        assertThat(LocaleNegotiator.bundleLocales(new PathMatchingResourcePatternResolver(), List.of("messages/messages")))
+                .containsExactly(FA);
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.mahdim1000.exceptionhandling.context;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+class RequestContextScopeTest {
+
+    static Stream<RequestContextScope.Storage> storages() {
+        return RequestContextScope.isScopedValueAvailable()
+                ? Stream.of(RequestContextScope.Storage.THREAD_LOCAL, RequestContextScope.Storage.SCOPED_VALUE)
+                : Stream.of(RequestContextScope.Storage.THREAD_LOCAL);
+    }
+
+    @ParameterizedTest
+    @MethodSource("storages")
+    void bindsContextForTheScopeOnly(RequestContextScope.Storage storage) throws Exception {
+        RequestContextScope scope = new RequestContextScope(storage);
+        RequestContext outer = new RequestContext(Locale.of("fa"), "REQ-1", "acme");
+        RequestContext inner = new RequestContext(Locale.GERMAN, "REQ-2", "globex");
+        AtomicReference<RequestContext> seenInner = new AtomicReference<>();
+        AtomicReference<RequestContext> seenAfterInner = new AtomicReference<>();
+
+        scope.run(outer, () -> {
+            scope.run(inner, () -> seenInner.set(RequestContextScope.current()));
+            seenAfterInner.set(RequestContextScope.current());
+        });
+
+        assertThat(seenInner.get()).isEqualTo(inner);
+        assertThat(seenAfterInner.get()).isEqualTo(outer);
+        assertThat(RequestContextScope.current()).isNull();
+    }
+
+    @ParameterizedTest
+    @MethodSource("storages")
+    void propagatesExceptionsAndUnbinds(RequestContextScope.Storage storage) {
+        RequestContextScope scope = new RequestContextScope(storage);
+        RequestContext context = new RequestContext(Locale.ENGLISH, "REQ-1", null);
+
+        assertThatThrownBy(() -> scope.run(context, () -> {
+            throw new IOException("broken pipe");
+        })).isInstanceOf(IOException.class).hasMessage("broken pipe");
+        assertThatThrownBy(() -> scope.run(context, () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("failed");
+        assertThat(RequestContextScope.current()).isNull();
+    }
+
+    @ParameterizedTest
+    @MethodSource("storages")
+    void fallsBackToLocaleContextHolderOutsideAScope(RequestContextScope.Storage storage) throws Exception {
+        RequestContextScope scope = new RequestContextScope(storage);
+        LocaleContextHolder.setLocale(Locale.FRENCH);
+        try {
+            assertThat(RequestContextScope.currentLocale()).isEqualTo(Locale.FRENCH);
+            AtomicReference<Locale> seen = new AtomicReference<>();
+            scope.run(new RequestContext(Locale.of("fa"), null, null),
+                    () -> seen.set(RequestContextScope.currentLocale()));
+            assertThat(seen.get()).isEqualTo(Locale.of("fa"));
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+    }
+
+    @Test
+    void scopedValueIsOnlyUsedWhereSupported() {
+        assumeFalse(RequestContextScope.isScopedValueAvailable());
+
+        assertThat(new RequestContextScope(RequestContextScope.Storage.THREAD_LOCAL).isScopedValueBacked()).isFalse();
+        assertThatIllegalStateException()
+                .isThrownBy(() -> new RequestContextScope(RequestContextScope.Storage.SCOPED_VALUE))
+                .withMessageContaining("Java 25");
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.mahdim1000.exceptionhandling.context;
+
+import com.github.mahdim1000.exceptionhandling.codec.ErrorResponseCodec;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.event.ErrorEvent;
+import com.github.mahdim1000.exceptionhandling.exception.TechnicalException;
+import com.github.mahdim1000.exceptionhandling.handler.ErrorResponseFactory;
+import com.github.mahdim1000.exceptionhandling.handler.GlobalExceptionHandler;
+import com.github.mahdim1000.exceptionhandling.reactive.ReactiveGlobalExceptionHandler;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.MDC;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceContextExtractorTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String TRACEPARENT = "00-" + TRACE_ID + "-00f067aa0ba902b7-01";
+
+    @Test
+    void extractsTraceIdOfTraceparent() {
+        assertThat(TraceContextExtractor.traceId(TRACEPARENT)).isEqualTo(TRACE_ID);
+        assertThat(TraceContextExtractor.traceId("cc-" + TRACE_ID + "-00f067aa0ba902b7-00-future")).isEqualTo(TRACE_ID);
+        assertThat(TraceContextExtractor.extract(TRACEPARENT, "REQ-1")).isEqualTo(TRACE_ID);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-extra",
+            "ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01",
+            "00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01",
+            "00-00000000000000000000000000000000-00f067aa0ba902b7-01",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01",
+            "00_4bf92f3577b34da6a3ce929d0e0e4736_00f067aa0ba902b7_01",
+            "00-4bf92f3577b34da6a3ce929d0e0e473g-00f067aa0ba902b7-01",
+            "01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01x"
+    })
+    void rejectsMalformedTraceparent(String traceparent) {
+        assertThat(TraceContextExtractor.traceId(traceparent)).isNull();
+        assertThat(TraceContextExtractor.extract(traceparent, "REQ-1")).isEqualTo("REQ-1");
+    }
+
+    @Test
+    void acceptsSafeRequestIdsOnly() {
+        assertThat(TraceContextExtractor.requestId("a1b2-c3d4_e5.f6:7")).isEqualTo("a1b2-c3d4_e5.f6:7");
+        assertThat(TraceContextExtractor.requestId("REQ-1\nFORGED log line")).isNull();
+        assertThat(TraceContextExtractor.requestId("x".repeat(TraceContextExtractor.MAX_REQUEST_ID_LENGTH + 1))).isNull();
+        assertThat(TraceContextExtractor.requestId("")).isNull();
+        assertThat(TraceContextExtractor.extract(null, null)).isNull();
+    }
+
+    @Test
+    void filterReusesIncomingTraceIdInMdcAndErrors() throws Exception {
+        ErrorResponseFactory factory = errorResponseFactory();
+        RequestContextScopeFilter filter = new RequestContextScopeFilter(null, "X-Request-Id", "X-Tenant-Id");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader(TraceContextExtractor.TRACEPARENT, TRACEPARENT);
+        request.addHeader("X-Request-Id", "REQ-1");
+        AtomicReference<String> mdcTraceId = new AtomicReference<>();
+        AtomicReference<ErrorResponse> errorResponse = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            mdcTraceId.set(MDC.get(RequestContextScopeFilter.DEFAULT_MDC_KEY));
+            errorResponse.set(factory.create(new TechnicalException("DATABASE_CONNECTION_FAILED",
+                    "error.technical.database.connection"), "/api/orders", Locale.ENGLISH));
+        });
+
+        assertThat(mdcTraceId).hasValue(TRACE_ID);
+        assertThat(errorResponse.get().traceId()).isEqualTo("TECH-" + TRACE_ID);
+        assertThat(MDC.get(RequestContextScopeFilter.DEFAULT_MDC_KEY)).isNull();
+    }
+
+    @Test
+    void generatesTraceIdWithoutIncomingOne() throws Exception {
+        ErrorResponseFactory factory = errorResponseFactory();
+        RequestContextScopeFilter filter = new RequestContextScopeFilter(null, "X-Request-Id", "X-Tenant-Id");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader(TraceContextExtractor.TRACEPARENT, "00-garbage");
+        AtomicReference<String> mdcTraceId = new AtomicReference<>("unset");
+        AtomicReference<ErrorResponse> errorResponse = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            mdcTraceId.set(MDC.get(RequestContextScopeFilter.DEFAULT_MDC_KEY));
+            errorResponse.set(factory.create(new TechnicalException("DATABASE_CONNECTION_FAILED",
+                    "error.technical.database.connection"), "/api/orders", Locale.ENGLISH));
+        });
+
+        assertThat(mdcTraceId.get()).isNull();
+        assertThat(errorResponse.get().traceId()).startsWith("TECH-").doesNotContain("garbage");
+    }
+
+    @Test
+    void servletHandlerReusesIncomingTraceIdWithoutTheFilter() {
+        List<ErrorEvent> events = new ArrayList<>();
+        GlobalExceptionHandler handler = new GlobalExceptionHandler(errorResponseFactory(events),
+                "X-Correlation-Id", true);
+        MockHttpServletRequest withTraceparent = new MockHttpServletRequest("GET", "/api/orders");
+        withTraceparent.addHeader(TraceContextExtractor.TRACEPARENT, TRACEPARENT);
+        withTraceparent.addHeader("X-Correlation-Id", "REQ-1");
+        MockHttpServletRequest withRequestId = new MockHttpServletRequest("GET", "/api/orders");
+        withRequestId.addHeader("X-Correlation-Id", "REQ-2");
+
+        ErrorResponse first = handler.handleException(databaseDown(), withTraceparent).getBody();
+        ErrorResponse second = handler.handleException(databaseDown(), withRequestId).getBody();
+
+        assertThat(first.traceId()).isEqualTo("TECH-" + TRACE_ID);
+        assertThat(second.traceId()).isEqualTo("TECH-REQ-2");
+        assertThat(events).extracting(ErrorEvent::incomingTraceId).containsExactly(TRACE_ID, "REQ-2");
+    }
+
+    @Test
+    void reactiveHandlerReusesIncomingTraceId() {
+        List<ErrorEvent> events = new ArrayList<>();
+        ReactiveGlobalExceptionHandler handler = new ReactiveGlobalExceptionHandler(errorResponseFactory(events),
+                new ErrorResponseCodec(Jackson2ObjectMapperBuilder.json().build(), List.of()), "X-Request-Id", false);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/orders")
+                .header(TraceContextExtractor.TRACEPARENT, TRACEPARENT)
+                .header("X-Request-Id", "REQ-1"));
+
+        handler.handle(exchange, databaseDown()).block();
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.incomingTraceId()).isEqualTo("REQ-1");
+            assertThat(event.traceId()).isEqualTo("TECH-REQ-1");
+        });
+    }
+
+    private static TechnicalException databaseDown() {
+        return new TechnicalException("DATABASE_CONNECTION_FAILED", "error.technical.database.connection");
+    }
+
+    private static ErrorResponseFactory errorResponseFactory() {
+        return new ErrorResponseFactory(new MessageResolver(messageSource()), new TraceIdGenerator());
+    }
+
+    private static ErrorResponseFactory errorResponseFactory(List<ErrorEvent> events) {
+        return ErrorResponseFactory.builder(new MessageResolver(messageSource()), new TraceIdGenerator())
+                .errorEvents(events::add)
+                .build();
+    }
+
+    private static ResourceBundleMessageSource messageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        return messageSource;
+    }
+}
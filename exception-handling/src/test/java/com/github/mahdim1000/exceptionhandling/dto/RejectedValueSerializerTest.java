@@ -0,0 +1,85 @@
+package com.github.mahdim1000.exceptionhandling.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RejectedValueSerializerTest {
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void truncatesLongStrings() throws Exception {
+        limits(new RejectedValueSerializer.Limits(8, 3, 2));
+
+        assertThat(rejectedValue("x".repeat(5_000_000)).asText()).isEqualTo("xxxxxxxx...");
+        assertThat(rejectedValue("short").asText()).isEqualTo("short");
+        // never splits a surrogate pair
+        assertThat(rejectedValue("1234567😀890").asText()).isEqualTo("1234567...");
+        assertThat(rejectedValue(42).asInt()).isEqualTo(42);
+        assertThat(rejectedValue(BigInteger.TEN.pow(100)).asText()).isEqualTo("10000000...");
+    }
+
+    @Test
+    void capsCollectionsMapsAndDepth() throws Exception {
+        limits(new RejectedValueSerializer.Limits(8, 3, 2));
+        Map<String, Object> map = new LinkedHashMap<>();
+        IntStream.range(0, 10).forEach(i -> map.put("k" + i, i));
+
+        assertThat(rejectedValue(IntStream.range(0, 1000).boxed().toList()).toString())
+                .isEqualTo("[0,1,2,\"...+997 more\"]");
+        assertThat(rejectedValue(new int[]{1, 2, 3, 4}).toString()).isEqualTo("[1,2,3,\"...+1 more\"]");
+        assertThat(rejectedValue(map).toString()).isEqualTo("{\"k0\":0,\"k1\":1,\"k2\":2,\"...\":\"+7 more\"}");
+        assertThat(rejectedValue(List.of(List.of(List.of(1)))).toString()).isEqualTo("[[\"...\"]]");
+    }
+
+    @Test
+    void neverRendersArbitraryToString() throws Exception {
+        Object payload = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("toString must not be called");
+            }
+        };
+        Map<Object, Object> map = Map.of(new Payload(), "value");
+
+        assertThat(rejectedValue(new Payload()).asText()).isEqualTo("[Payload]");
+        assertThat(rejectedValue(payload).asText()).isEqualTo("[]");
+        assertThat(rejectedValue(map).toString()).isEqualTo("{\"[Payload]\":\"value\"}");
+    }
+
+    @Test
+    void keepsLimitsPerObjectMapper() throws Exception {
+        ObjectMapper defaults = objectMapper;
+        limits(new RejectedValueSerializer.Limits(8, 3, 2));
+
+        assertThat(rejectedValue("x".repeat(10)).asText()).isEqualTo("xxxxxxxx...");
+        objectMapper = defaults;
+        assertThat(rejectedValue("x".repeat(10)).asText()).isEqualTo("x".repeat(10));
+    }
+
+    private void limits(RejectedValueSerializer.Limits limits) {
+        objectMapper = new ObjectMapper().registerModule(new ErrorResponseModule(TimestampSerializer.Format.ISO, limits));
+    }
+
+    private JsonNode rejectedValue(Object value) throws Exception {
+        String json = objectMapper.writeValueAsString(new FieldError("field", value, "message"));
+        return objectMapper.readTree(json).get("rejectedValue");
+    }
+
+    static class Payload {
+
+        @Override
+        public String toString() {
+            return "x".repeat(1_000_000);
+        }
+    }
+}
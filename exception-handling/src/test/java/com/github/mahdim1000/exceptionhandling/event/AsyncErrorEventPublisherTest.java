@@ -0,0 +1,116 @@
+package com.github.mahdim1000.exceptionhandling.event;
+
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCategory;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncErrorEventPublisherTest {
+
+    @Test
+    void deliversEventsToAllSinksAndDrainsOnClose() {
+        Queue<String> first = new ConcurrentLinkedQueue<>();
+        Queue<String> second = new ConcurrentLinkedQueue<>();
+        AsyncErrorEventPublisher publisher = new AsyncErrorEventPublisher(
+                List.of(event -> first.add(event.traceId()), event -> second.add(event.traceId())),
+                1024, 2, AsyncErrorEventPublisher.OverflowPolicy.BLOCK, Duration.ofSeconds(5));
+
+        for (int i = 0; i < 500; i++) {
+            publisher.publish(event("T-" + i));
+        }
+        publisher.close();
+
+        assertThat(first).hasSize(500);
+        assertThat(second).hasSize(500);
+        assertThat(publisher.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void dropsAndCountsEventsWhenBufferIsFull() throws InterruptedException {
+        CountDownLatch consumerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Queue<String> delivered = new ConcurrentLinkedQueue<>();
+        AsyncErrorEventPublisher publisher = new AsyncErrorEventPublisher(List.of(event -> {
+            consumerBusy.countDown();
+            await(release);
+            delivered.add(event.traceId());
+        }), 2, 1, AsyncErrorEventPublisher.OverflowPolicy.DROP, Duration.ofSeconds(5));
+
+        publisher.publish(event("T-0"));
+        assertThat(consumerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i <= 5; i++) {
+            publisher.publish(event("T-" + i));
+        }
+
+        assertThat(publisher.getDroppedCount()).isEqualTo(3);
+        release.countDown();
+        publisher.close();
+        assertThat(delivered).containsExactly("T-0", "T-1", "T-2");
+    }
+
+    @Test
+    void deliversEventsPublishedWhileClosing() throws InterruptedException {
+        int publishers = 4;
+        int eventsPerPublisher = 2_000;
+        Queue<String> delivered = new ConcurrentLinkedQueue<>();
+        AsyncErrorEventPublisher publisher = new AsyncErrorEventPublisher(
+                List.of(event -> delivered.add(event.traceId())),
+                16, 1, AsyncErrorEventPublisher.OverflowPolicy.BLOCK, Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(publishers);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < publishers; p++) {
+            int publisherId = p;
+            threads.add(Thread.ofPlatform().start(() -> {
+                started.countDown();
+                for (int i = 0; i < eventsPerPublisher; i++) {
+                    publisher.publish(event("T-" + publisherId + "-" + i));
+                }
+            }));
+        }
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        publisher.close();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(delivered).hasSize(publishers * eventsPerPublisher).doesNotHaveDuplicates();
+        assertThat(publisher.getPendingCount()).isZero();
+    }
+
+    @Test
+    void isolatesFailingSinks() {
+        Queue<String> delivered = new ConcurrentLinkedQueue<>();
+        AsyncErrorEventPublisher publisher = new AsyncErrorEventPublisher(List.of(
+                event -> { throw new IllegalStateException("sink down"); },
+                event -> delivered.add(event.traceId())),
+                16, 1, AsyncErrorEventPublisher.OverflowPolicy.BLOCK, Duration.ofSeconds(5));
+
+        publisher.publish(event("T-0"));
+        publisher.close();
+
+        assertThat(delivered).containsExactly("T-0");
+    }
+
+    private static ErrorEvent event(String traceId) {
+        return new ErrorEvent(traceId, null, ErrorCategory.BUSINESS, "CODE", 400, "/path", null, null,
+                System.currentTimeMillis(), Level.WARN, false, "Business exception [{}]", new Object[]{traceId});
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.mahdim1000.exceptionhandling.event;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCategory;
+import com.github.mahdim1000.exceptionhandling.handler.GlobalExceptionHandler;
+import com.github.mahdim1000.exceptionhandling.logging.ErrorLogPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.event.Level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoggingErrorEventSinkTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>() {
+        @Override
+        protected void append(ILoggingEvent event) {
+            // the MDC is read lazily otherwise, on the asserting thread
+            event.prepareForDeferredProcessing();
+            super.append(event);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void logsIncomingTraceIdInTheMdcOfAnotherThread() throws InterruptedException {
+        LoggingErrorEventSink sink = new LoggingErrorEventSink(ErrorLogPolicy.logAll(),
+                LoggingErrorEventSink.DEFAULT_MAX_ARGUMENT_LENGTH, "traceId");
+
+        Thread consumer = new Thread(() -> {
+            sink.accept(event("REQ-1"));
+            sink.accept(event(null));
+        });
+        consumer.start();
+        consumer.join();
+
+        assertThat(appender.list).hasSize(2);
+        assertThat(appender.list.get(0).getMDCPropertyMap()).containsEntry("traceId", "REQ-1");
+        assertThat(appender.list.get(1).getMDCPropertyMap()).doesNotContainKey("traceId");
+    }
+
+    @Test
+    void restoresTheMdcOfTheLoggingThread() {
+        LoggingErrorEventSink sink = new LoggingErrorEventSink(ErrorLogPolicy.logAll(),
+                LoggingErrorEventSink.DEFAULT_MAX_ARGUMENT_LENGTH, "traceId");
+        MDC.put("traceId", "REQ-0");
+        try {
+            sink.accept(event("REQ-1"));
+
+            assertThat(appender.list).singleElement()
+                    .satisfies(logged -> assertThat(logged.getMDCPropertyMap()).containsEntry("traceId", "REQ-1"));
+            assertThat(MDC.get("traceId")).isEqualTo("REQ-0");
+        } finally {
+            MDC.remove("traceId");
+        }
+    }
+
+    private static ErrorEvent event(String incomingTraceId) {
+        return new ErrorEvent("BIZ-" + incomingTraceId, incomingTraceId, ErrorCategory.BUSINESS, "CODE", 400, "/path",
+                null, null, System.currentTimeMillis(), Level.WARN, false, "Business exception [{}]",
+                new Object[]{incomingTraceId});
+    }
+}
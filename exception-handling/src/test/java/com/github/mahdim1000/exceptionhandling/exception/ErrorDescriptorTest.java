@@ -0,0 +1,91 @@
+package com.github.mahdim1000.exceptionhandling.exception;
+
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.event.ErrorEvent;
+import com.github.mahdim1000.exceptionhandling.handler.ErrorResponseFactory;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class ErrorDescriptorTest {
+
+    @Test
+    void readsTheSpecOfEachEntryOnce() {
+        ErrorDescriptor descriptor = UserErrors.USER_NOT_FOUND.descriptor();
+
+        assertThat(descriptor).isSameAs(ErrorDescriptor.of(UserErrors.USER_NOT_FOUND));
+        assertThat(descriptor.getCode()).isEqualTo("USER_NOT_FOUND");
+        assertThat(descriptor.getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(descriptor.getMapping().getTraceIdPrefix()).isEqualTo("NF");
+        assertThat(descriptor.getMapping().getLogLevel()).isEqualTo(Level.WARN);
+
+        ErrorDescriptor storeDown = UserErrors.USER_STORE_UNAVAILABLE.descriptor();
+        assertThat(storeDown.getCode()).isEqualTo("USER_STORE_DOWN");
+        assertThat(storeDown.getMapping().getTraceIdPrefix()).isEqualTo("DB");
+        assertThat(storeDown.getMapping().getLogLevel()).isEqualTo(Level.ERROR);
+        assertThat(storeDown.getMapping().isIncludeStack()).isFalse();
+    }
+
+    @Test
+    void rejectsEntriesWithoutSpec() {
+        assertThatIllegalStateException().isThrownBy(IncompleteErrors.DECLARED::descriptor)
+                .withMessageContaining("MISSING");
+    }
+
+    @Test
+    void handlerUsesTheDescriptorOfCatalogExceptions() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        List<ErrorEvent> events = new ArrayList<>();
+        ErrorResponseFactory factory = ErrorResponseFactory.builder(new MessageResolver(messageSource),
+                new TraceIdGenerator()).errorEvents(events::add).build();
+
+        ErrorResponse notFound = factory.create(new ResourceNotFoundException(UserErrors.USER_NOT_FOUND,
+                new Object[]{42}), "/users/42", Locale.ENGLISH);
+        ErrorResponse storeDown = factory.create(new TechnicalException(UserErrors.USER_STORE_UNAVAILABLE,
+                new IllegalStateException("timeout")), "/users", Locale.ENGLISH);
+
+        assertThat(notFound.errorCode()).isEqualTo("USER_NOT_FOUND");
+        assertThat(notFound.status()).isEqualTo(404);
+        assertThat(notFound.message()).isEqualTo("User with ID 42 not found");
+        assertThat(notFound.traceId()).startsWith("NF-");
+        assertThat(storeDown.errorCode()).isEqualTo("USER_STORE_DOWN");
+        assertThat(storeDown.status()).isEqualTo(503);
+        assertThat(storeDown.message()).isEqualTo("Database connection failed");
+        assertThat(storeDown.traceId()).startsWith("DB-");
+        assertThat(events).extracting(ErrorEvent::logStack).containsExactly(false, false);
+    }
+
+    enum UserErrors implements ErrorCatalog {
+
+        @ErrorSpec(messageKey = "error.business.user.notfound", status = HttpStatus.NOT_FOUND,
+                category = ErrorCategory.NOT_FOUND)
+        USER_NOT_FOUND,
+
+        @ErrorSpec(messageKey = "error.technical.database.connection", status = HttpStatus.SERVICE_UNAVAILABLE,
+                category = ErrorCategory.TECHNICAL, code = "USER_STORE_DOWN", traceIdPrefix = "DB",
+                stackTrace = ErrorSpec.StackTrace.OMIT)
+        USER_STORE_UNAVAILABLE
+    }
+
+    enum IncompleteErrors implements ErrorCatalog {
+
+        @ErrorSpec(messageKey = "error.general.internal", status = HttpStatus.INTERNAL_SERVER_ERROR,
+                category = ErrorCategory.UNEXPECTED)
+        DECLARED,
+
+        MISSING
+    }
+}
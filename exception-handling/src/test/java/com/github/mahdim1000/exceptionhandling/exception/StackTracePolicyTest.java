@@ -0,0 +1,130 @@
+package com.github.mahdim1000.exceptionhandling.exception;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class StackTracePolicyTest {
+
+    @Test
+    void categoriesMakeTheirExceptionTypesStackless() {
+        StackTracePolicy policy = new StackTracePolicy(List.of(ErrorCategory.BUSINESS, ErrorCategory.NOT_FOUND));
+
+        assertThat(policy.getCategories()).containsExactlyInAnyOrder(ErrorCategory.BUSINESS, ErrorCategory.NOT_FOUND);
+        assertThat(policy.isStackless(BusinessException.class)).isTrue();
+        assertThat(policy.isStackless(OrderRejectedException.class)).isTrue();
+        assertThat(policy.isStackless(ResourceNotFoundException.class)).isTrue();
+        assertThat(policy.isStackless(ValidationException.class)).isFalse();
+        assertThat(policy.isStackless(TechnicalException.class)).isFalse();
+    }
+
+    @Test
+    void annotatedTypesAreStacklessWithoutCategories() {
+        StackTracePolicy policy = StackTracePolicy.ANNOTATED_ONLY;
+
+        assertThat(policy.getCategories()).isEmpty();
+        assertThat(policy.isStackless(BusinessException.class)).isFalse();
+        assertThat(policy.isStackless(QuotaExceededException.class)).isTrue();
+        assertThat(policy.isStackless(DailyQuotaExceededException.class)).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ErrorCategory.class, names = {"TECHNICAL", "REQUEST", "UNEXPECTED"})
+    void rejectsCategoriesThatKeepTheirStack(ErrorCategory category) {
+        assertThatIllegalArgumentException().isThrownBy(() -> new StackTracePolicy(Set.of(category)))
+                .withMessageContaining(category.name());
+    }
+
+    @Test
+    void exceptionsAreCreatedWithTheInstalledPolicy() {
+        StackTracePolicy policy = new StackTracePolicy(List.of(ErrorCategory.BUSINESS));
+        policy.install();
+        try {
+            BusinessException stackless = new BusinessException("ORDER_REJECTED", "error.business.rule");
+            ValidationException withStack = new ValidationException("INVALID", "error.validation.failed");
+
+            assertThat(stackless.isStackless()).isTrue();
+            assertThat(stackless.getStackTrace()).isEmpty();
+            assertThat(stackless.fillInStackTrace().getStackTrace()).isEmpty();
+            assertThat(withStack.isStackless()).isFalse();
+            assertThat(withStack.getStackTrace()).isNotEmpty();
+            assertThat(stackless.getThrowSite()).isNull();
+            assertThat(withStack.getThrowSite()).isEqualTo(withStack.getStackTrace()[0])
+                    .isSameAs(withStack.getThrowSite());
+        } finally {
+            policy.uninstall();
+        }
+
+        BusinessException afterUninstall = new BusinessException("ORDER_REJECTED", "error.business.rule");
+        assertThat(afterUninstall.isStackless()).isFalse();
+        assertThat(afterUninstall.getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    void policyIsReadOnceWhenTheExceptionIsCreated() {
+        StackTracePolicy policy = new StackTracePolicy(List.of(ErrorCategory.BUSINESS));
+        BusinessException withStack = new BusinessException("ORDER_REJECTED", "error.business.rule");
+        policy.install();
+        BusinessException stackless;
+        try {
+            stackless = new BusinessException("ORDER_REJECTED", "error.business.rule");
+
+            assertThat(withStack.fillInStackTrace().getStackTrace()).isNotEmpty();
+            assertThat(withStack.isStackless()).isFalse();
+        } finally {
+            policy.uninstall();
+        }
+
+        assertThat(stackless.fillInStackTrace().getStackTrace()).isEmpty();
+        assertThat(stackless.isStackless()).isTrue();
+    }
+
+    @Test
+    void annotatedExceptionsAreStacklessUnderAnyPolicy() {
+        QuotaExceededException exception = new QuotaExceededException();
+
+        assertThat(StackTracePolicy.current()).isSameAs(StackTracePolicy.ANNOTATED_ONLY);
+        assertThat(exception.isStackless()).isTrue();
+        assertThat(exception.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void uninstallRestoresThePreviousPolicy() {
+        StackTracePolicy first = new StackTracePolicy(List.of(ErrorCategory.BUSINESS));
+        StackTracePolicy second = new StackTracePolicy(List.of(ErrorCategory.VALIDATION));
+
+        first.install();
+        second.install();
+        assertThat(StackTracePolicy.current()).isSameAs(second);
+
+        first.uninstall();
+        assertThat(StackTracePolicy.current()).isSameAs(second);
+
+        second.uninstall();
+        assertThat(StackTracePolicy.current()).isSameAs(StackTracePolicy.ANNOTATED_ONLY);
+    }
+
+    static class OrderRejectedException extends BusinessException {
+
+        OrderRejectedException() {
+            super("ORDER_REJECTED", "error.business.rule");
+        }
+    }
+
+    @Stackless
+    static class QuotaExceededException extends TechnicalException {
+
+        QuotaExceededException() {
+            super("QUOTA_EXCEEDED", "error.technical.internal");
+        }
+    }
+
+    static class DailyQuotaExceededException extends QuotaExceededException {
+    }
+}
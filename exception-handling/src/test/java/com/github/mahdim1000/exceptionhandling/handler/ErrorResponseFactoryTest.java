@@ -0,0 +1,51 @@
+package com.github.mahdim1000.exceptionhandling.handler;
+
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.util.CoarseClock;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorResponseFactoryTest {
+
+    private final MessageResolver messageResolver = new MessageResolver(new StaticMessageSource());
+
+    @Test
+    void keepsTheFullPrecisionOfTimestampsByDefault() {
+        ErrorResponseFactory factory = new ErrorResponseFactory(messageResolver, new TraceIdGenerator());
+
+        // a clock with sub-millisecond precision cannot land on whole milliseconds a hundred times in a row
+        assertThat(timestamps(factory)).anySatisfy(timestamp ->
+                assertThat(timestamp.getNano() % 1_000_000).isNotZero());
+    }
+
+    @Test
+    void truncatesTimestampsToMillisecondsWithTheCoarseClock() {
+        ErrorResponseFactory factory = ErrorResponseFactory.builder(messageResolver, new TraceIdGenerator())
+                .coarseTimestamps(true)
+                .build();
+        LocalDateTime before = CoarseClock.now();
+
+        assertThat(timestamps(factory)).allSatisfy(timestamp -> {
+            assertThat(timestamp.getNano() % 1_000_000).isZero();
+            assertThat(timestamp).isAfterOrEqualTo(before);
+        });
+    }
+
+    private static List<LocalDateTime> timestamps(ErrorResponseFactory factory) {
+        List<LocalDateTime> timestamps = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ErrorResponse response = factory.create(new IllegalStateException("boom"), "/api/test", Locale.ENGLISH);
+            timestamps.add(response.timestamp());
+        }
+        return timestamps;
+    }
+}
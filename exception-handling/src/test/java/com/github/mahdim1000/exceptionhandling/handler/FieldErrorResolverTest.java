@@ -0,0 +1,133 @@
+package com.github.mahdim1000.exceptionhandling.handler;
+
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.dto.FieldError;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class FieldErrorResolverTest {
+
+    private final MessageResolver messageResolver = new MessageResolver(messageSource());
+
+    @Test
+    void groupsErrorsByFieldAndCachesLabels() {
+        FieldErrorResolver resolver = new FieldErrorResolver(messageResolver);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new UserRequest(), "userRequest");
+        bindingResult.rejectValue("name", "NotBlank", "error.validation.required");
+        bindingResult.rejectValue("email", "Email", "error.validation.invalid");
+        bindingResult.rejectValue("name", "Size", new Object[]{null, 50, 2}, "error.validation.between");
+
+        for (Locale locale : List.of(Locale.ENGLISH, Locale.ENGLISH, Locale.of("fa"))) {
+            FieldErrorResolver.Result result = resolver.resolve(bindingResult, locale);
+            assertThat(result.isTruncated()).isFalse();
+        }
+        FieldErrorResolver.Result result = resolver.resolve(bindingResult, Locale.ENGLISH);
+
+        assertThat(result.fieldErrors()).extracting(FieldError::field, FieldError::message).containsExactly(
+                tuple("Name", "Field is required"),
+                tuple("Name", "must be between 50 and 2"),
+                tuple("User e-mail", "Invalid format"));
+        assertThat(resolver.getLabelCacheSize()).isEqualTo(4);
+    }
+
+    @Test
+    void capsFieldErrorsAndKeepsIndexedPaths() {
+        FieldErrorResolver resolver = new FieldErrorResolver(messageResolver, 3, 16);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "bulkRequest");
+        for (int i = 0; i < 10_000; i++) {
+            bindingResult.addError(new org.springframework.validation.FieldError("bulkRequest",
+                    "items[" + i + "].name", "x", false, null, null, "error.validation.required"));
+        }
+
+        FieldErrorResolver.Result result = resolver.resolve(bindingResult, Locale.ENGLISH);
+
+        assertThat(result.fieldErrors()).extracting(FieldError::field)
+                .containsExactly("items[0].name", "items[1].name", "items[2].name");
+        assertThat(result.totalErrors()).isEqualTo(10_000);
+        assertThat(result.isTruncated()).isTrue();
+        assertThat(resolver.getLabelCacheSize()).isZero();
+    }
+
+    @Test
+    void masksSensitiveFields() {
+        FieldErrorResolver resolver = new FieldErrorResolver(messageResolver, 10, 16, List.of("Password", "phone"));
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "userRequest");
+        bindingResult.addError(new org.springframework.validation.FieldError("userRequest", "password", "hunter2",
+                false, null, null, "error.validation.invalid"));
+        bindingResult.addError(new org.springframework.validation.FieldError("userRequest", "contacts[0].phone",
+                "+98 912", false, null, null, "error.validation.invalid"));
+        bindingResult.addError(new org.springframework.validation.FieldError("userRequest", "phones[1]",
+                "+98 912", false, null, null, "error.validation.invalid"));
+        bindingResult.addError(new org.springframework.validation.FieldError("userRequest", "email", "a@",
+                false, null, null, "error.validation.invalid"));
+
+        FieldErrorResolver.Result result = resolver.resolve(bindingResult, Locale.ENGLISH);
+
+        assertThat(result.fieldErrors()).extracting(FieldError::rejectedValue)
+                .containsExactly(FieldErrorResolver.MASK, FieldErrorResolver.MASK, "+98 912", "a@");
+    }
+
+    @Test
+    void marksTruncatedResponses() {
+        ErrorResponseFactory factory = ErrorResponseFactory.builder(messageResolver, new TraceIdGenerator())
+                .errorEvents(event -> { })
+                .fieldErrorResolver(new FieldErrorResolver(messageResolver, 2, 16))
+                .build();
+        BindException capped = new BindException(new UserRequest(), "userRequest");
+        capped.rejectValue("name", "NotBlank", "error.validation.required");
+        capped.rejectValue("email", "Email", "error.validation.invalid");
+        capped.rejectValue("age", "Min", "error.validation.required");
+        BindException complete = new BindException(new UserRequest(), "userRequest");
+        complete.rejectValue("name", "NotBlank", "error.validation.required");
+
+        ErrorResponse truncated = factory.create(capped, "/api/users", Locale.ENGLISH);
+        ErrorResponse untruncated = factory.create(complete, "/api/users", Locale.ENGLISH);
+
+        assertThat(truncated.fieldErrors()).hasSize(2);
+        assertThat(truncated.truncated()).isTrue();
+        assertThat(truncated.totalErrors()).isEqualTo(3);
+        assertThat(untruncated.fieldErrors()).hasSize(1);
+        assertThat(untruncated.truncated()).isNull();
+        assertThat(untruncated.totalErrors()).isNull();
+    }
+
+    private static StaticMessageSource messageSource() {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("field.name", Locale.ENGLISH, "Name");
+        messageSource.addMessage("field.userRequest.email", Locale.ENGLISH, "User e-mail");
+        messageSource.addMessage("field.name", Locale.of("fa"), "نام");
+        messageSource.addMessage("error.validation.required", Locale.ENGLISH, "Field is required");
+        messageSource.addMessage("error.validation.invalid", Locale.ENGLISH, "Invalid format");
+        messageSource.addMessage("error.validation.between", Locale.ENGLISH, "must be between {1} and {2}");
+        return messageSource;
+    }
+
+    public static class UserRequest {
+
+        private String name;
+        private String email;
+        private Integer age;
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+    }
+}
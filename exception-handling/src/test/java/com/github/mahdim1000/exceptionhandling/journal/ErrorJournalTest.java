@@ -0,0 +1,141 @@
+package com.github.mahdim1000.exceptionhandling.journal;
+
+import com.github.mahdim1000.exceptionhandling.event.ErrorEvent;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCategory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.event.Level;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong millis = new AtomicLong(1_700_000_000_000L);
+
+    @Test
+    void findsErrorsByTraceId() {
+        try (ErrorJournal journal = journal(64 * 1024)) {
+            journal.accept(event("T-1", "USER_NOT_FOUND", new IllegalStateException("gone")));
+            journal.accept(event("T-2", "DB_DOWN", null));
+
+            ErrorJournal.Entry entry = journal.find("T-1");
+            assertThat(entry.errorCode()).isEqualTo("USER_NOT_FOUND");
+            assertThat(entry.status()).isEqualTo(500);
+            assertThat(entry.path()).isEqualTo("/api/test");
+            assertThat(entry.exception()).isEqualTo(IllegalStateException.class.getName());
+            assertThat(entry.stackTrace()).startsWith(IllegalStateException.class.getName() + ": gone\n\tat ");
+            assertThat(entry.timestamp().toEpochMilli()).isEqualTo(millis.get());
+            assertThat(journal.find("T-2").exception()).isNull();
+            assertThat(journal.find("T-3")).isNull();
+        }
+    }
+
+    @Test
+    void recoversIndexAfterRestart() {
+        try (ErrorJournal journal = journal(64 * 1024)) {
+            journal.accept(event("T-1", "DB_DOWN", null));
+        }
+
+        try (ErrorJournal journal = journal(64 * 1024)) {
+            assertThat(journal.find("T-1").errorCode()).isEqualTo("DB_DOWN");
+            journal.accept(event("T-2", "DB_DOWN", null));
+            assertThat(journal.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void skipsTornRecordsOnRecovery() throws IOException {
+        try (ErrorJournal journal = journal(64 * 1024)) {
+            journal.accept(event("T-1", "DB_DOWN", null));
+            journal.accept(event("T-2", "DB_DOWN", null));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // corrupt the timestamp of the first record
+            file.seek(JournalSegment.HEADER_SIZE + 12);
+            file.writeLong(0);
+        }
+
+        try (ErrorJournal journal = journal(64 * 1024)) {
+            assertThat(journal.find("T-1")).isNull();
+            assertThat(journal.find("T-2")).isNotNull();
+        }
+    }
+
+    @Test
+    void recoversRecordsAfterAnUnwrittenSlot() throws IOException {
+        try (ErrorJournal journal = journal(64 * 1024)) {
+            journal.accept(event("T-1", "DB_DOWN", null));
+            journal.accept(event("T-2", "DB_DOWN", null));
+            journal.accept(event("T-3", "DB_DOWN", null));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // a writer reserved the second slot and crashed before storing anything
+            file.seek(JournalSegment.HEADER_SIZE + 4);
+            int first = file.readInt();
+            file.seek(JournalSegment.HEADER_SIZE + first + 4);
+            int second = file.readInt();
+            file.seek(JournalSegment.HEADER_SIZE + first);
+            file.write(new byte[second]);
+        }
+
+        try (ErrorJournal journal = journal(64 * 1024)) {
+            assertThat(journal.find("T-1")).isNotNull();
+            assertThat(journal.find("T-2")).isNull();
+            assertThat(journal.find("T-3")).isNotNull();
+            assertThat(journal.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void rotatesFullSegmentsAndDeletesExpiredOnes() throws IOException {
+        try (ErrorJournal journal = journal(512)) {
+            for (int i = 0; i < 20; i++) {
+                journal.accept(event("T-" + i, "DB_DOWN", null));
+            }
+            assertThat(segmentFiles()).isGreaterThan(2);
+            assertThat(journal.find("T-0")).isNotNull();
+
+            millis.addAndGet(Duration.ofHours(2).toMillis());
+            journal.accept(event("T-late", "DB_DOWN", null));
+
+            assertThat(journal.find("T-0")).isNull();
+            assertThat(journal.find("T-late")).isNotNull();
+            assertThat(segmentFiles()).isEqualTo(1);
+        }
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private ErrorJournal journal(int segmentSize) {
+        return new ErrorJournal(new ErrorJournal.Settings(directory, segmentSize, Duration.ofMinutes(30),
+                Duration.ofHours(1), 1024), millis::get);
+    }
+
+    private ErrorEvent event(String traceId, String errorCode, Throwable exception) {
+        return new ErrorEvent(traceId, null, ErrorCategory.TECHNICAL, errorCode, 500, "/api/test", null,
+                exception, millis.get(), Level.ERROR, false, "{}", new Object[0]);
+    }
+}
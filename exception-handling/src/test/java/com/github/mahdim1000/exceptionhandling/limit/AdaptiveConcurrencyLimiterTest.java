@@ -0,0 +1,193 @@
+package com.github.mahdim1000.exceptionhandling.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.mahdim1000.exceptionhandling.codec.ErrorResponseCodec;
+import com.github.mahdim1000.exceptionhandling.event.ErrorEvent;
+import com.github.mahdim1000.exceptionhandling.event.ErrorEventPublisher;
+import com.github.mahdim1000.exceptionhandling.handler.ErrorResponseFactory;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final AdaptiveConcurrencyLimiter.Settings SETTINGS =
+            new AdaptiveConcurrencyLimiter.Settings(10, 2, 50, 1.5, 0.2, 10, 600);
+
+    @Test
+    void growsWhileLatencyIsHealthy() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(SETTINGS);
+
+        for (int i = 0; i < 50; i++) {
+            saturate(limiter, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(50);
+        assertThat(limiter.getInflight()).isZero();
+    }
+
+    @Test
+    void shrinksWhenRequestsSlowDown() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(SETTINGS);
+        for (int i = 0; i < 50; i++) {
+            saturate(limiter, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            saturate(limiter, TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(25);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(SETTINGS.minLimit());
+    }
+
+    @Test
+    void ignoresLatencyWhileMostPermitsAreUnused() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(SETTINGS);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(i % 2 == 0 ? 1 : 500));
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(SETTINGS.initialLimit());
+    }
+
+    @Test
+    void rejectsOverTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(SETTINGS);
+
+        for (int i = 0; i < SETTINGS.initialLimit(); i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInflight()).isEqualTo(SETTINGS.initialLimit());
+        assertThat(limiter.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void validatesSettings() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter.Settings(10, 20, 50, 1.5, 0.2, 10, 600))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter.Settings(10, 2, 50, 0.5, 0.2, 10, 600))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void matchesEndpointGroupsInOrder() {
+        ConcurrencyLimits limits = new ConcurrencyLimits(SETTINGS)
+                .group("reports", List.of("/api/reports/**"), SETTINGS)
+                .group("api", List.of("/api/**"), SETTINGS);
+        Map<String, AdaptiveConcurrencyLimiter> limiters = limits.getLimiters();
+
+        assertThat(limiters).containsOnlyKeys(ConcurrencyLimits.DEFAULT_GROUP, "reports", "api");
+        assertThat(limits.limiter("/api/reports/daily")).isSameAs(limiters.get("reports"));
+        assertThat(limits.limiter("/api/users/1")).isSameAs(limiters.get("api"));
+        assertThat(limits.limiter("/actuator/health")).isSameAs(limiters.get(ConcurrencyLimits.DEFAULT_GROUP));
+        assertThatThrownBy(() -> limits.group("api", List.of("/other/**"), SETTINGS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void filterRejectsWithServiceOverloaded() throws Exception {
+        ConcurrencyLimits limits = new ConcurrencyLimits(new AdaptiveConcurrencyLimiter.Settings(1, 1, 1, 1.5, 0.2, 10, 600));
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limits, errorResponseFactory(),
+                ErrorResponseCodec.allAvailable(objectMapper()), Duration.ofSeconds(2));
+        AdaptiveConcurrencyLimiter limiter = limits.limiter("/api/users");
+
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(), accepted, chain);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(accepted.getStatus()).isEqualTo(200);
+        assertThat(limiter.getInflight()).isZero();
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain unreached = new MockFilterChain();
+        filter.doFilter(request(), rejected, unreached);
+
+        assertThat(unreached.getRequest()).isNull();
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(rejected.getContentType()).startsWith("application/json");
+        assertThat(rejected.getContentAsString())
+                .contains("\"errorCode\":\"" + ServiceOverloadedException.ERROR_CODE + "\"")
+                .contains("\"status\":503")
+                .contains("\"path\":\"/api/users\"");
+        assertThat(limiter.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void filterRejectsEachRequestWithItsOwnException() throws Exception {
+        ConcurrencyLimits limits = new ConcurrencyLimits(new AdaptiveConcurrencyLimiter.Settings(1, 1, 1, 1.5, 0.2, 10, 600));
+        List<ErrorEvent> events = new ArrayList<>();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limits, errorResponseFactory(events::add),
+                ErrorResponseCodec.allAvailable(objectMapper()), Duration.ofSeconds(2));
+        assertThat(limits.limiter("/api/users").tryAcquire()).isTrue();
+
+        filter.doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).exception()).isInstanceOf(ServiceOverloadedException.class)
+                .isNotSameAs(events.get(1).exception());
+        assertThat(events.get(0).exception().getStackTrace()).isEmpty();
+    }
+
+    /**
+     * Acquire every permit, then release them all with the same latency.
+     */
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rttNanos);
+        }
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.addHeader("Accept", "application/json");
+        return request;
+    }
+
+    private static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    private static ErrorResponseFactory errorResponseFactory() {
+        return new ErrorResponseFactory(messageResolver(), new TraceIdGenerator());
+    }
+
+    private static ErrorResponseFactory errorResponseFactory(ErrorEventPublisher errorEvents) {
+        return ErrorResponseFactory.builder(messageResolver(), new TraceIdGenerator())
+                .errorEvents(errorEvents)
+                .build();
+    }
+
+    private static MessageResolver messageResolver() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        return new MessageResolver(messageSource);
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.mahdim1000.exceptionhandling.logging;
+
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCategory;
+import com.github.mahdim1000.exceptionhandling.exception.TechnicalException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorLogPolicyTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void logsFirstOccurrencesPerIntervalInFull() {
+        ErrorLogPolicy policy = policy(Map.of(), 100);
+        TechnicalException ex = new TechnicalException("DB_DOWN", "error.technical.database.connection");
+
+        assertThat(count(policy, ErrorCategory.TECHNICAL, "DB_DOWN", ex, 10)).isEqualTo(3);
+
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertThat(count(policy, ErrorCategory.TECHNICAL, "DB_DOWN", ex, 10)).isEqualTo(3);
+    }
+
+    @Test
+    void fingerprintsByErrorCodeAndThrowSite() {
+        ErrorLogPolicy policy = policy(Map.of(), 100);
+
+        int logged = 0;
+        for (int i = 0; i < 5; i++) {
+            logged += count(policy, ErrorCategory.TECHNICAL, "DB_DOWN", new TechnicalException("DB_DOWN", "k"), 1);
+            logged += count(policy, ErrorCategory.TECHNICAL, "CACHE_DOWN", new TechnicalException("CACHE_DOWN", "k"), 1);
+            logged += count(policy, ErrorCategory.TECHNICAL, "DB_DOWN", otherSite(), 1);
+        }
+
+        assertThat(logged).isEqualTo(9);
+    }
+
+    @Test
+    void appliesLimitsPerCategory() {
+        ErrorLogPolicy policy = policy(Map.of(ErrorCategory.BUSINESS, new ErrorLogPolicy.Limit(1, Duration.ofMinutes(1))), 100);
+        RuntimeException ex = new RuntimeException();
+
+        assertThat(count(policy, ErrorCategory.BUSINESS, "E", ex, 10)).isEqualTo(1);
+        assertThat(count(policy, ErrorCategory.UNEXPECTED, "E", ex, 10)).isEqualTo(3);
+    }
+
+    @Test
+    void newFingerprintsShareAnOverflowEntryOnceFull() {
+        ErrorLogPolicy policy = policy(Map.of(), 2);
+
+        int logged = 0;
+        for (int i = 0; i < 10; i++) {
+            logged += count(policy, ErrorCategory.BUSINESS, "CODE_" + i, new RuntimeException(), 1);
+        }
+
+        assertThat(logged).isEqualTo(2 + 3);
+    }
+
+    @Test
+    void evictsFingerprintsIdleForAWholeInterval() {
+        ErrorLogPolicy policy = policy(Map.of(), 100);
+        TechnicalException dbDown = new TechnicalException("DB_DOWN", "k");
+        TechnicalException cacheDown = otherSite();
+
+        count(policy, ErrorCategory.TECHNICAL, "DB_DOWN", dbDown, 1);
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+        count(policy, ErrorCategory.TECHNICAL, "CACHE_DOWN", cacheDown, 1);
+        assertThat(policy.getFingerprintCount()).isEqualTo(2);
+
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+        count(policy, ErrorCategory.TECHNICAL, "CACHE_DOWN", cacheDown, 1);
+        assertThat(policy.getFingerprintCount()).isEqualTo(1);
+
+        // An evicted fingerprint starts over with its full logs
+        assertThat(count(policy, ErrorCategory.TECHNICAL, "DB_DOWN", dbDown, 10)).isEqualTo(3);
+    }
+
+    private ErrorLogPolicy policy(Map<ErrorCategory, ErrorLogPolicy.Limit> limits, int maxFingerprints) {
+        return new ErrorLogPolicy(limits, new ErrorLogPolicy.Limit(3, Duration.ofMinutes(1)), maxFingerprints, nanos::get);
+    }
+
+    private static int count(ErrorLogPolicy policy, ErrorCategory category, String code, Throwable ex, int times) {
+        int logged = 0;
+        for (int i = 0; i < times; i++) {
+            if (policy.shouldLog(category, code, ex)) {
+                logged++;
+            }
+        }
+        return logged;
+    }
+
+    private static TechnicalException otherSite() {
+        return new TechnicalException("DB_DOWN", "k");
+    }
+}
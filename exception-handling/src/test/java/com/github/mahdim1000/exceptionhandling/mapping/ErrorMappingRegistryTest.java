@@ -0,0 +1,102 @@
+package com.github.mahdim1000.exceptionhandling.mapping;
+
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.exception.BusinessException;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCategory;
+import com.github.mahdim1000.exceptionhandling.handler.ErrorResponseFactory;
+import com.github.mahdim1000.exceptionhandling.handler.GlobalExceptionHandler;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ErrorMappingRegistryTest {
+
+    @Test
+    void resolvesClosestMappedSuperclass() {
+        ErrorMappingRegistry registry = ErrorMappingRegistry.withDefaults(List.of());
+
+        assertThat(registry.find(BusinessException.class).getTraceIdPrefix()).isEqualTo("BIZ");
+        assertThat(registry.find(InsufficientBalanceException.class).getTraceIdPrefix()).isEqualTo("BIZ");
+        assertThat(registry.find(MissingServletRequestParameterException.class).getTraceIdPrefix()).isEqualTo("PARAM");
+        assertThat(registry.find(IllegalStateException.class)).isSameAs(ErrorMappingRegistry.UNEXPECTED);
+        assertThat(registry.find(AssertionError.class)).isSameAs(ErrorMappingRegistry.UNEXPECTED);
+    }
+
+    @Test
+    void laterMappingsOverrideDefaults() {
+        ErrorMapping conflict = ErrorMapping.builder(ConcurrentModificationException.class)
+                .errorCode("CONFLICT")
+                .status(HttpStatus.CONFLICT)
+                .messageKey("error.conflict")
+                .traceIdPrefix("CONF")
+                .build();
+        ErrorMapping business = ErrorMapping.builder(BusinessException.class).traceIdPrefix("B").build();
+        ErrorMappingRegistry registry = ErrorMappingRegistry.withDefaults(List.of(conflict, business));
+
+        assertThat(registry.find(ConcurrentModificationException.class)).isSameAs(conflict);
+        assertThat(registry.find(InsufficientBalanceException.class)).isSameAs(business);
+        assertThat(conflict.getCategory()).isEqualTo(ErrorCategory.REQUEST);
+        assertThat(conflict.getLogLevel()).isEqualTo(Level.WARN);
+        assertThat(business.getCategory()).isEqualTo(ErrorCategory.BUSINESS);
+    }
+
+    @Test
+    void requiresCodeStatusAndKeyOutsideTheHierarchy() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> ErrorMapping.builder(IllegalStateException.class).errorCode("X").build());
+    }
+
+    @Test
+    void handlerAppliesMappingForThirdPartyException() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages/messages");
+        messageSource.setFallbackToSystemLocale(false);
+        ErrorMappingRegistry registry = ErrorMappingRegistry.withDefaults(List.of(
+                ErrorMapping.builder(ConcurrentModificationException.class)
+                        .errorCode("CONFLICT")
+                        .status(HttpStatus.CONFLICT)
+                        .messageKey("error.conflict")
+                        .defaultMessage("Conflict")
+                        .traceIdPrefix("CONF")
+                        .build()));
+        GlobalExceptionHandler handler = new GlobalExceptionHandler(ErrorResponseFactory.builder(
+                new MessageResolver(messageSource), new TraceIdGenerator())
+                .errorMappings(registry)
+                .errorEvents(event -> { })
+                .build());
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/orders/1");
+        request.addPreferredLocale(Locale.ENGLISH);
+
+        ResponseEntity<ErrorResponse> conflict = handler.handleException(new ConcurrentModificationException(), request);
+        ResponseEntity<ErrorResponse> business = handler.handleException(new InsufficientBalanceException(), request);
+
+        assertThat(conflict.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(conflict.getBody().errorCode()).isEqualTo("CONFLICT");
+        assertThat(conflict.getBody().message()).isEqualTo("Conflict");
+        assertThat(conflict.getBody().traceId()).startsWith("CONF-");
+        assertThat(business.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(business.getBody().errorCode()).isEqualTo("INSUFFICIENT_BALANCE");
+        assertThat(business.getBody().traceId()).startsWith("BIZ-");
+        assertThat(business.getBody().path()).isEqualTo("/orders/1");
+    }
+
+    static class InsufficientBalanceException extends BusinessException {
+
+        InsufficientBalanceException() {
+            super("INSUFFICIENT_BALANCE", "error.business.balance", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.mahdim1000.exceptionhandling.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerErrorMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void countsErrorsByCategoryCodeAndStatus() {
+        MicrometerErrorMetrics metrics = new MicrometerErrorMetrics(registry, 10);
+
+        metrics.recordError("BIZ", "INSUFFICIENT_BALANCE", 400, 1_000);
+        metrics.recordError("BIZ", "INSUFFICIENT_BALANCE", 400, 3_000);
+        metrics.recordError("TECH", "DB_DOWN", 500, 5_000);
+
+        assertThat(registry.get("exception.handling.errors")
+                .tags("category", "BIZ", "error.code", "INSUFFICIENT_BALANCE", "status", "400")
+                .counter().count()).isEqualTo(2);
+        assertThat(registry.get("exception.handling.errors").tags("error.code", "DB_DOWN").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("exception.handling.duration").tags("category", "BIZ").timer().totalTime(TimeUnit.NANOSECONDS))
+                .isEqualTo(4_000);
+    }
+
+    @Test
+    void foldsErrorCodesBeyondLimitIntoOther() {
+        MicrometerErrorMetrics metrics = new MicrometerErrorMetrics(registry, 3);
+
+        for (int i = 0; i < 50; i++) {
+            metrics.recordError("BIZ", "CODE_" + i, 400, 1_000);
+        }
+        metrics.recordError("BIZ", "CODE_0", 400, 1_000);
+
+        assertThat(metrics.getTrackedErrorCodes()).isEqualTo(3);
+        assertThat(registry.get("exception.handling.errors").counters()).hasSize(4);
+        assertThat(registry.get("exception.handling.errors").tags("error.code", "CODE_0").counter().count())
+                .isEqualTo(2);
+        assertThat(registry.get("exception.handling.errors").tags("error.code", MicrometerErrorMetrics.OTHER)
+                .counter().count()).isEqualTo(47);
+    }
+
+    @Test
+    void recordsFieldErrorDistribution() {
+        MicrometerErrorMetrics metrics = new MicrometerErrorMetrics(registry, 10);
+
+        metrics.recordFieldErrors(1);
+        metrics.recordFieldErrors(9);
+
+        assertThat(registry.get("exception.handling.field.errors").summary().count()).isEqualTo(2);
+        assertThat(registry.get("exception.handling.field.errors").summary().max()).isEqualTo(9);
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.mahdim1000.exceptionhandling.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.mahdim1000.exceptionhandling.exception.BusinessException;
+import com.github.mahdim1000.exceptionhandling.exception.ResourceNotFoundException;
+import com.github.mahdim1000.exceptionhandling.handler.ErrorResponseFactory;
+import com.github.mahdim1000.exceptionhandling.handler.GlobalExceptionHandler;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.config.EnableWebFlux;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The servlet and reactive handlers must produce the same JSON for the same failure.
+ */
+class ReactiveGlobalExceptionHandlerTest {
+
+    private static final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private static AnnotationConfigApplicationContext reactiveContext;
+    private static WebTestClient webTestClient;
+    private static MockMvc mockMvc;
+
+    @BeforeAll
+    static void setUp() {
+        reactiveContext = new AnnotationConfigApplicationContext(ReactiveConfig.class);
+        webTestClient = WebTestClient.bindToApplicationContext(reactiveContext).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(new ItemController())
+                .setControllerAdvice(new GlobalExceptionHandler(errorResponseFactory()))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        reactiveContext.close();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "GET, /items/business, en, , 422, User with ID 7 not found",
+            "GET, /items/business, fa, , 422, کاربر با شناسه ۷ یافت نشد",
+            "GET, /items/42, en, , 404, User with ID 42 not found",
+            "GET, /items/42, fa, , 404, کاربر با شناسه 42 یافت نشد",
+            "GET, /items/boom, en, , 500, An internal server error occurred",
+            "GET, /items/search, en, , 400, Field is required",
+            "POST, /items, en, '{\"name\":\"\"}', 400, Validation failed",
+            "POST, /items, fa, '{\"name\":\"\"}', 400, اعتبارسنجی ناموفق بود",
+            "POST, /items, en, '{\"name\":', 400, Malformed JSON request",
+            "DELETE, /items/42, en, , 405, Method Isn't Allowed"
+    })
+    void servletAndReactiveStacksReturnIdenticalJson(String method, String path, String language, String body,
+                                                     int status, String message) throws Exception {
+        MockHttpServletRequestBuilder servletRequest = MockMvcRequestBuilders.request(HttpMethod.valueOf(method), path)
+                .header(HttpHeaders.ACCEPT_LANGUAGE, language);
+        if (body != null) {
+            servletRequest.contentType(MediaType.APPLICATION_JSON).content(body);
+        }
+        MockHttpServletResponse servlet = mockMvc.perform(servletRequest).andReturn().getResponse();
+
+        WebTestClient.RequestBodySpec reactiveRequest = webTestClient.method(HttpMethod.valueOf(method)).uri(path)
+                .header(HttpHeaders.ACCEPT_LANGUAGE, language);
+        EntityExchangeResult<byte[]> reactive = (body != null
+                ? reactiveRequest.contentType(MediaType.APPLICATION_JSON).bodyValue(body)
+                : reactiveRequest)
+                .exchange()
+                .expectBody().returnResult();
+
+        assertThat(servlet.getStatus()).isEqualTo(status);
+        assertThat(reactive.getStatus().value()).isEqualTo(status);
+        assertThat(reactive.getResponseHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+
+        ObjectNode servletJson = (ObjectNode) objectMapper.readTree(servlet.getContentAsString(StandardCharsets.UTF_8));
+        ObjectNode reactiveJson = (ObjectNode) objectMapper.readTree(reactive.getResponseBody());
+        assertThat(prefix(reactiveJson.remove("traceId").asText())).isEqualTo(prefix(servletJson.remove("traceId").asText()));
+        assertThat(reactiveJson.remove("timestamp")).isNotNull();
+        assertThat(servletJson.remove("timestamp")).isNotNull();
+        assertThat(reactiveJson).isEqualTo(servletJson);
+        assertThat(reactiveJson.get("message").asText()).isEqualTo(message);
+    }
+
+    private static String prefix(String traceId) {
+        return traceId.substring(0, traceId.indexOf('-'));
+    }
+
+    private static ErrorResponseFactory errorResponseFactory() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        return new ErrorResponseFactory(new MessageResolver(messageSource), new TraceIdGenerator());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableWebFlux
+    static class ReactiveConfig {
+
+        @Bean
+        ItemController itemController() {
+            return new ItemController();
+        }
+
+        @Bean
+        ReactiveGlobalExceptionHandler reactiveGlobalExceptionHandler() {
+            return new ReactiveGlobalExceptionHandler(errorResponseFactory(), objectMapper);
+        }
+    }
+
+    @RestController
+    static class ItemController {
+
+        @GetMapping("/items/business")
+        String business() {
+            throw new BusinessException("INSUFFICIENT_STOCK", "error.business.user.notfound", new Object[]{7},
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        @GetMapping("/items/{id}")
+        String item(@PathVariable("id") String id) {
+            if ("boom".equals(id)) {
+                throw new IllegalStateException("boom");
+            }
+            throw new ResourceNotFoundException("ITEM_NOT_FOUND", "error.business.user.notfound", new Object[]{id});
+        }
+
+        @GetMapping("/items/search")
+        String search(@RequestParam("query") String query) {
+            return query;
+        }
+
+        @PostMapping("/items")
+        String create(@Valid @RequestBody Item item) {
+            return item.name();
+        }
+    }
+
+    record Item(@NotBlank(message = "error.validation.required") String name) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.github.mahdim1000.exceptionhandling.render;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponseModule;
+import com.github.mahdim1000.exceptionhandling.dto.RejectedValueSerializer;
+import com.github.mahdim1000.exceptionhandling.dto.TimestampSerializer;
+import com.github.mahdim1000.exceptionhandling.handler.GlobalExceptionHandler;
+import com.github.mahdim1000.exceptionhandling.mapping.ErrorMappingRegistry;
+import com.github.mahdim1000.exceptionhandling.util.CoarseClock;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class ErrorResponseRendererTest {
+
+    /** Same date handling as Spring Boot's auto-configured ObjectMapper. */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    static Stream<ErrorResponse> responses() {
+        return Stream.of(
+                new ErrorResponse("NOT_FOUND", "Not Found", "/api/missing", 404,
+                        LocalDateTime.of(2025, 3, 4, 5, 6, 7, 890_000_000), null, "404-0123456789abcdef"),
+                new ErrorResponse("NOT_FOUND", "یافت نشد", "/api/missing", 404,
+                        LocalDateTime.of(2025, 3, 4, 5, 6, 0), null, "404-0123456789abcdef"),
+                new ErrorResponse("METHOD_NOT_ALLOWED", "Method Isn't Allowed", "/api/demo/validate", 405,
+                        LocalDateTime.of(2025, 3, 4, 5, 6, 7, 1), null, "METHOD-00000000000000ff"),
+                new ErrorResponse("MALFORMED_JSON", "Malformed JSON request", "/api/\"quoted\"/back\\slash", 400,
+                        LocalDateTime.of(2025, 3, 4, 5, 6, 7, 123_456_000), null, "JSON-1"),
+                new ErrorResponse("INTERNAL_SERVER_ERROR", "خطای داخلی سرور رخ داده است", "/tab\t/nl\n/ctl\u0002/é/中",
+                        500, LocalDateTime.of(2025, 12, 31, 23, 59, 59, 999_999_999), null, "ERR-abc"),
+                new ErrorResponse("USER_BLOCKED", "User \"x\" is blocked\n", "/api/users/1", 403,
+                        LocalDateTime.of(2025, 1, 1, 0, 0, 0), null, "BIZ-0"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("responses")
+    void rendersSameBytesAsJackson(ErrorResponse response) throws Exception {
+        ErrorResponseRenderer renderer = new ErrorResponseRenderer(objectMapper);
+        ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+
+        assertThat(renderer.isEnabled()).isTrue();
+        assertThat(renderer.canRender(response)).isFalse();
+        renderer.prepare(response.errorCode(), response.status(), response.message());
+        assertThat(renderer.canRender(response)).isTrue();
+        renderer.write(response, rendered);
+
+        assertThat(rendered.toByteArray()).isEqualTo(objectMapper.writeValueAsBytes(response));
+    }
+
+    @Test
+    void leavesUnsupportedResponsesToJackson() {
+        ErrorResponseRenderer renderer = new ErrorResponseRenderer(objectMapper);
+        renderer.prepare("E", 400, "m");
+
+        assertThat(renderer.canRender(new ErrorResponse("E", "m", "/ok", 400, "T-1"))).isTrue();
+        assertThat(renderer.canRender(new ErrorResponse("E", "m", "/emoji/😀", 400, "T-1"))).isFalse();
+        assertThat(renderer.canRender(new ErrorResponse("E", "m", null, 400, "T-1"))).isFalse();
+    }
+
+    @Test
+    void disablesItselfWhenObjectMapperOutputCannotBeReproduced() {
+        ObjectMapper timestamps = Jackson2ObjectMapperBuilder.json().build();
+
+        assertThat(new ErrorResponseRenderer(timestamps).isEnabled()).isFalse();
+    }
+
+    @Test
+    void preparesOnlyStaticMappings() {
+        ErrorResponseRenderer renderer = new ErrorResponseRenderer(objectMapper);
+        renderer.prepare(ErrorMappingRegistry.defaultMappings(), new MessageResolver(messageSource()), Locale.ENGLISH);
+
+        assertThat(renderer.canRender(new ErrorResponse("NOT_FOUND", "Not Found", "/api/missing", 404, "404-1")))
+                .isTrue();
+        assertThat(renderer.canRender(new ErrorResponse("INTERNAL_SERVER_ERROR", "An internal server error occurred",
+                "/api/fail", 500, "ERR-1"))).isTrue();
+        // Messages with arguments, and messages taken from the exception, have no template
+        assertThat(renderer.canRender(new ErrorResponse("MISSING_PARAMETER", "Parameter id is required",
+                "/api/users", 400, "PARAM-1"))).isFalse();
+        assertThat(renderer.canRender(new ErrorResponse("USER_NOT_FOUND", "User 42 not found", "/api/users/42", 404,
+                "NF-1"))).isFalse();
+    }
+
+    @Test
+    void rendersEpochMillisTimestamps() throws Exception {
+        ObjectMapper epochMillis = objectMapper.copy().registerModule(new ErrorResponseModule(
+                TimestampSerializer.Format.EPOCH_MILLIS, RejectedValueSerializer.Limits.DEFAULT));
+        ErrorResponseRenderer renderer = new ErrorResponseRenderer(epochMillis,
+                TimestampSerializer.Format.EPOCH_MILLIS);
+        ErrorResponse response = ErrorResponse.of("NOT_FOUND", "Not Found", "/api/missing", 404, "404-1");
+        ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+
+        assertThat(renderer.isEnabled()).isTrue();
+        renderer.prepare("NOT_FOUND", 404, "Not Found");
+        renderer.write(response, rendered);
+
+        assertThat(rendered.toByteArray()).isEqualTo(epochMillis.writeValueAsBytes(response));
+        assertThat(epochMillis.readTree(rendered.toByteArray()).get("timestamp").asLong())
+                .isEqualTo(CoarseClock.toEpochMillis(response.timestamp()));
+        assertThat(new ErrorResponseRenderer(objectMapper, TimestampSerializer.Format.EPOCH_MILLIS).isEnabled())
+                .isFalse();
+    }
+
+    @Test
+    void roundTripMatchesJacksonOutput() throws Exception {
+        MappingJackson2HttpMessageConverter jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+        ErrorResponseRenderer renderer = new ErrorResponseRenderer(objectMapper);
+        renderer.prepare(ErrorMappingRegistry.defaultMappings(), new MessageResolver(messageSource()),
+                Locale.getDefault());
+        MockMvc templated = mockMvc(new ErrorResponseHttpMessageConverter(renderer, jackson), jackson);
+        MockMvc plain = mockMvc(jackson);
+        assertThat(renderer.isEnabled()).isTrue();
+
+        for (String uri : new String[]{"/fail", "/missing"}) {
+            MockHttpServletResponse fast = templated.perform(get(uri)).andReturn().getResponse();
+            MockHttpServletResponse reference = plain.perform(get(uri)).andReturn().getResponse();
+
+            assertThat(fast.getStatus()).isEqualTo(reference.getStatus());
+            assertThat(fast.getContentType()).isEqualTo(reference.getContentType());
+            // Re-serializing the fast body through Jackson must give the very same bytes
+            ErrorResponse parsed = objectMapper.readValue(fast.getContentAsByteArray(), ErrorResponse.class);
+            assertThat(fast.getContentAsByteArray()).isEqualTo(objectMapper.writeValueAsBytes(parsed));
+        }
+
+        MockHttpServletResponse methodNotAllowed = templated.perform(post("/fail")).andReturn().getResponse();
+        ErrorResponse parsed = objectMapper.readValue(methodNotAllowed.getContentAsByteArray(), ErrorResponse.class);
+        assertThat(parsed.errorCode()).isEqualTo("METHOD_NOT_ALLOWED");
+        assertThat(methodNotAllowed.getContentAsByteArray()).isEqualTo(objectMapper.writeValueAsBytes(parsed));
+    }
+
+    private MockMvc mockMvc(org.springframework.http.converter.HttpMessageConverter<?>... converters) {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler(new MessageResolver(messageSource()),
+                new TraceIdGenerator());
+        return MockMvcBuilders.standaloneSetup(new FailingController())
+                .setControllerAdvice(handler)
+                .setMessageConverters(converters)
+                .build();
+    }
+
+    @RestController
+    static class FailingController {
+
+        @GetMapping("/fail")
+        String fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    private static ResourceBundleMessageSource messageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        return messageSource;
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.mahdim1000.exceptionhandling.storm;
+
+import com.github.mahdim1000.exceptionhandling.dto.ErrorResponse;
+import com.github.mahdim1000.exceptionhandling.exception.ResourceNotFoundException;
+import com.github.mahdim1000.exceptionhandling.handler.ErrorResponseFactory;
+import com.github.mahdim1000.exceptionhandling.util.MessageResolver;
+import com.github.mahdim1000.exceptionhandling.util.TraceIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorStormDetectorTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final ErrorStormDetector detector = new ErrorStormDetector(
+            new ErrorStormDetector.Settings(10, 5, Duration.ofSeconds(4), 4, 10, 2), nanos::get);
+
+    @Test
+    void degradesAboveThresholdAndRecoversBelowRecoveryThreshold() {
+        assertThat(errorsPerSecond("DB_DOWN", 20, 4).isDegraded()).isTrue();
+        assertThat(detector.snapshot()).singleElement().satisfies(status -> {
+            assertThat(status.degraded()).isTrue();
+            assertThat(status.storms()).isEqualTo(1);
+        });
+
+        // between both thresholds the code stays degraded
+        assertThat(errorsPerSecond("DB_DOWN", 7, 4).isDegraded()).isTrue();
+        assertThat(errorsPerSecond("DB_DOWN", 1, 4).isDegraded()).isFalse();
+    }
+
+    @Test
+    void recoversWithoutFurtherErrors() {
+        errorsPerSecond("DB_DOWN", 20, 4);
+
+        nanos.addAndGet(10 * SECOND);
+
+        assertThat(detector.snapshot()).singleElement()
+                .satisfies(status -> assertThat(status.degraded()).isFalse());
+    }
+
+    @Test
+    void samplesEventsAndReusesMessagesWhileDegraded() {
+        ErrorStormDetector.Tracker tracker = errorsPerSecond("DB_DOWN", 20, 4);
+        AtomicInteger resolved = new AtomicInteger();
+
+        int sampled = 0;
+        for (int i = 0; i < 100; i++) {
+            detector.record("DB_DOWN");
+            tracker.message("error.db.down", Locale.ENGLISH, () -> "Database down #" + resolved.incrementAndGet());
+            sampled += tracker.sample() ? 1 : 0;
+        }
+
+        assertThat(sampled).isEqualTo(10);
+        assertThat(resolved).hasValue(1);
+        assertThat(detector.snapshot().getFirst().suppressedEvents()).isEqualTo(90);
+    }
+
+    @Test
+    void messagesWithArgumentsAreResolvedForEachErrorWhileDegraded() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        MessageResolver messageResolver = new MessageResolver(messageSource);
+        ErrorResponseFactory factory = ErrorResponseFactory.builder(messageResolver, new TraceIdGenerator())
+                .errorEvents(event -> { })
+                .stormDetector(detector)
+                .build();
+        assertThat(errorsPerSecond("USER_NOT_FOUND", 20, 4).isDegraded()).isTrue();
+
+        List<String> messages = Stream.of(42, 43, 44)
+                .map(id -> factory.create(new ResourceNotFoundException("USER_NOT_FOUND",
+                        "error.business.user.notfound", new Object[]{id}), "/users/" + id, Locale.ENGLISH))
+                .map(ErrorResponse::message)
+                .toList();
+        ErrorResponse withoutArguments = factory.create(
+                new ResourceNotFoundException("USER_NOT_FOUND", "error.general.notfound"), "/users", Locale.ENGLISH);
+        ErrorResponse again = factory.create(
+                new ResourceNotFoundException("USER_NOT_FOUND", "error.general.notfound"), "/users", Locale.ENGLISH);
+
+        assertThat(messages).containsExactly("User with ID 42 not found", "User with ID 43 not found",
+                "User with ID 44 not found");
+        assertThat(withoutArguments.message()).isEqualTo("Resource not found");
+        assertThat(again.message()).isSameAs(withoutArguments.message());
+        assertThat(detector.snapshot()).singleElement().satisfies(status -> assertThat(status.degraded()).isTrue());
+    }
+
+    @Test
+    void tracksBoundedNumberOfErrorCodes() {
+        assertThat(detector.record("A")).isNotNull();
+        assertThat(detector.record("B")).isNotNull();
+        assertThat(detector.record("C")).isNull();
+        assertThat(ErrorStormDetector.disabled().record("A")).isNull();
+    }
+
+    private ErrorStormDetector.Tracker errorsPerSecond(String errorCode, int perSecond, int seconds) {
+        ErrorStormDetector.Tracker tracker = null;
+        for (int s = 0; s < seconds; s++) {
+            for (int i = 0; i < perSecond; i++) {
+                tracker = detector.record(errorCode);
+            }
+            nanos.addAndGet(SECOND);
+        }
+        detector.record(errorCode);
+        return tracker;
+    }
+}
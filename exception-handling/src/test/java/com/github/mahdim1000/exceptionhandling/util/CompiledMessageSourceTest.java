@@ -0,0 +1,58 @@
+package com.github.mahdim1000.exceptionhandling.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledMessageSourceTest {
+
+    private static final Locale FA = Locale.of("fa");
+
+    private final CompiledMessageSource messageSource = new CompiledMessageSource(Map.of(
+            Locale.ROOT, Map.of("greeting", "Hello {0}", "farewell", "Bye"),
+            FA, Map.of("greeting", "سلام {0}")));
+
+    @Test
+    void fallsBackToLanguageAndDefaultBundle() {
+        assertThat(messageSource.getMessage("greeting", new Object[]{"Ali"}, Locale.forLanguageTag("fa-IR")))
+                .isEqualTo("سلام Ali");
+        assertThat(messageSource.getMessage("farewell", null, FA)).isEqualTo("Bye");
+        assertThat(messageSource.getMessage("greeting", new Object[]{"Ann"}, Locale.GERMAN)).isEqualTo("Hello Ann");
+        assertThat(messageSource.getMessage("missing", null, null, Locale.ENGLISH)).isNull();
+    }
+
+    @Test
+    void servesMessageResolverLikeTheResourceBundles() {
+        MessageResolver resolver = new MessageResolver(messageSource);
+
+        assertThat(resolver.resolve("greeting", new Object[]{"Ali"}, FA)).isEqualTo("سلام Ali");
+        assertThat(resolver.resolve("missing", Locale.ENGLISH)).isEqualTo("missing");
+    }
+
+    @Test
+    void compiledBundlesMatchTheProperties() throws Exception {
+        ResourceBundleMessageSource resourceBundles = new ResourceBundleMessageSource();
+        resourceBundles.setBasename("messages/messages");
+        resourceBundles.setDefaultEncoding("UTF-8");
+        resourceBundles.setFallbackToSystemLocale(false);
+        CompiledMessageSource compiled = new CompiledMessageSource();
+
+        Properties keys = new Properties();
+        try (var in = getClass().getResourceAsStream("/messages/messages.properties")) {
+            keys.load(in);
+        }
+        assertThat(compiled.getLocales()).contains(Locale.ROOT, FA);
+        for (Locale locale : compiled.getLocales()) {
+            for (String key : keys.stringPropertyNames()) {
+                assertThat(compiled.getMessage(key, null, locale))
+                        .as("%s in %s", key, locale)
+                        .isEqualTo(resourceBundles.getMessage(key, null, locale));
+            }
+        }
+    }
+}
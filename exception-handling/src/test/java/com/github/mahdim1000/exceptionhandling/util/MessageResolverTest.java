@@ -0,0 +1,133 @@
+package com.github.mahdim1000.exceptionhandling.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageResolverTest {
+
+    private CountingMessageSource messageSource;
+
+    @BeforeEach
+    void setUp() {
+        messageSource = new CountingMessageSource();
+        messageSource.addMessage("greeting", Locale.ENGLISH, "Hello");
+        messageSource.addMessage("greeting", Locale.FRENCH, "Bonjour");
+        messageSource.addMessage("order.missing", Locale.ENGLISH, "Order {0} not found");
+    }
+
+    @Test
+    void compilesEachKeyOncePerLocale() {
+        MessageResolver resolver = new MessageResolver(messageSource);
+
+        assertThat(resolver.resolve("greeting", Locale.ENGLISH)).isEqualTo("Hello");
+        assertThat(resolver.resolve("greeting", Locale.ENGLISH)).isEqualTo("Hello");
+        assertThat(resolver.resolve("greeting", Locale.FRENCH)).isEqualTo("Bonjour");
+
+        assertThat(messageSource.lookups).isEqualTo(2);
+        assertThat(resolver.getCacheMisses()).isEqualTo(2);
+        assertThat(resolver.getCacheHits()).isEqualTo(1);
+        assertThat(resolver.getCachedMessageCount()).isEqualTo(2);
+    }
+
+    @Test
+    void formatsArgumentsWithTheCompiledPattern() {
+        MessageResolver resolver = new MessageResolver(messageSource);
+
+        assertThat(resolver.resolve("order.missing", new Object[]{"A-1"}, Locale.ENGLISH))
+                .isEqualTo("Order A-1 not found");
+        assertThat(resolver.resolve("order.missing", new Object[]{"B-2"}, Locale.ENGLISH))
+                .isEqualTo("Order B-2 not found");
+
+        assertThat(messageSource.lookups).isEqualTo(1);
+        assertThat(resolver.getCacheHits()).isEqualTo(1);
+    }
+
+    @Test
+    void cachesMissingKeysAsNegativeEntries() {
+        MessageResolver resolver = new MessageResolver(messageSource);
+
+        assertThat(resolver.resolve("unknown", Locale.ENGLISH)).isEqualTo("unknown");
+        assertThat(resolver.resolve("unknown", new Object[]{7}, "Fallback {0}", Locale.ENGLISH))
+                .isEqualTo("Fallback 7");
+        assertThat(resolver.resolve("unknown", null, null, Locale.ENGLISH)).isNull();
+
+        assertThat(messageSource.lookups).isEqualTo(1);
+        assertThat(resolver.getCacheMisses()).isEqualTo(1);
+        assertThat(resolver.getCacheHits()).isEqualTo(2);
+        assertThat(resolver.getCachedMessageCount()).isEqualTo(1);
+    }
+
+    @Test
+    void nullKeysAreNotLookedUp() {
+        MessageResolver resolver = new MessageResolver(messageSource);
+
+        assertThat(resolver.resolve(null, null, "Default", Locale.ENGLISH)).isEqualTo("Default");
+
+        assertThat(messageSource.lookups).isZero();
+        assertThat(resolver.getCacheHits()).isZero();
+        assertThat(resolver.getCacheMisses()).isZero();
+    }
+
+    @Test
+    void keepsAtMostCacheSizeEntries() {
+        MessageResolver resolver = new MessageResolver(messageSource, 2);
+
+        resolver.resolve("greeting", Locale.ENGLISH);
+        resolver.resolve("greeting", Locale.FRENCH);
+        resolver.resolve("order.missing", Locale.ENGLISH);
+
+        assertThat(resolver.getCachedMessageCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void clearCacheRecompilesMessages() {
+        MessageResolver resolver = new MessageResolver(messageSource);
+        resolver.resolve("greeting", Locale.ENGLISH);
+
+        resolver.clearCache();
+        messageSource.addMessage("greeting", Locale.ENGLISH, "Hi");
+
+        assertThat(resolver.getCachedMessageCount()).isZero();
+        assertThat(resolver.resolve("greeting", Locale.ENGLISH)).isEqualTo("Hi");
+        assertThat(messageSource.lookups).isEqualTo(2);
+    }
+
+    /**
+     * Counts the lookups of message codes; {@code getMessage} is final in the Spring message sources.
+     */
+    private static class CountingMessageSource implements MessageSource {
+
+        private final StaticMessageSource messages = new StaticMessageSource();
+        int lookups;
+
+        void addMessage(String code, Locale locale, String message) {
+            messages.addMessage(code, locale, message);
+        }
+
+        @Override
+        public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+            lookups++;
+            return messages.getMessage(code, args, defaultMessage, locale);
+        }
+
+        @Override
+        public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+            lookups++;
+            return messages.getMessage(code, args, locale);
+        }
+
+        @Override
+        public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+            lookups++;
+            return messages.getMessage(resolvable, locale);
+        }
+    }
+}
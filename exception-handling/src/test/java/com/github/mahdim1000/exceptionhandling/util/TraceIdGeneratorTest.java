@@ -0,0 +1,99 @@
+package com.github.mahdim1000.exceptionhandling.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class TraceIdGeneratorTest {
+
+    @Test
+    void generatesPrefixedHexIds() {
+        TraceIdGenerator generator = new TraceIdGenerator(TimeBasedTraceIdStrategy.forNode(7));
+
+        assertThat(generator.generate()).matches("[0-9a-f]{16}");
+        assertThat(generator.generate("BIZ")).matches("BIZ-[0-9a-f]{16}");
+    }
+
+    @Test
+    void sharesOneStrategyPerNodeId() {
+        assertThat(TimeBasedTraceIdStrategy.forNode(3)).isSameAs(TimeBasedTraceIdStrategy.forNode(3));
+        assertThat(TimeBasedTraceIdStrategy.forNode(3)).isNotSameAs(TimeBasedTraceIdStrategy.forNode(4));
+        assertThatIllegalArgumentException().isThrownBy(() -> TimeBasedTraceIdStrategy.forNode(1024));
+    }
+
+    @Test
+    void uuidStrategyKeepsLegacyFormat() {
+        TraceIdGenerator generator = new TraceIdGenerator(new UuidTraceIdStrategy());
+
+        assertThat(generator.generate("ERR")).matches("ERR-[0-9a-f]{16}");
+    }
+
+    @Test
+    void randomStrategyIsTheDefault() {
+        TraceIdGenerator generator = new TraceIdGenerator();
+        Set<String> ids = new HashSet<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.generate("ERR"));
+        }
+
+        assertThat(ids).hasSize(10_000).allSatisfy(id -> assertThat(id).matches("ERR-[0-9a-f]{16}"));
+    }
+
+    @Test
+    void idsAreUniqueAcrossThreads() throws Exception {
+        int threads = 32;
+        int idsPerThread = 50_000;
+        TraceIdGenerator generator = new TraceIdGenerator(TimeBasedTraceIdStrategy.forNode(1));
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids.add(generator.generate("TECH"));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(ids).hasSize(threads * idsPerThread);
+    }
+
+    @Test
+    void idsAreUniqueAcrossNodesWithinTheSameMillisecond() {
+        long frozen = System.currentTimeMillis();
+        TimeBasedTraceIdStrategy node1 = new TimeBasedTraceIdStrategy(1, () -> frozen);
+        TimeBasedTraceIdStrategy node2 = new TimeBasedTraceIdStrategy(2, () -> frozen);
+        Set<Long> ids = new HashSet<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(node1.next());
+            ids.add(node2.next());
+        }
+
+        assertThat(ids).hasSize(20_000);
+    }
+}
@@ -1,13 +1,26 @@
 package com.github.mahdim1000.exception_handing;
 
+import com.github.mahdim1000.exception_handing.error.DemoErrors;
+import com.github.mahdim1000.exceptionhandling.ExceptionHandlingRuntimeHints;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(ExceptionHandingApplication.DemoRuntimeHints.class)
 public class ExceptionHandingApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(ExceptionHandingApplication.class, args);
     }
 
+    static class DemoRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            ExceptionHandlingRuntimeHints.registerCatalog(hints, DemoErrors.class);
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.github.mahdim1000.exception_handing.controller;
 
 import com.github.mahdim1000.exception_handing.dto.UserResponse;
+import com.github.mahdim1000.exception_handing.error.DemoErrors;
 import com.github.mahdim1000.exceptionhandling.exception.TechnicalException;
 import com.github.mahdim1000.exceptionhandling.exception.ValidationException;
 import jakarta.validation.Valid;
@@ -21,8 +22,7 @@ public class DemoController {
     @GetMapping("/simulate/database-error")
     public ResponseEntity<String> simulateDatabaseError() {
         throw new TechnicalException(
-            "DATABASE_CONNECTION_FAILED",
-            "error.technical.database.connection",
+            DemoErrors.DATABASE_CONNECTION_FAILED,
             new RuntimeException("Connection timeout")
         );
     }
@@ -32,10 +32,7 @@ public class DemoController {
      */
     @GetMapping("/simulate/service-error")
     public ResponseEntity<String> simulateServiceError() {
-        throw new TechnicalException(
-            "EXTERNAL_SERVICE_UNAVAILABLE",
-            "error.technical.external.service"
-        );
+        throw new TechnicalException(DemoErrors.EXTERNAL_SERVICE_UNAVAILABLE);
     }
 
     /**
@@ -45,10 +42,7 @@ public class DemoController {
     public ResponseEntity<String> simulateValidationError(@RequestParam String email) {
         
         if (email == null || !email.contains("@")) {
-            throw new ValidationException(
-                "INVALID_EMAIL_FORMAT",
-                "error.validation.email.invalid"
-            );
+            throw new ValidationException(DemoErrors.INVALID_EMAIL_FORMAT);
         }
         
         return ResponseEntity.ok("Email is valid");
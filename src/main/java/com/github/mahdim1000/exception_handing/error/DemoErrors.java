@@ -0,0 +1,24 @@
+package com.github.mahdim1000.exception_handing.error;
+
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCatalog;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCategory;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorSpec;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Errors raised by the demo endpoints.
+ */
+public enum DemoErrors implements ErrorCatalog {
+
+    @ErrorSpec(messageKey = "error.technical.database.connection", status = HttpStatus.INTERNAL_SERVER_ERROR,
+            category = ErrorCategory.TECHNICAL)
+    DATABASE_CONNECTION_FAILED,
+
+    @ErrorSpec(messageKey = "error.technical.external.service", status = HttpStatus.INTERNAL_SERVER_ERROR,
+            category = ErrorCategory.TECHNICAL, defaultMessage = "External service unavailable")
+    EXTERNAL_SERVICE_UNAVAILABLE,
+
+    @ErrorSpec(messageKey = "error.validation.email.invalid", status = HttpStatus.BAD_REQUEST,
+            category = ErrorCategory.VALIDATION, defaultMessage = "Invalid email format")
+    INVALID_EMAIL_FORMAT
+}
@@ -0,0 +1,72 @@
+package com.github.mahdim1000.exception_handing;
+
+import com.github.mahdim1000.exceptionhandling.exception.ErrorCatalog;
+import com.github.mahdim1000.exceptionhandling.exception.ErrorDescriptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The build of the library only checks the message keys of its own sources, so the
+ * error catalogs of the application are checked here against every message bundle.
+ */
+class ErrorCatalogMessagesTest {
+
+    @Test
+    void everyCatalogEntryHasAMessageInEveryBundle() throws IOException {
+        List<Class<?>> catalogs = errorCatalogs();
+        Resource[] bundles = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:messages/messages*.properties");
+        assertThat(catalogs).isNotEmpty();
+        assertThat(bundles).isNotEmpty();
+
+        List<String> missing = new ArrayList<>();
+        for (Resource bundle : bundles) {
+            Properties messages = load(bundle);
+            for (Class<?> catalog : catalogs) {
+                for (Object entry : catalog.getEnumConstants()) {
+                    String messageKey = ErrorDescriptor.of((ErrorCatalog) entry).getMessageKey();
+                    if (!messages.containsKey(messageKey)) {
+                        missing.add(catalog.getSimpleName() + "." + entry + ": " + messageKey + " in "
+                                + bundle.getFilename());
+                    }
+                }
+            }
+        }
+
+        assertThat(missing).isEmpty();
+    }
+
+    private static List<Class<?>> errorCatalogs() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AssignableTypeFilter(ErrorCatalog.class));
+        List<Class<?>> catalogs = new ArrayList<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(
+                ExceptionHandingApplication.class.getPackageName())) {
+            catalogs.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), null));
+        }
+        return catalogs;
+    }
+
+    private static Properties load(Resource bundle) throws IOException {
+        Properties messages = new Properties();
+        try (Reader reader = new InputStreamReader(bundle.getInputStream(), StandardCharsets.UTF_8)) {
+            messages.load(reader);
+        }
+        return messages;
+    }
+}